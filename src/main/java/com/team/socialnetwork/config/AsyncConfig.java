@@ -0,0 +1,45 @@
+package com.team.socialnetwork.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    // Executor for timeline fan-out; feed.fanout.async=false runs fan-out inline (used by tests)
+    @Bean(name = "feedFanoutExecutor")
+    public TaskExecutor feedFanoutExecutor(@Value("${feed.fanout.async:true}") boolean async,
+                                           @Value("${feed.fanout.poolSize:2}") int poolSize,
+                                           @Value("${feed.fanout.queueCapacity:10000}") int queueCapacity) {
+        if (!async) {
+            return new SyncTaskExecutor();
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("feed-fanout-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    // Executor for BCrypt work; poolSize=0 means one thread per core. A full queue rejects the task
+    // (the caller answers 429) instead of parking more request threads behind the hashing backlog
+    @Bean(name = "passwordHashExecutor")
+    public ThreadPoolTaskExecutor passwordHashExecutor(@Value("${password.hash.poolSize:0}") int poolSize,
+                                                       @Value("${password.hash.queueCapacity:32}") int queueCapacity) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.initialize();
+        return executor;
+    }
+}
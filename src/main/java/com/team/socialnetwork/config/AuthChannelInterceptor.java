@@ -13,15 +13,26 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
+import com.team.socialnetwork.security.AccountStatusCache;
+import com.team.socialnetwork.security.AuthenticatedUser;
 import com.team.socialnetwork.security.JwtService;
+import com.team.socialnetwork.security.TokenRevocationList;
+import com.team.socialnetwork.security.VerifiedToken;
+import com.team.socialnetwork.service.feed.FeedUpdatePublisher;
 
 @Component
 public class AuthChannelInterceptor implements ChannelInterceptor {
 
     private final JwtService jwtService;
+    private final TokenRevocationList tokenRevocationList;
+    private final AccountStatusCache accountStatusCache;
 
-    public AuthChannelInterceptor(JwtService jwtService) {
+    public AuthChannelInterceptor(JwtService jwtService,
+                                  TokenRevocationList tokenRevocationList,
+                                  AccountStatusCache accountStatusCache) {
         this.jwtService = jwtService;
+        this.tokenRevocationList = tokenRevocationList;
+        this.accountStatusCache = accountStatusCache;
     }
 
     @Override
@@ -38,11 +49,15 @@ public class AuthChannelInterceptor implements ChannelInterceptor {
                 if (authToken != null && authToken.startsWith("Bearer ")) {
                     String token = authToken.substring(7); // quitar "Bearer "
                     try {
-                        String email = jwtService.extractSubject(token);
+                        // One verification; subject, revocation and the password-change cutoff are read off the result
+                        VerifiedToken verified = jwtService.verify(token);
+                        String email = verified.getSubject();
 
-                        if (jwtService.isTokenValid(token, email)) {
-                            // Crear Authentication completo y asignarlo
-                            Authentication auth = new UsernamePasswordAuthenticationToken(email, null, Collections.emptyList());
+                        if (email != null && verified.getUserId() != null && !tokenRevocationList.isRevoked(verified)
+                                && accountStatusCache.isActive(verified.getUserId(), email, verified.getIssuedAt())) {
+                            // Crear Authentication completo y asignarlo; getName() sigue siendo el email
+                            Authentication auth = new UsernamePasswordAuthenticationToken(
+                                    new AuthenticatedUser(verified.getUserId(), email), null, Collections.emptyList());
                             accessor.setUser(auth); // ahora Principal principal tendrá valor
                             System.out.println("✅ WebSocket user authenticated via STOMP: " + email);
                         } else {
@@ -59,10 +74,15 @@ public class AuthChannelInterceptor implements ChannelInterceptor {
                 }
             }
 
-            // Opcional: logs para SUBSCRIBE y DISCONNECT
+            // The simple broker delivers to any subscriber: refuse other users' feed topics here
             else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
                 System.out.println("📡 STOMP SUBSCRIBE to: " + accessor.getDestination() +
                         " | User: " + (accessor.getUser() != null ? accessor.getUser().getName() : "ANONYMOUS"));
+                String destination = accessor.getDestination();
+                if (destination != null && destination.startsWith(FeedUpdatePublisher.DESTINATION_PREFIX)
+                        && !destination.equals(FeedUpdatePublisher.DESTINATION_PREFIX + userId(accessor.getUser()))) {
+                    throw new IllegalArgumentException("Cannot subscribe to another user's feed");
+                }
             } else if (StompCommand.DISCONNECT.equals(accessor.getCommand())) {
                 System.out.println("👋 STOMP DISCONNECT | User: " + (accessor.getUser() != null ? accessor.getUser().getName() : "ANONYMOUS"));
             }
@@ -70,4 +90,11 @@ public class AuthChannelInterceptor implements ChannelInterceptor {
 
         return message;
     }
+
+    private static Long userId(Principal user) {
+        if (user instanceof Authentication auth && auth.getPrincipal() instanceof AuthenticatedUser authenticated) {
+            return authenticated.getUserId();
+        }
+        return null;
+    }
 }
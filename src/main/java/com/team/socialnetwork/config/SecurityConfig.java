@@ -1,11 +1,14 @@
 package com.team.socialnetwork.config;
 
 import java.util.Arrays;
+import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -20,6 +23,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.team.socialnetwork.security.BCryptCalibrator;
 import com.team.socialnetwork.security.JwtAuthenticationFilter;
 
 @Configuration
@@ -79,7 +83,8 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   @Value("${admin.emails:}") Set<String> adminEmails) throws Exception {
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(csrf -> csrf.disable())
@@ -89,6 +94,11 @@ public class SecurityConfig {
                         .requestMatchers("/chat/**").permitAll() // <- WebSocket chat endpoint
                         .requestMatchers("/ws/**").permitAll()   // <- WebSocket notifications endpoint (SockJS)
                         .requestMatchers("/ws-native/**").permitAll() // <- WebSocket nativo
+                        // Completion of a streamed response (admin export); the request itself was already authorized
+                        .dispatcherTypeMatchers(jakarta.servlet.DispatcherType.ASYNC).permitAll()
+                        // Metrics are operational data: admin.emails only, like /admin/data
+                        .requestMatchers("/actuator/metrics/**").access((authentication, context) ->
+                                new AuthorizationDecision(adminEmails.contains(authentication.get().getName())))
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
@@ -96,15 +106,24 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // One work factor for every instance, taken from password.bcrypt.strength; logins only re-hash
+    // weaker hashes, so raising it upgrades users over time and lowering it never downgrades anyone.
+    // With password.bcrypt.targetMs > 0 startup also logs the strength that would meet the target here.
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${password.bcrypt.strength:12}") int strength,
+                                           @Value("${password.bcrypt.targetMs:0}") long targetMs,
+                                           @Value("${password.bcrypt.minStrength:10}") int minStrength,
+                                           @Value("${password.bcrypt.maxStrength:14}") int maxStrength) {
+        if (targetMs > 0) {
+            BCryptCalibrator.recommend(strength, targetMs, minStrength, maxStrength);
+        }
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
-        provider.setPasswordEncoder(passwordEncoder());
+        provider.setPasswordEncoder(passwordEncoder);
         return provider;
     }
 
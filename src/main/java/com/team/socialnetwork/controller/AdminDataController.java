@@ -0,0 +1,113 @@
+package com.team.socialnetwork.controller;
+
+import java.io.IOException;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import com.team.socialnetwork.dto.MessageResponse;
+import com.team.socialnetwork.service.export.DataFormat;
+import com.team.socialnetwork.service.export.GraphDataService;
+import com.team.socialnetwork.service.export.GraphTable;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Bulk dump/restore of users, user_following, posts and post_likes; restricted to admin.emails
+@RestController
+@RequestMapping("/admin/data")
+public class AdminDataController {
+
+    private final GraphDataService graphDataService;
+    private final Set<String> adminEmails;
+    private final long exportTimeoutMs;
+
+    public AdminDataController(GraphDataService graphDataService,
+                               @Value("${admin.emails:}") Set<String> adminEmails,
+                               @Value("${admin.export.timeoutMs:3600000}") long exportTimeoutMs) {
+        this.graphDataService = graphDataService;
+        this.adminEmails = adminEmails;
+        this.exportTimeoutMs = exportTimeoutMs;
+    }
+
+    // Streams the whole table as NDJSON (default) or CSV; memory use does not depend on table size.
+    // Runs as a WebAsyncTask so only the export gets admin.export.timeoutMs, not every async request
+    @GetMapping("/export/{table}")
+    public WebAsyncTask<Void> export(Authentication authentication,
+                                     @PathVariable String table,
+                                     @RequestParam(defaultValue = "ndjson") String format,
+                                     HttpServletResponse response) {
+        requireAdmin(authentication);
+        GraphTable graphTable = parseTable(table);
+        DataFormat dataFormat = parseFormat(format);
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(dataFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + graphTable.getTableName() + "." + dataFormat.getExtension() + "\"");
+        return new WebAsyncTask<>(exportTimeoutMs, () -> {
+            graphDataService.export(graphTable, dataFormat, response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+
+    // Reads the request body as a stream in the same formats export produces (CSV needs its header row)
+    @PostMapping("/import/{table}")
+    public ResponseEntity<MessageResponse> importRows(Authentication authentication,
+                                                      @PathVariable String table,
+                                                      @RequestParam(defaultValue = "ndjson") String format,
+                                                      HttpServletRequest request) throws IOException {
+        requireAdmin(authentication);
+        GraphTable graphTable = parseTable(table);
+        DataFormat dataFormat = parseFormat(format);
+
+        long imported;
+        try {
+            imported = graphDataService.importRows(graphTable, dataFormat, request.getInputStream());
+        } catch (IllegalArgumentException | com.fasterxml.jackson.core.JsonProcessingException e) {
+            throw new org.springframework.web.server.ResponseStatusException(
+                    org.springframework.http.HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return ResponseEntity.ok(new MessageResponse("Imported " + imported + " rows into " + graphTable.getTableName()));
+    }
+
+    private void requireAdmin(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new org.springframework.web.server.ResponseStatusException(
+                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
+        }
+        if (!adminEmails.contains(authentication.getName())) {
+            throw new org.springframework.web.server.ResponseStatusException(
+                    org.springframework.http.HttpStatus.FORBIDDEN, "Admin only");
+        }
+    }
+
+    private static GraphTable parseTable(String table) {
+        try {
+            return GraphTable.fromName(table);
+        } catch (IllegalArgumentException e) {
+            throw new org.springframework.web.server.ResponseStatusException(
+                    org.springframework.http.HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    private static DataFormat parseFormat(String format) {
+        try {
+            return DataFormat.fromName(format);
+        } catch (IllegalArgumentException e) {
+            throw new org.springframework.web.server.ResponseStatusException(
+                    org.springframework.http.HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -6,7 +6,9 @@ import com.team.socialnetwork.dto.RegisterRequest;
 import com.team.socialnetwork.dto.MessageResponse;
 import com.team.socialnetwork.dto.PasswordResetRequest;
 import com.team.socialnetwork.dto.PerformPasswordResetRequest;
+import com.team.socialnetwork.security.LoginThrottle;
 import com.team.socialnetwork.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,9 +18,11 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final LoginThrottle loginThrottle;
 
-    public AuthController(AuthService authService) {
+    public AuthController(AuthService authService, LoginThrottle loginThrottle) {
         this.authService = authService;
+        this.loginThrottle = loginThrottle;
     }
 
     @PostMapping("/register")
@@ -27,8 +31,19 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<TokenResponse> login(@Valid @RequestBody LoginRequest request) {
-        return ResponseEntity.ok(authService.login(request));
+    public ResponseEntity<TokenResponse> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        // Over-limit attempts never reach the user lookup or the password check. getRemoteAddr() is the
+        // client, not the proxy: server.forward-headers-strategy applies X-Forwarded-For from trusted proxies only
+        String clientIp = httpRequest.getRemoteAddr();
+        loginThrottle.checkLogin(request.getEmail(), clientIp);
+        TokenResponse token = authService.login(request);
+        loginThrottle.onSuccess(request.getEmail(), clientIp);
+        return ResponseEntity.ok(token);
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<MessageResponse> logout() {
+        return ResponseEntity.ok(authService.logout());
     }
 
     @GetMapping("/confirm-email")
@@ -3,13 +3,14 @@ package com.team.socialnetwork.controller;
 import com.team.socialnetwork.dto.ChatMessageRequest;
 import com.team.socialnetwork.dto.ChatMessageResponse;
 import com.team.socialnetwork.dto.ChatUserResponse;
+import com.team.socialnetwork.dto.UserSnapshot;
 import com.team.socialnetwork.entity.Message;
 import com.team.socialnetwork.entity.User;
 import com.team.socialnetwork.repository.MessageRepository;
 import com.team.socialnetwork.repository.UserRepository;
+import com.team.socialnetwork.security.CurrentUser;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -29,25 +30,15 @@ public class ChatController {
 
     @PostMapping("/{receiverId}")
     public ResponseEntity<ChatMessageResponse> sendMessage(
-            Authentication authentication,
+            @CurrentUser UserSnapshot sender,
             @PathVariable Long receiverId,
             @Valid @RequestBody ChatMessageRequest request
     ) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-
-        String email = authentication.getName();
-        User sender = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "Sender not found"));
-
         User receiver = userRepository.findById(receiverId)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
                         org.springframework.http.HttpStatus.NOT_FOUND, "Receiver not found"));
 
-        Message message = new Message(sender, receiver, request.getContent());
+        Message message = new Message(userRepository.getReferenceById(sender.getId()), receiver, request.getContent());
         messageRepository.save(message);
 
         return ResponseEntity.ok(new ChatMessageResponse(
@@ -62,19 +53,9 @@ public class ChatController {
 
     @GetMapping("/{userId}")
     public ResponseEntity<List<ChatMessageResponse>> getConversation(
-            Authentication authentication,
+            @CurrentUser UserSnapshot me,
             @PathVariable Long userId
     ) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-
-        String email = authentication.getName();
-        User me = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
-
         User other = userRepository.findById(userId)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
                         org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
@@ -95,17 +76,7 @@ public class ChatController {
     }
 
     @GetMapping("/chats")
-    public ResponseEntity<List<ChatUserResponse>> getMyChats(Authentication authentication) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-
-        String email = authentication.getName();
-        User me = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
-
+    public ResponseEntity<List<ChatUserResponse>> getMyChats(@CurrentUser UserSnapshot me) {
         List<Long> chatUserIds = messageRepository.findChatUserIds(me.getId());
 
         List<ChatUserResponse> chats = chatUserIds.stream()
@@ -7,7 +7,6 @@ import java.util.Map;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,13 +18,18 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.team.socialnetwork.dto.MessageResponse;
 import com.team.socialnetwork.dto.SafeUser;
+import com.team.socialnetwork.dto.UserSnapshot;
 import com.team.socialnetwork.entity.Comment;
 import com.team.socialnetwork.entity.CommentLike;
 import com.team.socialnetwork.entity.User;
 import com.team.socialnetwork.repository.CommentLikeRepository;
 import com.team.socialnetwork.repository.CommentRepository;
+import com.team.socialnetwork.repository.PostRepository;
 import com.team.socialnetwork.repository.UserRepository;
+import com.team.socialnetwork.security.CurrentUser;
 import com.team.socialnetwork.service.NotificationService;
+import com.team.socialnetwork.service.VisibilityService;
+import com.team.socialnetwork.service.counter.PostCounterCache;
 
 @RestController
 @RequestMapping("/comments")
@@ -35,68 +39,63 @@ public class CommentsController {
     private final UserRepository userRepository;
     private final CommentLikeRepository commentLikeRepository;
     private final NotificationService notificationService;
+    private final PostRepository postRepository;
+    private final PostCounterCache postCounterCache;
+    private final VisibilityService visibilityService;
 
     public CommentsController(CommentRepository commentRepository,
                               UserRepository userRepository,
                               CommentLikeRepository commentLikeRepository,
-                              NotificationService notificationService) {
+                              NotificationService notificationService,
+                              PostRepository postRepository,
+                              PostCounterCache postCounterCache,
+                              VisibilityService visibilityService) {
         this.commentRepository = commentRepository;
         this.userRepository = userRepository;
         this.commentLikeRepository = commentLikeRepository;
         this.notificationService = notificationService;
+        this.postRepository = postRepository;
+        this.postCounterCache = postCounterCache;
+        this.visibilityService = visibilityService;
     }
 
     @org.springframework.transaction.annotation.Transactional
     @DeleteMapping("/{commentId}")
-    public ResponseEntity<MessageResponse> deleteComment(Authentication authentication,
+    public ResponseEntity<MessageResponse> deleteComment(@CurrentUser UserSnapshot viewer,
                                                         @PathVariable Long commentId) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-        String email = authentication.getName();
-        User viewer = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
                         org.springframework.http.HttpStatus.NOT_FOUND, "Comment not found"));
 
         // Privacy gate: if the post author is private, only the author themselves or their followers can act
         User postAuthor = comment.getPost().getAuthor();
-        if (postAuthor.isPrivate() && !postAuthor.getId().equals(viewer.getId()) && !viewer.getFollowing().contains(postAuthor)) {
+        if (!visibilityService.canView(viewer.getId(), postAuthor)) {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.FORBIDDEN, "This account is private");
         }
 
         // Ownership: only the comment author can delete their own comment
-        if (!comment.getAuthor().getEmail().equals(email)) {
+        if (!comment.getAuthor().getId().equals(viewer.getId())) {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.FORBIDDEN, "You can only delete your own comments");
         }
         // Remove likes first to avoid FK constraint issues (no cascade mapping on comment likes from entities)
         commentLikeRepository.deleteByCommentId(commentId);
         commentRepository.delete(comment);
+        postRepository.addToCommentCount(comment.getPost().getId(), -1);
+        postCounterCache.addComments(comment.getPost().getId(), -1);
         return ResponseEntity.ok(new MessageResponse("Comment deleted successfully"));
     }
 
     @Transactional(readOnly = true)
     @GetMapping("/{commentId}/likes/count")
-    public ResponseEntity<Map<String, Long>> countCommentLikes(Authentication authentication,
+    public ResponseEntity<Map<String, Long>> countCommentLikes(@CurrentUser UserSnapshot viewer,
                                                                @PathVariable Long commentId) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-        String email = authentication.getName();
-        User viewer = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
                         org.springframework.http.HttpStatus.NOT_FOUND, "Comment not found"));
         User postAuthor = comment.getPost().getAuthor();
-        if (postAuthor.isPrivate() && !postAuthor.getId().equals(viewer.getId()) && !viewer.getFollowing().contains(postAuthor)) {
+        if (!visibilityService.canView(viewer.getId(), postAuthor)) {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.FORBIDDEN, "This account is private");
         }
@@ -108,23 +107,15 @@ public class CommentsController {
 
     @Transactional(readOnly = true)
     @GetMapping("/{commentId}/likes")
-    public ResponseEntity<List<SafeUser>> listCommentLikes(Authentication authentication,
+    public ResponseEntity<List<SafeUser>> listCommentLikes(@CurrentUser UserSnapshot viewer,
                                                            @PathVariable Long commentId,
                                                            @RequestParam(defaultValue = "0") int page,
                                                            @RequestParam(defaultValue = "10") int size) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-        String email = authentication.getName();
-        User viewer = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
                         org.springframework.http.HttpStatus.NOT_FOUND, "Comment not found"));
         User postAuthor = comment.getPost().getAuthor();
-        if (postAuthor.isPrivate() && !postAuthor.getId().equals(viewer.getId()) && !viewer.getFollowing().contains(postAuthor)) {
+        if (!visibilityService.canView(viewer.getId(), postAuthor)) {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.FORBIDDEN, "This account is private");
         }
@@ -138,35 +129,29 @@ public class CommentsController {
 
     @Transactional
     @PostMapping("/{commentId}/likes")
-    public ResponseEntity<MessageResponse> likeComment(Authentication authentication,
+    public ResponseEntity<MessageResponse> likeComment(@CurrentUser UserSnapshot me,
                                                       @PathVariable Long commentId) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
                         org.springframework.http.HttpStatus.NOT_FOUND, "Comment not found"));
         User postAuthor = comment.getPost().getAuthor();
-        if (postAuthor.isPrivate() && !postAuthor.getId().equals(user.getId()) && !user.getFollowing().contains(postAuthor)) {
+        if (!visibilityService.canView(me.getId(), postAuthor)) {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.FORBIDDEN, "This account is private");
         }
 
-        if (commentLikeRepository.existsByUserIdAndCommentId(user.getId(), commentId)) {
+        if (commentLikeRepository.existsByUserIdAndCommentId(me.getId(), commentId)) {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.CONFLICT, "Already liked");
         }
+        // Reference only: the like row needs the FK, not the caller's row
+        User user = userRepository.getReferenceById(me.getId());
         CommentLike commentLike = new CommentLike(user, comment);
         commentLikeRepository.save(commentLike);
         
         // Crear notificación para el autor del comentario (solo si no es el mismo usuario)
         User commentAuthor = comment.getAuthor();
-        if (!commentAuthor.getId().equals(user.getId())) {
+        if (!commentAuthor.getId().equals(me.getId())) {
             try {
                 notificationService.createAndSendNotification(
                     commentAuthor, 
@@ -185,26 +170,18 @@ public class CommentsController {
 
     @Transactional
     @DeleteMapping("/{commentId}/likes")
-    public ResponseEntity<MessageResponse> unlikeComment(Authentication authentication,
+    public ResponseEntity<MessageResponse> unlikeComment(@CurrentUser UserSnapshot me,
                                                         @PathVariable Long commentId) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
         // 404 if comment doesn't exist
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
                         org.springframework.http.HttpStatus.NOT_FOUND, "Comment not found"));
         User postAuthor = comment.getPost().getAuthor();
-        if (postAuthor.isPrivate() && !postAuthor.getId().equals(user.getId()) && !user.getFollowing().contains(postAuthor)) {
+        if (!visibilityService.canView(me.getId(), postAuthor)) {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.FORBIDDEN, "This account is private");
         }
-        int deleted = commentLikeRepository.deleteByUserIdAndCommentId(user.getId(), commentId);
+        int deleted = commentLikeRepository.deleteByUserIdAndCommentId(me.getId(), commentId);
         if (deleted == 0) {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.CONFLICT, "Not liked yet");
@@ -212,10 +189,10 @@ public class CommentsController {
         
         // Eliminar notificación de like del comentario si existe
         User commentAuthor = comment.getAuthor();
-        if (!commentAuthor.getId().equals(user.getId())) {
+        if (!commentAuthor.getId().equals(me.getId())) {
             notificationService.removeNotification(
                 commentAuthor, 
-                user, 
+                userRepository.getReferenceById(me.getId()), 
                 com.team.socialnetwork.entity.Notification.NotificationType.COMMENT_LIKE, 
                 comment
             );
@@ -225,16 +202,8 @@ public class CommentsController {
     }
 
     @GetMapping("/{commentId}/likes/check")
-    public ResponseEntity<Map<String, Boolean>> checkCommentLike(Authentication authentication,
+    public ResponseEntity<Map<String, Boolean>> checkCommentLike(@CurrentUser UserSnapshot me,
                                                                 @PathVariable Long commentId) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
         
         // 404 if comment doesn't exist
         Comment comment = commentRepository.findById(commentId)
@@ -243,12 +212,12 @@ public class CommentsController {
         
         // Check privacy permissions
         User postAuthor = comment.getPost().getAuthor();
-        if (postAuthor.isPrivate() && !postAuthor.getId().equals(user.getId()) && !user.getFollowing().contains(postAuthor)) {
+        if (!visibilityService.canView(me.getId(), postAuthor)) {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.FORBIDDEN, "This account is private");
         }
 
-        boolean isLiked = commentLikeRepository.existsByUserIdAndCommentId(user.getId(), commentId);
+        boolean isLiked = commentLikeRepository.existsByUserIdAndCommentId(me.getId(), commentId);
         Map<String, Boolean> response = new HashMap<>();
         response.put("liked", isLiked);
         return ResponseEntity.ok(response);
@@ -2,7 +2,6 @@ package com.team.socialnetwork.controller;
 
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,8 +12,8 @@ import org.springframework.web.bind.annotation.RestController;
 import com.team.socialnetwork.dto.MessageResponse;
 import com.team.socialnetwork.dto.NotificationCountResponse;
 import com.team.socialnetwork.dto.NotificationResponse;
-import com.team.socialnetwork.entity.User;
-import com.team.socialnetwork.repository.UserRepository;
+import com.team.socialnetwork.dto.UserSnapshot;
+import com.team.socialnetwork.security.CurrentUser;
 import com.team.socialnetwork.service.NotificationService;
 
 @RestController
@@ -22,14 +21,11 @@ import com.team.socialnetwork.service.NotificationService;
 public class NotificationController {
 
     private final NotificationService notificationService;
-    private final UserRepository userRepository;
     private final com.team.socialnetwork.repository.NotificationRepository notificationRepository;
 
     public NotificationController(NotificationService notificationService, 
-                                 UserRepository userRepository,
                                  com.team.socialnetwork.repository.NotificationRepository notificationRepository) {
         this.notificationService = notificationService;
-        this.userRepository = userRepository;
         this.notificationRepository = notificationRepository;
     }
 
@@ -38,17 +34,9 @@ public class NotificationController {
      */
     @GetMapping
     public ResponseEntity<Page<NotificationResponse>> getNotifications(
-            Authentication authentication,
+            @CurrentUser UserSnapshot user,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
-        
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-
-        User user = getUserFromAuth(authentication);
-        
         // Validar tamaño de página
         if (size > 50) {
             size = 50; // Limitar el tamaño máximo para rendimiento
@@ -72,17 +60,9 @@ public class NotificationController {
      */
     @GetMapping("/raw")
     public ResponseEntity<java.util.Map<String, Object>> getNotificationsRaw(
-            Authentication authentication,
+            @CurrentUser UserSnapshot user,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
-        
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-
-        User user = getUserFromAuth(authentication);
-        
         try {
             org.springframework.data.domain.Pageable pageable = org.springframework.data.domain.PageRequest.of(page, size);
             org.springframework.data.domain.Page<com.team.socialnetwork.entity.Notification> notifications = 
@@ -130,13 +110,7 @@ public class NotificationController {
      * Obtener contador de notificaciones no leídas
      */
     @GetMapping("/unread-count")
-    public ResponseEntity<NotificationCountResponse> getUnreadCount(Authentication authentication) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-
-        User user = getUserFromAuth(authentication);
+    public ResponseEntity<NotificationCountResponse> getUnreadCount(@CurrentUser UserSnapshot user) {
         NotificationCountResponse count = notificationService.getUnreadCount(user.getId());
 
         return ResponseEntity.ok(count);
@@ -146,13 +120,7 @@ public class NotificationController {
      * Endpoint adicional para compatibilidad con frontend (devuelve solo el número)
      */
     @GetMapping("/count")
-    public ResponseEntity<java.util.Map<String, Long>> getSimpleUnreadCount(Authentication authentication) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-
-        User user = getUserFromAuth(authentication);
+    public ResponseEntity<java.util.Map<String, Long>> getSimpleUnreadCount(@CurrentUser UserSnapshot user) {
         NotificationCountResponse count = notificationService.getUnreadCount(user.getId());
 
         java.util.Map<String, Long> response = new java.util.HashMap<>();
@@ -165,13 +133,7 @@ public class NotificationController {
      * Marcar todas las notificaciones como leídas
      */
     @PatchMapping("/mark-all-read")
-    public ResponseEntity<MessageResponse> markAllAsRead(Authentication authentication) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-
-        User user = getUserFromAuth(authentication);
+    public ResponseEntity<MessageResponse> markAllAsRead(@CurrentUser UserSnapshot user) {
         int updated = notificationService.markAllAsRead(user.getId());
 
         return ResponseEntity.ok(new MessageResponse(updated + " notifications marked as read"));
@@ -182,15 +144,8 @@ public class NotificationController {
      */
     @PatchMapping("/{notificationId}/read")
     public ResponseEntity<MessageResponse> markAsRead(
-            Authentication authentication,
+            @CurrentUser UserSnapshot user,
             @PathVariable Long notificationId) {
-        
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-
-        User user = getUserFromAuth(authentication);
         boolean success = notificationService.markAsRead(user.getId(), notificationId);
 
         if (!success) {
@@ -200,12 +155,4 @@ public class NotificationController {
 
         return ResponseEntity.ok(new MessageResponse("Notification marked as read"));
     }
-
-    // Método auxiliar para obtener usuario autenticado
-    private User getUserFromAuth(Authentication authentication) {
-        String email = authentication.getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
-    }
 }
\ No newline at end of file
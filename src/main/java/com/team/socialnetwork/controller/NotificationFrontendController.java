@@ -9,7 +9,6 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -18,10 +17,11 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.team.socialnetwork.dto.MessageResponse;
+import com.team.socialnetwork.dto.UserSnapshot;
 import com.team.socialnetwork.entity.Notification;
 import com.team.socialnetwork.entity.User;
 import com.team.socialnetwork.repository.NotificationRepository;
-import com.team.socialnetwork.repository.UserRepository;
+import com.team.socialnetwork.security.CurrentUser;
 import com.team.socialnetwork.service.NotificationService;
 
 /**
@@ -33,14 +33,11 @@ import com.team.socialnetwork.service.NotificationService;
 public class NotificationFrontendController {
 
     private final NotificationService notificationService;
-    private final UserRepository userRepository;
     private final NotificationRepository notificationRepository;
 
     public NotificationFrontendController(NotificationService notificationService,
-                                        UserRepository userRepository,
                                         NotificationRepository notificationRepository) {
         this.notificationService = notificationService;
-        this.userRepository = userRepository;
         this.notificationRepository = notificationRepository;
     }
 
@@ -50,13 +47,11 @@ public class NotificationFrontendController {
      */
     @GetMapping
     public ResponseEntity<Map<String, Object>> getNotifications(
-            Authentication authentication,
+            @CurrentUser UserSnapshot user,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
 
-        System.out.println("📋 Frontend solicitando notificaciones - Usuario: " + authentication.getName());
-        
-        User user = getUserFromAuth(authentication);
+        System.out.println("📋 Frontend solicitando notificaciones - Usuario: " + user.getEmail());
         
         try {
             // Limitar tamaño máximo
@@ -157,12 +152,10 @@ public class NotificationFrontendController {
      */
     @PostMapping("/{notificationId}/read")
     public ResponseEntity<MessageResponse> markAsRead(
-            Authentication authentication,
+            @CurrentUser UserSnapshot user,
             @PathVariable Long notificationId) {
 
         System.out.println("📖 Marcando notificación " + notificationId + " como leída");
-        
-        User user = getUserFromAuth(authentication);
         boolean success = notificationService.markAsRead(user.getId(), notificationId);
 
         if (success) {
@@ -178,8 +171,7 @@ public class NotificationFrontendController {
      * Obtener contador de no leídas
      */
     @GetMapping("/unread-count")
-    public ResponseEntity<Map<String, Long>> getUnreadCount(Authentication authentication) {
-        User user = getUserFromAuth(authentication);
+    public ResponseEntity<Map<String, Long>> getUnreadCount(@CurrentUser UserSnapshot user) {
         long count = notificationRepository.countByRecipientIdAndIsReadFalse(user.getId());
         
         Map<String, Long> response = new HashMap<>();
@@ -223,17 +215,4 @@ public class NotificationFrontendController {
                 return actorName + " realizó una acción";
         }
     }
-
-    /**
-     * Obtener usuario autenticado
-     */
-    private User getUserFromAuth(Authentication authentication) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new RuntimeException("Usuario no autenticado");
-        }
-        
-        String email = authentication.getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado: " + email));
-    }
 }
\ No newline at end of file
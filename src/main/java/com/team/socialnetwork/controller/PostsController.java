@@ -1,16 +1,8 @@
 package com.team.socialnetwork.controller;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
-
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -24,6 +16,7 @@ import com.team.socialnetwork.dto.CreateCommentRequest;
 import com.team.socialnetwork.dto.CreatePostRequest;
 import com.team.socialnetwork.dto.PostDetailResponse;
 import com.team.socialnetwork.dto.PostResponse;
+import com.team.socialnetwork.dto.UserSnapshot;
 import com.team.socialnetwork.entity.Comment;
 import com.team.socialnetwork.entity.Post;
 import com.team.socialnetwork.entity.PostLike;
@@ -32,8 +25,15 @@ import com.team.socialnetwork.repository.CommentRepository;
 import com.team.socialnetwork.repository.PostLikeRepository;
 import com.team.socialnetwork.repository.PostRepository;
 import com.team.socialnetwork.repository.UserRepository;
-import com.team.socialnetwork.repository.projection.PostIdCountProjection;
+import com.team.socialnetwork.security.CurrentUser;
 import com.team.socialnetwork.service.NotificationService;
+import com.team.socialnetwork.service.VisibilityService;
+import com.team.socialnetwork.service.counter.LikeCountBuffer;
+import com.team.socialnetwork.service.counter.PostCounterCache;
+import com.team.socialnetwork.service.feed.FeedCursor;
+import com.team.socialnetwork.service.feed.FeedFanoutService;
+import com.team.socialnetwork.service.feed.FeedPageCache;
+import com.team.socialnetwork.service.feed.FeedService;
 
 import jakarta.validation.Valid;
 
@@ -46,46 +46,51 @@ public class PostsController {
     private final CommentRepository commentRepository;
     private final PostLikeRepository postLikeRepository;
     private final NotificationService notificationService;
+    private final FeedService feedService;
+    private final FeedFanoutService feedFanoutService;
+    private final LikeCountBuffer likeCountBuffer;
+    private final PostCounterCache postCounterCache;
+    private final FeedPageCache feedPageCache;
+    private final VisibilityService visibilityService;
 
     public PostsController(PostRepository postRepository, UserRepository userRepository,
                            CommentRepository commentRepository, PostLikeRepository postLikeRepository,
-                           NotificationService notificationService) {
+                           NotificationService notificationService,
+                           FeedService feedService,
+                           FeedFanoutService feedFanoutService,
+                           LikeCountBuffer likeCountBuffer,
+                           PostCounterCache postCounterCache,
+                           FeedPageCache feedPageCache,
+                           VisibilityService visibilityService) {
         this.postRepository = postRepository;
         this.userRepository = userRepository;
         this.commentRepository = commentRepository;
         this.postLikeRepository = postLikeRepository;
         this.notificationService = notificationService;
+        this.feedService = feedService;
+        this.feedFanoutService = feedFanoutService;
+        this.likeCountBuffer = likeCountBuffer;
+        this.postCounterCache = postCounterCache;
+        this.feedPageCache = feedPageCache;
+        this.visibilityService = visibilityService;
     }
 
     @PostMapping
-    public ResponseEntity<com.team.socialnetwork.dto.MessageResponse> create(Authentication authentication,
+    public ResponseEntity<com.team.socialnetwork.dto.MessageResponse> create(@CurrentUser UserSnapshot author,
                                                @Valid @RequestBody CreatePostRequest request) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-        String email = authentication.getName();
-        User author = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
 
-        Post post = new Post(request.getDescription(), request.getImage(), author);
+        // Reference only: the post row needs the author FK, not the author's row
+        Post post = new Post(request.getDescription(), request.getImage(), userRepository.getReferenceById(author.getId()));
         postRepository.save(post);
+        // Push the post into followers' timelines off the request thread
+        feedFanoutService.onPostCreated(post.getId(), author.getId(), post.getCreatedAt());
         return ResponseEntity.ok(new com.team.socialnetwork.dto.MessageResponse("Post created successfully"));
     }
 
     @org.springframework.web.bind.annotation.PostMapping("/{postId}/comments")
-    public ResponseEntity<com.team.socialnetwork.dto.CommentResponse> createComment(Authentication authentication,
+    public ResponseEntity<com.team.socialnetwork.dto.CommentResponse> createComment(@CurrentUser User author,
                                                                                    @org.springframework.web.bind.annotation.PathVariable Long postId,
                                                                                    @Valid @RequestBody CreateCommentRequest request) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-        String email = authentication.getName();
-        User author = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
 
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
@@ -93,13 +98,15 @@ public class PostsController {
 
         // Enforce privacy: if post's author is private, only the author themselves or their followers can comment
         User postAuthor = post.getAuthor();
-        if (postAuthor.isPrivate() && !postAuthor.getId().equals(author.getId()) && !author.getFollowing().contains(postAuthor)) {
+        if (!visibilityService.canView(author.getId(), postAuthor)) {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.FORBIDDEN, "This account is private");
         }
 
         Comment comment = new Comment(request.getText(), post, author);
         commentRepository.save(comment);
+        postRepository.addToCommentCount(postId, 1);
+        postCounterCache.addComments(postId, 1);
         
         // Crear notificación para el autor del post (solo si no es el mismo usuario)
         if (!postAuthor.getId().equals(author.getId())) {
@@ -140,21 +147,13 @@ public class PostsController {
     // List comments for a post (no userId required)
     @org.springframework.web.bind.annotation.GetMapping("/{postId}/comments")
     public ResponseEntity<java.util.List<com.team.socialnetwork.dto.CommentResponse>> listCommentsForPost(
-            Authentication authentication,
+            @CurrentUser UserSnapshot viewer,
             @org.springframework.web.bind.annotation.PathVariable Long postId) {
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
                         org.springframework.http.HttpStatus.NOT_FOUND, "Post not found"));
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-        String email = authentication.getName();
-        User viewer = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
         User author = post.getAuthor();
-        if (author.isPrivate() && !author.getId().equals(viewer.getId()) && !viewer.getFollowing().contains(author)) {
+        if (!visibilityService.canView(viewer.getId(), author)) {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.FORBIDDEN, "This account is private");
         }
@@ -180,28 +179,20 @@ public class PostsController {
 
     // Get post detail (with counts and viewer flags)
     @org.springframework.web.bind.annotation.GetMapping("/{postId:\\d+}")
-    public ResponseEntity<PostDetailResponse> getPost(Authentication authentication,
+    public ResponseEntity<PostDetailResponse> getPost(@CurrentUser UserSnapshot viewer,
                                                       @org.springframework.web.bind.annotation.PathVariable Long postId) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-        String email = authentication.getName();
-        User viewer = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
 
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
                         org.springframework.http.HttpStatus.NOT_FOUND, "Post not found"));
         User author = post.getAuthor();
-        if (author.isPrivate() && !author.getId().equals(viewer.getId()) && !viewer.getFollowing().contains(author)) {
+        if (!visibilityService.canView(viewer.getId(), author)) {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.FORBIDDEN, "This account is private");
         }
 
-        long likesCount = postLikeRepository.countByPostId(postId);
-        long commentsCount = commentRepository.findByPostId(postId).size();
+        long likesCount = post.getLikeCount() + likeCountBuffer.pending(postId);
+        long commentsCount = post.getCommentCount();
         boolean viewerLiked = postLikeRepository.existsByUserIdAndPostId(viewer.getId(), postId);
 
         com.team.socialnetwork.dto.SafeUser authorDto = new com.team.socialnetwork.dto.SafeUser(
@@ -221,34 +212,22 @@ public class PostsController {
     }
 
     @org.springframework.web.bind.annotation.DeleteMapping("/{id}")
-    public ResponseEntity<com.team.socialnetwork.dto.MessageResponse> delete(Authentication authentication,
+    public ResponseEntity<com.team.socialnetwork.dto.MessageResponse> delete(@CurrentUser UserSnapshot me,
                                                                             @org.springframework.web.bind.annotation.PathVariable Long id) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-        String email = authentication.getName();
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
                         org.springframework.http.HttpStatus.NOT_FOUND, "Post not found"));
-        if (!post.getAuthor().getEmail().equals(email)) {
+        if (!post.getAuthor().getId().equals(me.getId())) {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.FORBIDDEN, "You can only delete your own posts");
         }
         postRepository.delete(post);
+        feedFanoutService.onPostDeleted(post.getId(), post.getAuthor().getId());
         return ResponseEntity.ok(new com.team.socialnetwork.dto.MessageResponse("Post deleted successfully"));
     }
 
     @org.springframework.web.bind.annotation.GetMapping("/mine")
-    public ResponseEntity<java.util.List<PostResponse>> myPosts(Authentication authentication) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-        String email = authentication.getName();
-        User me = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
+    public ResponseEntity<java.util.List<PostResponse>> myPosts(@CurrentUser UserSnapshot me) {
         java.util.List<Post> posts = postRepository.findByAuthorId(me.getId());
         java.util.List<PostResponse> resp = posts.stream()
                 .map(p -> new PostResponse(
@@ -272,13 +251,10 @@ public class PostsController {
     }
 
     @GetMapping("/feed")
-    public ResponseEntity<java.util.List<PostDetailResponse>> feed(Authentication authentication,
+    public ResponseEntity<java.util.List<PostDetailResponse>> feed(@CurrentUser UserSnapshot me,
                                                                    @RequestParam(defaultValue = "0") int page,
-                                                                   @RequestParam(defaultValue = "10") int size) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
+                                                                   @RequestParam(defaultValue = "10") int size,
+                                                                   @RequestParam(defaultValue = "chronological") String mode) {
         if (page < 0) {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.BAD_REQUEST, "page must be >= 0");
@@ -287,120 +263,90 @@ public class PostsController {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.BAD_REQUEST, "size must be >= 1");
         }
-        int pageSize = Math.min(size, 50);
-
-        String email = authentication.getName();
-        User me = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
-
-        Set<User> following = me.getFollowing();
-        if (following.isEmpty()) {
-            return ResponseEntity.ok(java.util.Collections.emptyList());
+        if (!"chronological".equals(mode) && !"ranked".equals(mode)) {
+            throw new org.springframework.web.server.ResponseStatusException(
+                    org.springframework.http.HttpStatus.BAD_REQUEST, "mode must be ranked or chronological");
         }
+        int pageSize = Math.min(size, 50);
 
-        List<Long> authorIds = following.stream()
-                .map(User::getId)
-                .toList();
-
-        Page<Post> postsPage = postRepository.findByAuthorIdIn(
-                authorIds,
-                PageRequest.of(page, pageSize, Sort.by(Sort.Direction.DESC, "createdAt"))
-        );
-
-        List<Post> posts = postsPage.getContent();
-        if (posts.isEmpty()) {
-            return ResponseEntity.ok(java.util.Collections.emptyList());
+        if ("ranked".equals(mode)) {
+            return ResponseEntity.ok(feedService.rankedPage(me.getId(), page, pageSize));
         }
+        // Materialized timeline plus pulled posts of followed high-follower authors, hydrated in one query
+        return ResponseEntity.ok(feedService.chronologicalPage(me.getId(), page, pageSize));
+    }
 
-        List<Long> postIds = posts.stream().map(Post::getId).toList();
-
-        Map<Long, Long> likesPerPost = new HashMap<>();
-        for (PostIdCountProjection row : postLikeRepository.countByPostIds(postIds)) {
-            if (row != null && row.getPostId() != null && row.getCnt() != null) {
-                likesPerPost.put(row.getPostId(), row.getCnt());
-            }
+    @GetMapping("/feed/cursor")
+    public ResponseEntity<com.team.socialnetwork.dto.FeedPageResponse> feedByCursor(@CurrentUser UserSnapshot me,
+                                                                                   @RequestParam(required = false) String cursor,
+                                                                                   @RequestParam(defaultValue = "10") int size) {
+        if (size < 1) {
+            throw new org.springframework.web.server.ResponseStatusException(
+                    org.springframework.http.HttpStatus.BAD_REQUEST, "size must be >= 1");
         }
-
-        Map<Long, Long> commentsPerPost = new HashMap<>();
-        for (PostIdCountProjection row : commentRepository.countByPostIds(postIds)) {
-            if (row != null && row.getPostId() != null && row.getCnt() != null) {
-                commentsPerPost.put(row.getPostId(), row.getCnt());
+        int pageSize = Math.min(size, 50);
+        FeedCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                after = FeedCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new org.springframework.web.server.ResponseStatusException(
+                        org.springframework.http.HttpStatus.BAD_REQUEST, "Invalid cursor");
             }
         }
 
-        Set<Long> likedByViewer = new HashSet<>(postLikeRepository.findPostIdsLikedByUser(me.getId(), postIds));
+        // Keyset (createdAt, id) page: no OFFSET, no count(*), stable while new posts arrive
+        return ResponseEntity.ok(feedService.cursorPage(me.getId(), after, pageSize));
+    }
 
-        List<PostDetailResponse> feed = posts.stream().map(post -> {
-            com.team.socialnetwork.dto.SafeUser authorDto = new com.team.socialnetwork.dto.SafeUser(
-                    post.getAuthor().getId(),
-                    post.getAuthor().getFullName(),
-                    post.getAuthor().getUsername(),
-                    post.getAuthor().getEmail(),
-                    post.getAuthor().getCreatedAt(),
-                    post.getAuthor().getProfilePicture()
-            );
-            long likes = likesPerPost.getOrDefault(post.getId(), 0L);
-            long comments = commentsPerPost.getOrDefault(post.getId(), 0L);
-            boolean viewerLiked = likedByViewer.contains(post.getId());
-            return new PostDetailResponse(
-                    post.getId(),
-                    post.getCreatedAt(),
-                    post.getDescription(),
-                    post.getImage(),
-                    authorDto,
-                    likes,
-                    comments,
-                    viewerLiked
-            );
-        }).toList();
+    // Only posts newer than the client's head (cursor of its newest item); empty when nothing arrived
+    @GetMapping("/feed/since")
+    public ResponseEntity<com.team.socialnetwork.dto.FeedDeltaResponse> feedSince(@CurrentUser UserSnapshot me,
+                                                                                 @RequestParam String cursor,
+                                                                                 @RequestParam(defaultValue = "50") int size) {
+        if (size < 1) {
+            throw new org.springframework.web.server.ResponseStatusException(
+                    org.springframework.http.HttpStatus.BAD_REQUEST, "size must be >= 1");
+        }
+        int pageSize = Math.min(size, 50);
+        FeedCursor head;
+        try {
+            head = FeedCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new org.springframework.web.server.ResponseStatusException(
+                    org.springframework.http.HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
 
-        return ResponseEntity.ok(feed);
+        return ResponseEntity.ok(feedService.since(me.getId(), head, pageSize));
     }
 
     @GetMapping("/{postId}/likes/count")
-    public ResponseEntity<java.util.Map<String, Long>> countPostLikes(Authentication authentication,
+    public ResponseEntity<java.util.Map<String, Long>> countPostLikes(@CurrentUser UserSnapshot viewer,
                                                                       @PathVariable Long postId) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-        String email = authentication.getName();
-        User viewer = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
                         org.springframework.http.HttpStatus.NOT_FOUND, "Post not found"));
         User author = post.getAuthor();
-        if (author.isPrivate() && !author.getId().equals(viewer.getId()) && !viewer.getFollowing().contains(author)) {
+        if (!visibilityService.canView(viewer.getId(), author)) {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.FORBIDDEN, "This account is private");
         }
-        long count = postLikeRepository.countByPostId(postId);
+        long count = post.getLikeCount() + likeCountBuffer.pending(postId);
         java.util.Map<String, Long> body = new java.util.HashMap<>();
         body.put("count", count);
         return ResponseEntity.ok(body);
     }
 
     @GetMapping("/{postId}/likes")
-    public ResponseEntity<java.util.List<com.team.socialnetwork.dto.SafeUser>> listPostLikes(Authentication authentication,
+    public ResponseEntity<java.util.List<com.team.socialnetwork.dto.SafeUser>> listPostLikes(@CurrentUser UserSnapshot viewer,
                                                                                              @PathVariable Long postId,
                                                                                              @RequestParam(defaultValue = "0") int page,
                                                                                              @RequestParam(defaultValue = "10") int size) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-        String email = authentication.getName();
-        User viewer = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
                         org.springframework.http.HttpStatus.NOT_FOUND, "Post not found"));
         User author = post.getAuthor();
-        if (author.isPrivate() && !author.getId().equals(viewer.getId()) && !viewer.getFollowing().contains(author)) {
+        if (!visibilityService.canView(viewer.getId(), author)) {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.FORBIDDEN, "This account is private");
         }
@@ -413,34 +359,37 @@ public class PostsController {
     }
 
     @PostMapping("/{postId}/likes")
-    public ResponseEntity<com.team.socialnetwork.dto.MessageResponse> likePost(Authentication authentication,
+    public ResponseEntity<com.team.socialnetwork.dto.MessageResponse> likePost(@CurrentUser UserSnapshot me,
                                                                                @PathVariable Long postId) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
                         org.springframework.http.HttpStatus.NOT_FOUND, "Post not found"));
 
         User author = post.getAuthor();
-        if (author.isPrivate() && !author.getId().equals(user.getId()) && !user.getFollowing().contains(author)) {
+        if (!visibilityService.canView(me.getId(), author)) {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.FORBIDDEN, "This account is private");
         }
-        if (postLikeRepository.existsByUserIdAndPostId(user.getId(), postId)) {
+        if (postLikeRepository.existsByUserIdAndPostId(me.getId(), postId)) {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.CONFLICT, "Already liked");
         }
+        User user = userRepository.getReferenceById(me.getId());
         PostLike postLike = new PostLike(user, post);
-        postLikeRepository.save(postLike);
+        // Buffer the delta before the row exists, so counter repair never sees the row without it
+        likeCountBuffer.add(postId, 1);
+        try {
+            postLikeRepository.save(postLike);
+        } catch (RuntimeException e) {
+            likeCountBuffer.add(postId, -1);
+            throw e;
+        }
+        postCounterCache.addLikes(postId, 1);
+        // viewerLiked changed for this user's cached feed page
+        feedPageCache.invalidate(me.getId());
         
         // Crear notificación para el autor del post (solo si no es el mismo usuario)
-        if (!author.getId().equals(user.getId())) {
+        if (!author.getId().equals(me.getId())) {
             try {
                 notificationService.createAndSendNotification(
                     author, 
@@ -458,35 +407,32 @@ public class PostsController {
     }
 
     @DeleteMapping("/{postId}/likes")
-    public ResponseEntity<com.team.socialnetwork.dto.MessageResponse> unlikePost(Authentication authentication,
+    public ResponseEntity<com.team.socialnetwork.dto.MessageResponse> unlikePost(@CurrentUser UserSnapshot me,
                                                                                  @PathVariable Long postId) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
                         org.springframework.http.HttpStatus.NOT_FOUND, "Post not found"));
         User author = post.getAuthor();
-        if (author.isPrivate() && !author.getId().equals(user.getId()) && !user.getFollowing().contains(author)) {
+        if (!visibilityService.canView(me.getId(), author)) {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.FORBIDDEN, "This account is private");
         }
-        int deleted = postLikeRepository.deleteByUserIdAndPostId(user.getId(), postId);
+        // Buffered before the row goes, as in likePost
+        likeCountBuffer.add(postId, -1);
+        int deleted = postLikeRepository.deleteByUserIdAndPostId(me.getId(), postId);
         if (deleted == 0) {
+            likeCountBuffer.add(postId, 1);
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.CONFLICT, "Not liked yet");
         }
+        postCounterCache.addLikes(postId, -1);
+        feedPageCache.invalidate(me.getId());
         
         // Eliminar notificación de like si existe
-        if (!author.getId().equals(user.getId())) {
+        if (!author.getId().equals(me.getId())) {
             notificationService.removeNotification(
                 author, 
-                user, 
+                userRepository.getReferenceById(me.getId()), 
                 com.team.socialnetwork.entity.Notification.NotificationType.LIKE, 
                 post
             );
@@ -496,16 +442,8 @@ public class PostsController {
     }
 
     @GetMapping("/{postId}/likes/check")
-    public ResponseEntity<java.util.Map<String, Boolean>> checkPostLike(Authentication authentication,
+    public ResponseEntity<java.util.Map<String, Boolean>> checkPostLike(@CurrentUser UserSnapshot me,
                                                                         @PathVariable Long postId) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
         
         // 404 if post doesn't exist
         Post post = postRepository.findById(postId)
@@ -514,12 +452,12 @@ public class PostsController {
         
         // Check privacy permissions
         User author = post.getAuthor();
-        if (author.isPrivate() && !author.getId().equals(user.getId()) && !user.getFollowing().contains(author)) {
+        if (!visibilityService.canView(me.getId(), author)) {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.FORBIDDEN, "This account is private");
         }
 
-        boolean isLiked = postLikeRepository.existsByUserIdAndPostId(user.getId(), postId);
+        boolean isLiked = postLikeRepository.existsByUserIdAndPostId(me.getId(), postId);
         java.util.Map<String, Boolean> response = new java.util.HashMap<>();
         response.put("liked", isLiked);
         return ResponseEntity.ok(response);
@@ -1,12 +1,12 @@
 package com.team.socialnetwork.controller;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -17,6 +17,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.team.socialnetwork.dto.BulkFollowRequestActionRequest;
 import com.team.socialnetwork.dto.ChangeNameRequest;
 import com.team.socialnetwork.dto.ChangePasswordRequest;
 import com.team.socialnetwork.dto.ChangeUsernameRequest;
@@ -25,19 +26,35 @@ import com.team.socialnetwork.dto.FollowRequestResponse;
 import com.team.socialnetwork.dto.PostResponse;
 import com.team.socialnetwork.dto.PublicUserResponse;
 import com.team.socialnetwork.dto.RelationshipResponse;
+import com.team.socialnetwork.dto.RelationshipsRequest;
 import com.team.socialnetwork.dto.SafeUser;
+import com.team.socialnetwork.dto.SuggestionResponse;
 import com.team.socialnetwork.dto.UpdateProfilePictureRequest;
 import com.team.socialnetwork.dto.UpdateProfileRequest;
 import com.team.socialnetwork.dto.UpdateVisibilityRequest;
+import com.team.socialnetwork.dto.UserSnapshot;
 import com.team.socialnetwork.entity.FollowRequest;
 import com.team.socialnetwork.entity.Post;
 import com.team.socialnetwork.entity.User;
 import com.team.socialnetwork.repository.CommentLikeRepository;
 import com.team.socialnetwork.repository.CommentRepository;
+import com.team.socialnetwork.repository.FollowEdgeBatchRepository;
+import com.team.socialnetwork.repository.FollowRepository;
 import com.team.socialnetwork.repository.FollowRequestRepository;
+import com.team.socialnetwork.repository.FollowSuggestionRepository;
 import com.team.socialnetwork.repository.PostRepository;
+import com.team.socialnetwork.repository.TimelineEntryRepository;
 import com.team.socialnetwork.repository.UserRepository;
+import com.team.socialnetwork.security.AccountStatusCache;
+import com.team.socialnetwork.security.CurrentUser;
+import com.team.socialnetwork.security.PasswordHasher;
+import com.team.socialnetwork.security.TokenRevocationList;
+import com.team.socialnetwork.service.FollowService;
 import com.team.socialnetwork.service.NotificationService;
+import com.team.socialnetwork.service.VisibilityService;
+import com.team.socialnetwork.service.feed.FeedFanoutService;
+import com.team.socialnetwork.service.graph.FollowGraph;
+import com.team.socialnetwork.service.graph.FollowSuggestionService;
 
 import jakarta.validation.Valid;
 
@@ -45,44 +62,73 @@ import jakarta.validation.Valid;
 @RequestMapping("/users")
 public class UsersController {
 
+    // Follower ids per set-based statement in bulk follow-request handling (keeps IN lists bounded)
+    private static final int BULK_CHUNK = 500;
+
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final PostRepository postRepository;
     private final CommentLikeRepository commentLikeRepository;
     private final FollowRequestRepository followRequestRepository;
     private final NotificationService notificationService;
-
-    public UsersController(UserRepository userRepository, PasswordEncoder passwordEncoder,
+    private final TimelineEntryRepository timelineEntryRepository;
+    private final FeedFanoutService feedFanoutService;
+    private final VisibilityService visibilityService;
+    private final FollowGraph followGraph;
+    private final FollowSuggestionService followSuggestionService;
+    private final FollowSuggestionRepository followSuggestionRepository;
+    private final FollowRepository followRepository;
+    private final FollowEdgeBatchRepository followEdgeBatchRepository;
+    private final FollowService followService;
+    private final AccountStatusCache accountStatusCache;
+    private final TokenRevocationList tokenRevocationList;
+
+    public UsersController(UserRepository userRepository, PasswordHasher passwordHasher,
                            PostRepository postRepository, CommentRepository commentRepository,
                            CommentLikeRepository commentLikeRepository,
                            FollowRequestRepository followRequestRepository,
-                           NotificationService notificationService) {
+                           NotificationService notificationService,
+                           TimelineEntryRepository timelineEntryRepository,
+                           FeedFanoutService feedFanoutService,
+                           VisibilityService visibilityService,
+                           FollowGraph followGraph,
+                           FollowSuggestionService followSuggestionService,
+                           FollowSuggestionRepository followSuggestionRepository,
+                           FollowRepository followRepository,
+                           FollowEdgeBatchRepository followEdgeBatchRepository,
+                           FollowService followService,
+                           AccountStatusCache accountStatusCache,
+                           TokenRevocationList tokenRevocationList) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.postRepository = postRepository;
         this.commentLikeRepository = commentLikeRepository;
         this.followRequestRepository = followRequestRepository;
         this.notificationService = notificationService;
+        this.timelineEntryRepository = timelineEntryRepository;
+        this.feedFanoutService = feedFanoutService;
+        this.visibilityService = visibilityService;
+        this.followGraph = followGraph;
+        this.followSuggestionService = followSuggestionService;
+        this.followSuggestionRepository = followSuggestionRepository;
+        this.followRepository = followRepository;
+        this.followEdgeBatchRepository = followEdgeBatchRepository;
+        this.followService = followService;
+        this.accountStatusCache = accountStatusCache;
+        this.tokenRevocationList = tokenRevocationList;
     }
 
     // Update my visibility (public/private)
     @PatchMapping("/me/visibility")
     public ResponseEntity<com.team.socialnetwork.dto.MessageResponse> updateVisibility(
-            Authentication authentication,
+            @CurrentUser User user,
             @RequestBody UpdateVisibilityRequest request
     ) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
         if (request.getIsPrivate() == null) {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.BAD_REQUEST, "isPrivate is required");
         }
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
+
         boolean requestedPrivate = Boolean.TRUE.equals(request.getIsPrivate());
         if (user.isPrivate() == requestedPrivate) {
             throw new org.springframework.web.server.ResponseStatusException(
@@ -92,21 +138,14 @@ public class UsersController {
         }
         user.setPrivate(requestedPrivate);
         userRepository.save(user);
+        visibilityService.onVisibilityChanged(user.getId());
         return ResponseEntity.ok(new com.team.socialnetwork.dto.MessageResponse("Visibility updated"));
     }
 
     @GetMapping("/me")
-    public ResponseEntity<PublicUserResponse> me(Authentication authentication) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
-        long followersCount = user.getFollowers().size();
-        long followingCount = user.getFollowing().size();
+    public ResponseEntity<PublicUserResponse> me(@CurrentUser User user) {
+        long followersCount = followersCount(user);
+        long followingCount = followingCount(user);
         PublicUserResponse dto = new PublicUserResponse(
                 user.getId(), user.getFullName(), user.getUsername(), user.getEmail(), user.getCreatedAt(),
                 followersCount, followingCount, user.isPrivate(), user.getProfilePicture()
@@ -114,18 +153,70 @@ public class UsersController {
         return ResponseEntity.ok(dto);
     }
 
+    // Denormalized counters; COUNT on user_following for rows the reconciler has not filled yet
+    private long followersCount(User user) {
+        Long count = user.getFollowersCount();
+        return count != null ? count : userRepository.countFollowers(user.getId());
+    }
+
+    private long followingCount(User user) {
+        Long count = user.getFollowingCount();
+        return count != null ? count : userRepository.countFollowing(user.getId());
+    }
+
+    // In-memory side of a follow edge change: graph index, privacy cache, suggestions. Counters are
+    // written with the edge (FollowService, or the bulk statements); call this once that has committed
+    private void onFollowEdgeIndexed(Long followerId, Long followedId, boolean added) {
+        if (added) {
+            followGraph.addEdge(followerId, followedId);
+        } else {
+            followGraph.removeEdge(followerId, followedId);
+        }
+        visibilityService.onFollowChanged(followerId, followedId);
+        followSuggestionService.onFollowChanged(followerId, followedId);
+    }
+
+    // Runs the action once the surrounding transaction commits (right away when there is none).
+    // Transactional work triggered from here needs its own transaction (REQUIRES_NEW).
+    private static void afterCommit(Runnable action) {
+        if (!org.springframework.transaction.support.TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        org.springframework.transaction.support.TransactionSynchronizationManager.registerSynchronization(
+                new org.springframework.transaction.support.TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                });
+    }
+
+    // Follow edge lookup on the in-memory graph; a single-row join table probe until the graph is ready
+    private boolean isFollowing(Long followerId, Long followedId) {
+        if (followGraph.isReady()) {
+            return followGraph.follows(followerId, followedId);
+        }
+        return followRepository.exists(followerId, followedId);
+    }
+
+    // People you may know: precomputed friends-of-friends ranked by mutual follows
+    @GetMapping("/me/suggestions")
+    public ResponseEntity<java.util.List<SuggestionResponse>> suggestions(@CurrentUser UserSnapshot me,
+                                                                        @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1) {
+            throw new org.springframework.web.server.ResponseStatusException(
+                    org.springframework.http.HttpStatus.BAD_REQUEST, "limit must be >= 1");
+        }
+
+        return ResponseEntity.ok(followSuggestionRepository.findTopForUser(me.getId(),
+                org.springframework.data.domain.PageRequest.of(0, Math.min(limit, 50))));
+    }
+
     // Follow a user
     @PostMapping("/{userId}/follow")
-    public ResponseEntity<com.team.socialnetwork.dto.MessageResponse> follow(Authentication authentication,
+    public ResponseEntity<com.team.socialnetwork.dto.MessageResponse> follow(@CurrentUser UserSnapshot me,
                                                                              @PathVariable Long userId) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-        String email = authentication.getName();
-        User me = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
         if (me.getId().equals(userId)) {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.BAD_REQUEST, "You cannot follow yourself");
@@ -134,14 +225,16 @@ public class UsersController {
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
                         org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
 
-        if (me.getFollowing().contains(target)) {
+        if (isFollowing(me.getId(), target.getId())) {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.CONFLICT, "Already following");
         }
+        // Reference only: request rows and notifications need the FK, not the caller's row
+        User actor = userRepository.getReferenceById(me.getId());
         if (target.isPrivate()) {
             if (followRequestRepository.existsByFollowerIdAndTargetId(me.getId(), target.getId())) {
                 System.out.println("🔔 Solicitud de follow duplicada detectada:");
-                System.out.println("   👤 Usuario: " + me.getFullName() + " (ID: " + me.getId() + ")");
+                System.out.println("   👤 Usuario: " + me.getUsername() + " (ID: " + me.getId() + ")");
                 System.out.println("   🎯 Target: " + target.getFullName() + " (ID: " + target.getId() + ")");
                 System.out.println("   🔄 Actualizando notificación existente...");
                 
@@ -151,18 +244,18 @@ public class UsersController {
                 return ResponseEntity.status(org.springframework.http.HttpStatus.ACCEPTED)
                         .body(new com.team.socialnetwork.dto.MessageResponse("Follow request updated"));
             }
-            FollowRequest followRequest = new FollowRequest(me, target);
+            FollowRequest followRequest = new FollowRequest(actor, target);
             followRequestRepository.save(followRequest);
             
             // Crear notificación de solicitud de seguimiento
             try {
                 System.out.println("🔔 Enviando notificación FOLLOW_REQUEST:");
-                System.out.println("   👤 De: " + me.getFullName() + " (ID: " + me.getId() + ")");
+                System.out.println("   👤 De: " + me.getUsername() + " (ID: " + me.getId() + ")");
                 System.out.println("   👥 Para: " + target.getFullName() + " (ID: " + target.getId() + ")");
                 
                 notificationService.createAndSendNotification(
                     target, 
-                    me, 
+                    actor, 
                     com.team.socialnetwork.entity.Notification.NotificationType.FOLLOW_REQUEST, 
                     null, 
                     null
@@ -178,22 +271,30 @@ public class UsersController {
             return ResponseEntity.status(org.springframework.http.HttpStatus.ACCEPTED)
                     .body(new com.team.socialnetwork.dto.MessageResponse("Follow request sent"));
         } else {
-            me.getFollowing().add(target);
-            userRepository.save(me);
-            
-            // Crear notificación de seguimiento
-            try {
-                notificationService.createAndSendNotification(
-                    target, 
-                    me, 
-                    com.team.socialnetwork.entity.Notification.NotificationType.FOLLOW, 
-                    null, 
-                    null
-                );
-            } catch (Exception e) {
-                // Log el error pero no fallar la operación
-                System.err.println("Error creating follow notification: " + e.getMessage());
+            // Edge and counters commit together; a concurrent follow of the same pair inserts nothing
+            if (!followService.follow(me.getId(), target.getId())) {
+                throw new org.springframework.web.server.ResponseStatusException(
+                        org.springframework.http.HttpStatus.CONFLICT, "Already following");
             }
+            Long followerId = me.getId();
+            afterCommit(() -> {
+                onFollowEdgeIndexed(followerId, target.getId(), true);
+                feedFanoutService.onFollow(followerId, target.getId());
+
+                // Crear notificación de seguimiento
+                try {
+                    notificationService.createAndSendNotification(
+                        target,
+                        actor,
+                        com.team.socialnetwork.entity.Notification.NotificationType.FOLLOW,
+                        null,
+                        null
+                    );
+                } catch (Exception e) {
+                    // Log el error pero no fallar la operación
+                    System.err.println("Error creating follow notification: " + e.getMessage());
+                }
+            });
             
             return ResponseEntity.ok(new com.team.socialnetwork.dto.MessageResponse("Followed successfully"));
         }
@@ -201,22 +302,14 @@ public class UsersController {
 
     // Unfollow a user
     @DeleteMapping("/{userId}/follow")
-    public ResponseEntity<com.team.socialnetwork.dto.MessageResponse> unfollow(Authentication authentication,
+    public ResponseEntity<com.team.socialnetwork.dto.MessageResponse> unfollow(@CurrentUser UserSnapshot me,
                                                                                @PathVariable Long userId) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-        String email = authentication.getName();
-        User me = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
 
         User target = userRepository.findById(userId)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
                         org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
 
-        if (!me.getFollowing().contains(target)) {
+        if (!followService.unfollow(me.getId(), target.getId())) {
             // If there is a pending request, allow cancel by deleting it
             java.util.Optional<FollowRequest> fr = followRequestRepository.findByFollowerIdAndTargetId(me.getId(), target.getId());
             if (fr.isPresent()) {
@@ -225,7 +318,7 @@ public class UsersController {
                 // Eliminar notificación de solicitud de seguimiento
                 notificationService.removeNotification(
                     target, 
-                    me, 
+                    userRepository.getReferenceById(me.getId()), 
                     com.team.socialnetwork.entity.Notification.NotificationType.FOLLOW_REQUEST
                 );
                 
@@ -234,31 +327,26 @@ public class UsersController {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.CONFLICT, "Not following yet");
         }
-        me.getFollowing().remove(target);
-        userRepository.save(me);
-        
-        // Eliminar notificación de seguimiento
-        notificationService.removeNotification(
-            target, 
-            me, 
-            com.team.socialnetwork.entity.Notification.NotificationType.FOLLOW
-        );
+        Long followerId = me.getId();
+        afterCommit(() -> {
+            onFollowEdgeIndexed(followerId, target.getId(), false);
+            feedFanoutService.onUnfollow(followerId, target.getId());
+
+            // Eliminar notificación de seguimiento
+            notificationService.removeNotification(
+                target,
+                userRepository.getReferenceById(followerId),
+                com.team.socialnetwork.entity.Notification.NotificationType.FOLLOW
+            );
+        });
         
         return ResponseEntity.ok(new com.team.socialnetwork.dto.MessageResponse("Unfollowed successfully"));
     }
 
     // Approve a follow request from {userId} to me
     @PostMapping("/{userId}/follow/approve")
-    public ResponseEntity<com.team.socialnetwork.dto.MessageResponse> approveFollow(Authentication authentication,
+    public ResponseEntity<com.team.socialnetwork.dto.MessageResponse> approveFollow(@CurrentUser UserSnapshot me,
                                                                                     @PathVariable Long userId) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-        String email = authentication.getName();
-        User me = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
         User follower = userRepository.findById(userId)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
                         org.springframework.http.HttpStatus.NOT_FOUND, "Follower not found"));
@@ -266,35 +354,32 @@ public class UsersController {
         FollowRequest fr = followRequestRepository.findByFollowerIdAndTargetId(follower.getId(), me.getId())
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
                         org.springframework.http.HttpStatus.NOT_FOUND, "Follow request not found"));
-        followRequestRepository.delete(fr);
-        // Create following relation
-        follower.getFollowing().add(me);
-        userRepository.save(follower);
-        
-        // Crear notificación de seguimiento aprobado
-        notificationService.createAndSendNotification(
-            follower, 
-            me, 
-            com.team.socialnetwork.entity.Notification.NotificationType.FOLLOW, 
-            null, 
-            null
-        );
+        // Request removal, edge and counters commit together
+        boolean created = followService.acceptRequest(fr);
+        Long targetId = me.getId();
+        afterCommit(() -> {
+            if (created) {
+                onFollowEdgeIndexed(follower.getId(), targetId, true);
+                feedFanoutService.onFollow(follower.getId(), targetId);
+            }
+
+            // Crear notificación de seguimiento aprobado
+            notificationService.createAndSendNotification(
+                follower,
+                userRepository.getReferenceById(targetId),
+                com.team.socialnetwork.entity.Notification.NotificationType.FOLLOW,
+                null,
+                null
+            );
+        });
         
         return ResponseEntity.ok(new com.team.socialnetwork.dto.MessageResponse("Follow request approved"));
     }
 
     // Reject a follow request from {userId} to me
     @PostMapping("/{userId}/follow/reject")
-    public ResponseEntity<com.team.socialnetwork.dto.MessageResponse> rejectFollow(Authentication authentication,
+    public ResponseEntity<com.team.socialnetwork.dto.MessageResponse> rejectFollow(@CurrentUser UserSnapshot me,
                                                                                    @PathVariable Long userId) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-        String email = authentication.getName();
-        User me = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
         User follower = userRepository.findById(userId)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
                         org.springframework.http.HttpStatus.NOT_FOUND, "Follower not found"));
@@ -308,39 +393,29 @@ public class UsersController {
 
     // Remove a follower from my followers list
     @DeleteMapping("/me/followers/{followerId}")
-    public ResponseEntity<com.team.socialnetwork.dto.MessageResponse> removeFollower(Authentication authentication,
+    public ResponseEntity<com.team.socialnetwork.dto.MessageResponse> removeFollower(@CurrentUser UserSnapshot me,
                                                                                       @PathVariable Long followerId) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-        String email = authentication.getName();
-        User me = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
         User follower = userRepository.findById(followerId)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
                         org.springframework.http.HttpStatus.NOT_FOUND, "Follower not found"));
 
-        // Verificar que realmente es mi seguidor
-        if (!me.getFollowers().contains(follower) || !follower.getFollowing().contains(me)) {
+        // Eliminar la relación de seguimiento (eliminar seguidor); 0 filas = no es mi seguidor
+        if (!followService.unfollow(follower.getId(), me.getId())) {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.CONFLICT, "User is not following you");
         }
+        Long targetId = me.getId();
+        afterCommit(() -> {
+            onFollowEdgeIndexed(follower.getId(), targetId, false);
+            feedFanoutService.onUnfollow(follower.getId(), targetId);
 
-        // Eliminar la relación de seguimiento (eliminar seguidor)
-        me.getFollowers().remove(follower);
-        follower.getFollowing().remove(me);
-        
-        userRepository.save(me);
-        userRepository.save(follower);
-        
-        // Eliminar notificación de seguimiento que el seguidor pudo haber recibido
-        notificationService.removeNotification(
-            follower, 
-            me, 
-            com.team.socialnetwork.entity.Notification.NotificationType.FOLLOW
-        );
+            // Eliminar notificación de seguimiento que el seguidor pudo haber recibido
+            notificationService.removeNotification(
+                follower,
+                userRepository.getReferenceById(targetId),
+                com.team.socialnetwork.entity.Notification.NotificationType.FOLLOW
+            );
+        });
         
         return ResponseEntity.ok(new com.team.socialnetwork.dto.MessageResponse("Follower removed successfully"));
     }
@@ -391,8 +466,8 @@ public class UsersController {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
                         org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
-        long followersCount = user.getFollowers().size();
-        long followingCount = user.getFollowing().size();
+        long followersCount = followersCount(user);
+        long followingCount = followingCount(user);
         PublicUserResponse dto = new PublicUserResponse(
                 user.getId(), user.getFullName(), user.getUsername(), user.getEmail(), user.getCreatedAt(),
                 followersCount, followingCount, user.isPrivate(), user.getProfilePicture()
@@ -400,60 +475,111 @@ public class UsersController {
         return ResponseEntity.ok(dto);
     }
 
-    // List followers of a user
+    // List followers of a user, one keyset page at a time (nextCursor in the body, as in the feed)
     @GetMapping("/{userId}/followers")
-    public ResponseEntity<java.util.List<SafeUser>> listFollowers(@PathVariable Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
-        java.util.List<SafeUser> resp = user.getFollowers().stream()
-                .map(u -> new SafeUser(u.getId(), u.getFullName(), u.getUsername(), u.getEmail(), u.getCreatedAt(), u.getProfilePicture()))
-                .toList();
-        return ResponseEntity.ok(resp);
+    public ResponseEntity<com.team.socialnetwork.dto.CursorPageResponse<SafeUser>> listFollowers(@PathVariable Long userId,
+                                                                  @RequestParam(required = false) Long cursor,
+                                                                  @RequestParam(defaultValue = "50") int size) {
+        int pageSize = followPageSize(size);
+        if (!userRepository.existsById(userId)) {
+            throw new org.springframework.web.server.ResponseStatusException(
+                    org.springframework.http.HttpStatus.NOT_FOUND, "User not found");
+        }
+        return followPage(userRepository.findFollowersPage(userId, cursor == null ? 0L : cursor,
+                org.springframework.data.domain.PageRequest.of(0, pageSize + 1)), pageSize);
     }
 
-    // List following of a user
+    // List following of a user, one keyset page at a time (nextCursor in the body, as in the feed)
     @GetMapping("/{userId}/following")
-    public ResponseEntity<java.util.List<SafeUser>> listFollowing(@PathVariable Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
-        java.util.List<SafeUser> resp = user.getFollowing().stream()
-                .map(u -> new SafeUser(u.getId(), u.getFullName(), u.getUsername(), u.getEmail(), u.getCreatedAt(), u.getProfilePicture()))
-                .toList();
-        return ResponseEntity.ok(resp);
+    public ResponseEntity<com.team.socialnetwork.dto.CursorPageResponse<SafeUser>> listFollowing(@PathVariable Long userId,
+                                                                  @RequestParam(required = false) Long cursor,
+                                                                  @RequestParam(defaultValue = "50") int size) {
+        int pageSize = followPageSize(size);
+        if (!userRepository.existsById(userId)) {
+            throw new org.springframework.web.server.ResponseStatusException(
+                    org.springframework.http.HttpStatus.NOT_FOUND, "User not found");
+        }
+        return followPage(userRepository.findFollowingPage(userId, cursor == null ? 0L : cursor,
+                org.springframework.data.domain.PageRequest.of(0, pageSize + 1)), pageSize);
+    }
+
+    private int followPageSize(int size) {
+        if (size < 1) {
+            throw new org.springframework.web.server.ResponseStatusException(
+                    org.springframework.http.HttpStatus.BAD_REQUEST, "size must be >= 1");
+        }
+        return Math.min(size, 100);
+    }
+
+    // rows holds up to pageSize + 1 entries; the extra one only signals that another page exists
+    private ResponseEntity<com.team.socialnetwork.dto.CursorPageResponse<SafeUser>> followPage(
+            java.util.List<SafeUser> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        java.util.List<SafeUser> resp = hasMore ? rows.subList(0, pageSize) : rows;
+        String next = hasMore ? String.valueOf(resp.get(resp.size() - 1).getId()) : null;
+        return ResponseEntity.ok(new com.team.socialnetwork.dto.CursorPageResponse<>(resp, next, hasMore));
     }
 
     // Relationship between authenticated user and {userId}
     @GetMapping("/{userId}/relationship")
-    public ResponseEntity<RelationshipResponse> relationship(Authentication authentication,
+    public ResponseEntity<RelationshipResponse> relationship(@CurrentUser UserSnapshot me,
                                                             @PathVariable Long userId) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-        String email = authentication.getName();
-        User me = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
         User target = userRepository.findById(userId)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
                         org.springframework.http.HttpStatus.NOT_FOUND, "Target user not found"));
 
-        boolean following = me.getFollowing().contains(target);
-        boolean followsYou = target.getFollowing().contains(me);
+        boolean following = isFollowing(me.getId(), target.getId());
+        boolean followsYou = isFollowing(target.getId(), me.getId());
         boolean requested = followRequestRepository.existsByFollowerIdAndTargetId(me.getId(), target.getId());
         boolean blocked = false; // not implemented yet
         return ResponseEntity.ok(new RelationshipResponse(following, followsYou, requested, blocked));
     }
 
+    // Relationships between the authenticated user and many users at once (search results, profile grids).
+    // Besides resolving me: one query for pending requests, plus two for follow edges unless the graph is loaded
+    @PostMapping("/relationships")
+    public ResponseEntity<java.util.Map<Long, RelationshipResponse>> relationships(@CurrentUser UserSnapshot me,
+                                                                                  @Valid @RequestBody RelationshipsRequest request) {
+
+        java.util.Set<Long> targetIds = new java.util.LinkedHashSet<>(request.getUserIds());
+        targetIds.remove(null);
+        if (targetIds.isEmpty()) {
+            throw new org.springframework.web.server.ResponseStatusException(
+                    org.springframework.http.HttpStatus.BAD_REQUEST, "userIds is required");
+        }
+        java.util.Set<Long> following;
+        java.util.Set<Long> followsYou;
+        if (followGraph.isReady()) {
+            following = new java.util.HashSet<>();
+            followsYou = new java.util.HashSet<>();
+            for (Long id : targetIds) {
+                if (followGraph.follows(me.getId(), id)) {
+                    following.add(id);
+                }
+                if (followGraph.follows(id, me.getId())) {
+                    followsYou.add(id);
+                }
+            }
+        } else {
+            following = new java.util.HashSet<>(userRepository.findFollowedAmong(me.getId(), targetIds));
+            followsYou = new java.util.HashSet<>(userRepository.findFollowersAmong(me.getId(), targetIds));
+        }
+        java.util.Set<Long> requested = new java.util.HashSet<>(followRequestRepository.findTargetIdsAmong(me.getId(), targetIds));
+
+        java.util.Map<Long, RelationshipResponse> resp = new java.util.LinkedHashMap<>();
+        for (Long id : targetIds) {
+            resp.put(id, new RelationshipResponse(following.contains(id), followsYou.contains(id), requested.contains(id), false));
+        }
+        return ResponseEntity.ok(resp);
+    }
+
     // Count followers of a user
     @GetMapping("/{userId}/followers/count")
     public ResponseEntity<java.util.Map<String, Long>> countFollowers(@PathVariable Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
                         org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
-        long count = user.getFollowers().size();
+        long count = followersCount(user);
         java.util.Map<String, Long> body = new java.util.HashMap<>();
         body.put("count", count);
         return ResponseEntity.ok(body);
@@ -465,7 +591,7 @@ public class UsersController {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
                         org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
-        long count = user.getFollowing().size();
+        long count = followingCount(user);
         java.util.Map<String, Long> body = new java.util.HashMap<>();
         body.put("count", count);
         return ResponseEntity.ok(body);
@@ -473,28 +599,21 @@ public class UsersController {
 
     // List posts of a user (respect privacy)
     @GetMapping("/{userId}/posts")
-    public ResponseEntity<?> listUserPosts(Authentication authentication,
+    public ResponseEntity<?> listUserPosts(@CurrentUser UserSnapshot me,
                                            @PathVariable Long userId) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-        String email = authentication.getName();
-        User me = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
                         org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
         
         // Verificar si el perfil es privado y el usuario no tiene acceso
-        if (user.isPrivate() && !user.getId().equals(me.getId()) && !me.getFollowing().contains(user)) {
+        if (!visibilityService.canView(me.getId(), user)) {
             // En lugar de devolver 403, devolver 200 con información estructurada
             Map<String, Object> privateProfileResponse = new HashMap<>();
             privateProfileResponse.put("isPrivate", true);
             privateProfileResponse.put("message", "Esta cuenta es privada");
             privateProfileResponse.put("posts", new ArrayList<>());
-            privateProfileResponse.put("canFollow", !me.getFollowing().contains(user) && !user.getId().equals(me.getId()));
+            // Not visible means neither self nor already following
+            privateProfileResponse.put("canFollow", true);
             privateProfileResponse.put("userId", userId);
             privateProfileResponse.put("username", user.getUsername());
             return ResponseEntity.ok(privateProfileResponse);
@@ -526,51 +645,36 @@ public class UsersController {
 
     @PatchMapping("/me/password")
     public ResponseEntity<com.team.socialnetwork.dto.MessageResponse> changePassword(
-            Authentication authentication,
+            @CurrentUser User user,
             @Valid @RequestBody ChangePasswordRequest request
     ) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
-
         // Verify current password
-        if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(request.getCurrentPassword(), user.getPassword())) {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.FORBIDDEN, "Incorrect password");
         }
 
         // Prevent reusing the same password
-        if (passwordEncoder.matches(request.getNewPassword(), user.getPassword())) {
+        if (passwordHasher.matches(request.getNewPassword(), user.getPassword())) {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.CONFLICT, "New password must be different from the current one");
         }
 
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        user.setPassword(passwordHasher.encode(request.getNewPassword()));
+        user.setTokensValidAfter(Instant.now().truncatedTo(ChronoUnit.SECONDS));
         userRepository.save(user);
+        // Every token issued before now stops authenticating; the client signs in again with the new password
+        accountStatusCache.evict(user.getId());
+        // The cutoff is whole seconds, so the token used for the change is also revoked outright
+        tokenRevocationList.revokeCurrent();
         return ResponseEntity.ok(new com.team.socialnetwork.dto.MessageResponse("Password updated successfully"));
     }
 
     @PatchMapping("/me/username")
     public ResponseEntity<com.team.socialnetwork.dto.MessageResponse> changeUsername(
-            Authentication authentication,
+            @CurrentUser User user,
             @Valid @RequestBody ChangeUsernameRequest request
     ) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
-
         String newUsername = request.getUsername();
         if (newUsername.equals(user.getUsername())) {
             throw new org.springframework.web.server.ResponseStatusException(
@@ -590,19 +694,9 @@ public class UsersController {
     // Optional: allow changing non-unique full name
     @PatchMapping("/me/full-name")
     public ResponseEntity<com.team.socialnetwork.dto.MessageResponse> changeFullName(
-            Authentication authentication,
+            @CurrentUser User user,
             @Valid @RequestBody ChangeNameRequest request
     ) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
-
         String newFullName = request.getName();
         if (newFullName.equals(user.getFullName())) {
             throw new org.springframework.web.server.ResponseStatusException(
@@ -615,39 +709,30 @@ public class UsersController {
     }
 
     @DeleteMapping("/me")
-    public ResponseEntity<com.team.socialnetwork.dto.MessageResponse> deleteAccount(Authentication authentication) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
-
+    public ResponseEntity<com.team.socialnetwork.dto.MessageResponse> deleteAccount(@CurrentUser User user) {
         // Ensure comment likes (not mapped in entity) are removed first
         commentLikeRepository.deleteByUserId(user.getId());
+        // Timeline rows carry no FK; drop this user's timeline and their posts from everyone else's
+        timelineEntryRepository.deleteByUser(user.getId());
+        // Users on the other side of this account's follow edges lose one follower/following
+        userRepository.decrementFollowersOfFollowed(user.getId());
+        userRepository.decrementFollowingOfFollowers(user.getId());
+        followGraph.removeUser(user.getId());
+        followSuggestionRepository.deleteByUser(user.getId());
 
         userRepository.delete(user);
+        // Outstanding tokens stop authenticating immediately instead of after the status TTL
+        accountStatusCache.evict(user.getId());
+        // Also covers a later account that reuses the email under auth.stateless=false
+        tokenRevocationList.revokeCurrent();
         return ResponseEntity.ok(new com.team.socialnetwork.dto.MessageResponse("Account deleted successfully"));
     }
 
     @PatchMapping("/me/profile")
     public ResponseEntity<com.team.socialnetwork.dto.MessageResponse> updateProfile(
-            Authentication authentication,
+            @CurrentUser User user,
             @RequestBody UpdateProfileRequest request
     ) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
-
         // For now only supports fullName; future: bio, avatar, location
         if (request.getFullName() != null) {
             String newName = request.getFullName().trim();
@@ -659,42 +744,40 @@ public class UsersController {
     }
 
     /**
-     * Obtener solicitudes de seguimiento pendientes para el usuario autenticado
-     * Solo aplicable si el usuario tiene perfil privado
+     * Obtener solicitudes de seguimiento pendientes para el usuario autenticado, más recientes primero
+     * y paginadas por cursor (nextCursor en el cuerpo). Solo aplicable si el usuario tiene perfil privado
      */
     @GetMapping("/me/follow-requests")
-    public ResponseEntity<java.util.List<FollowRequestResponse>> getPendingFollowRequests(Authentication authentication) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
+    public ResponseEntity<com.team.socialnetwork.dto.CursorPageResponse<FollowRequestResponse>> getPendingFollowRequests(
+            @CurrentUser UserSnapshot user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        int pageSize = followPageSize(size);
+        com.team.socialnetwork.dto.FollowRequestCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                after = com.team.socialnetwork.dto.FollowRequestCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new org.springframework.web.server.ResponseStatusException(
+                        org.springframework.http.HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
         }
 
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
-
         // Si el perfil es público, devolver lista vacía (no necesita follow requests)
         if (!user.isPrivate()) {
-            return ResponseEntity.ok(new java.util.ArrayList<>());
+            return ResponseEntity.ok(new com.team.socialnetwork.dto.CursorPageResponse<>(new java.util.ArrayList<>(), null, false));
         }
 
-        // Obtener todas las solicitudes pendientes (solo para perfiles privados)
-        java.util.List<com.team.socialnetwork.entity.FollowRequest> requests = 
-                followRequestRepository.findByTargetId(user.getId());
+        // Una sola consulta proyectada al DTO; se pide una fila extra para saber si hay otra página
+        org.springframework.data.domain.Pageable limit = org.springframework.data.domain.PageRequest.of(0, pageSize + 1);
+        java.util.List<FollowRequestResponse> rows = after == null
+                ? followRequestRepository.findInboxPage(user.getId(), limit)
+                : followRequestRepository.findInboxPageAfter(user.getId(), after.getCreatedAt(), after.getRequestId(), limit);
 
-        // Convertir a DTO
-        java.util.List<FollowRequestResponse> response = requests.stream()
-                .map(request -> new FollowRequestResponse(
-                        request.getId(),
-                        request.getFollower().getId(),
-                        request.getFollower().getUsername(),
-                        request.getFollower().getFullName(),
-                        request.getCreatedAt()
-                ))
-                .collect(java.util.stream.Collectors.toList());
-
-        return ResponseEntity.ok(response);
+        boolean hasMore = rows.size() > pageSize;
+        java.util.List<FollowRequestResponse> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String next = hasMore ? com.team.socialnetwork.dto.FollowRequestCursor.of(page.get(pageSize - 1)).encode() : null;
+        return ResponseEntity.ok(new com.team.socialnetwork.dto.CursorPageResponse<>(page, next, hasMore));
     }
 
     /**
@@ -702,20 +785,9 @@ public class UsersController {
      */
     @PatchMapping("/me/follow-requests/{requestId}")
     public ResponseEntity<com.team.socialnetwork.dto.MessageResponse> handleFollowRequest(
-            Authentication authentication,
+            @CurrentUser UserSnapshot user,
             @PathVariable Long requestId,
             @jakarta.validation.Valid @RequestBody FollowRequestActionRequest actionRequest) {
-        
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
-
         // Buscar la solicitud
         com.team.socialnetwork.entity.FollowRequest request = followRequestRepository.findById(requestId)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
@@ -738,24 +810,23 @@ public class UsersController {
             User follower = request.getFollower();
             User target = request.getTarget();
             
-            // Añadir la relación de seguimiento
-            follower.getFollowing().add(target);
-            target.getFollowers().add(follower);
-            
-            userRepository.save(follower);
-            userRepository.save(target);
-            
-            // Eliminar la solicitud
-            followRequestRepository.delete(request);
-            
-            // Crear notificación de seguimiento aprobado
-            notificationService.createAndSendNotification(
-                follower, 
-                target, 
-                com.team.socialnetwork.entity.Notification.NotificationType.FOLLOW, 
-                null, 
-                null
-            );
+            // Eliminar la solicitud y añadir la relación de seguimiento en una sola transacción
+            boolean created = followService.acceptRequest(request);
+            afterCommit(() -> {
+                if (created) {
+                    onFollowEdgeIndexed(follower.getId(), target.getId(), true);
+                    feedFanoutService.onFollow(follower.getId(), target.getId());
+                }
+
+                // Crear notificación de seguimiento aprobado
+                notificationService.createAndSendNotification(
+                    follower,
+                    target,
+                    com.team.socialnetwork.entity.Notification.NotificationType.FOLLOW,
+                    null,
+                    null
+                );
+            });
             
             return ResponseEntity.ok(new com.team.socialnetwork.dto.MessageResponse("Follow request accepted"));
         } else {
@@ -765,24 +836,69 @@ public class UsersController {
         }
     }
 
+    /**
+     * Aceptar o rechazar en lote solicitudes de seguimiento pendientes (lista de ids o "all").
+     * Todo se aplica con sentencias por conjuntos en una sola transacción; índices en memoria,
+     * fan-out y notificaciones se ejecutan tras el commit.
+     */
+    @PostMapping("/me/follow-requests/bulk")
+    @org.springframework.transaction.annotation.Transactional
+    public ResponseEntity<com.team.socialnetwork.dto.MessageResponse> handleFollowRequestsBulk(
+            @CurrentUser UserSnapshot me,
+            @jakarta.validation.Valid @RequestBody BulkFollowRequestActionRequest actionRequest) {
+        java.util.List<Long> requestIds = actionRequest.getRequestIds();
+        if (!actionRequest.isAll() && (requestIds == null || requestIds.isEmpty())) {
+            throw new org.springframework.web.server.ResponseStatusException(
+                    org.springframework.http.HttpStatus.BAD_REQUEST, "Provide requestIds or set all to true");
+        }
+
+        // Requests addressed to someone else are ignored
+        java.util.List<Long> followerIds = actionRequest.isAll()
+                ? followRequestRepository.findFollowerIdsByTargetId(me.getId())
+                : followRequestRepository.findFollowerIdsByTargetIdAndIdIn(me.getId(), requestIds);
+        boolean accept = "accept".equals(actionRequest.getAction());
+
+        java.util.List<Long> added = new java.util.ArrayList<>();
+        for (int from = 0; from < followerIds.size(); from += BULK_CHUNK) {
+            java.util.List<Long> chunk = followerIds.subList(from, Math.min(from + BULK_CHUNK, followerIds.size()));
+            if (accept) {
+                // Only edges this statement created count; requesters that already follow me, or whose
+                // follow commits concurrently, just lose their stale request
+                java.util.List<Long> inserted = followEdgeBatchRepository.insertFromRequests(me.getId(), chunk);
+                if (!inserted.isEmpty()) {
+                    userRepository.incrementFollowingCounts(inserted);
+                    added.addAll(inserted);
+                }
+            }
+            followRequestRepository.deleteByTargetAndFollowerIn(me.getId(), chunk);
+        }
+
+        if (!added.isEmpty()) {
+            userRepository.adjustFollowersCount(me.getId(), added.size());
+            Long targetId = me.getId();
+            // Indexes, timelines and notifications must never show edges that could still roll back
+            afterCommit(() -> {
+                for (Long followerId : added) {
+                    onFollowEdgeIndexed(followerId, targetId, true);
+                }
+                feedFanoutService.onFollowedBy(added, targetId);
+                notificationService.createAndSendBulk(added,
+                        userRepository.getReferenceById(targetId), com.team.socialnetwork.entity.Notification.NotificationType.FOLLOW);
+            });
+        }
+
+        String verb = accept ? "accepted" : "rejected";
+        return ResponseEntity.ok(new com.team.socialnetwork.dto.MessageResponse(
+                followerIds.size() + " follow requests " + verb));
+    }
+
     /**
      * Actualizar foto de perfil del usuario autenticado
      */
     @PatchMapping("/me/profile-picture")
     public ResponseEntity<com.team.socialnetwork.dto.MessageResponse> updateProfilePicture(
-            Authentication authentication,
+            @CurrentUser User user,
             @Valid @RequestBody UpdateProfilePictureRequest request) {
-        
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
-        }
-
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                        org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
-
         // Actualizar la foto de perfil (puede ser null para eliminar)
         user.setProfilePicture(request.getProfilePicture());
         userRepository.save(user);
@@ -0,0 +1,36 @@
+package com.team.socialnetwork.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+public class BulkFollowRequestActionRequest {
+    @NotBlank(message = "Action is required")
+    @Pattern(regexp = "accept|reject", message = "Action must be 'accept' or 'reject'")
+    private String action;
+
+    @Size(max = 500, message = "At most 500 requestIds per request")
+    private List<Long> requestIds;
+
+    // true applies the action to every pending request; requestIds is then ignored
+    private boolean all;
+
+    public BulkFollowRequestActionRequest() {}
+
+    public BulkFollowRequestActionRequest(String action, List<Long> requestIds, boolean all) {
+        this.action = action;
+        this.requestIds = requestIds;
+        this.all = all;
+    }
+
+    public String getAction() { return action; }
+    public void setAction(String action) { this.action = action; }
+
+    public List<Long> getRequestIds() { return requestIds; }
+    public void setRequestIds(List<Long> requestIds) { this.requestIds = requestIds; }
+
+    public boolean isAll() { return all; }
+    public void setAll(boolean all) { this.all = all; }
+}
@@ -0,0 +1,24 @@
+package com.team.socialnetwork.dto;
+
+import java.util.List;
+
+public class FeedDeltaResponse {
+    private List<PostDetailResponse> items;
+    private String headCursor;
+    private boolean truncated;
+
+    public FeedDeltaResponse() {}
+
+    public FeedDeltaResponse(List<PostDetailResponse> items, String headCursor, boolean truncated) {
+        this.items = items;
+        this.headCursor = headCursor;
+        this.truncated = truncated;
+    }
+
+    public List<PostDetailResponse> getItems() { return items; }
+    public void setItems(List<PostDetailResponse> items) { this.items = items; }
+    public String getHeadCursor() { return headCursor; }
+    public void setHeadCursor(String headCursor) { this.headCursor = headCursor; }
+    public boolean isTruncated() { return truncated; }
+    public void setTruncated(boolean truncated) { this.truncated = truncated; }
+}
@@ -0,0 +1,24 @@
+package com.team.socialnetwork.dto;
+
+import java.util.List;
+
+public class FeedPageResponse {
+    private List<PostDetailResponse> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public FeedPageResponse() {}
+
+    public FeedPageResponse(List<PostDetailResponse> items, String nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<PostDetailResponse> getItems() { return items; }
+    public void setItems(List<PostDetailResponse> items) { this.items = items; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
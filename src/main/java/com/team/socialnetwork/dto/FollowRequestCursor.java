@@ -0,0 +1,46 @@
+package com.team.socialnetwork.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in the follow-request inbox: the {@code (createdAt, requestId)} of the last
+ * request returned, newest first. Clients only see the URL-safe Base64 token and hand it back unchanged.
+ */
+public final class FollowRequestCursor {
+
+    private final Instant createdAt;
+    private final Long requestId;
+
+    public FollowRequestCursor(Instant createdAt, Long requestId) {
+        this.createdAt = createdAt;
+        this.requestId = requestId;
+    }
+
+    public static FollowRequestCursor of(FollowRequestResponse request) {
+        return new FollowRequestCursor(request.getCreatedAt(), request.getId());
+    }
+
+    // Throws IllegalArgumentException for anything that was not produced by encode()
+    public static FollowRequestCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            if (sep < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new FollowRequestCursor(Instant.parse(raw.substring(0, sep)), Long.valueOf(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt.toString() + "|" + requestId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public Long getRequestId() { return requestId; }
+}
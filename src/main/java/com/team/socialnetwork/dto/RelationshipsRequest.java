@@ -0,0 +1,21 @@
+package com.team.socialnetwork.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+public class RelationshipsRequest {
+    @NotEmpty(message = "userIds is required")
+    @Size(max = 500, message = "At most 500 userIds per request")
+    private List<Long> userIds;
+
+    public RelationshipsRequest() {}
+
+    public RelationshipsRequest(List<Long> userIds) {
+        this.userIds = userIds;
+    }
+
+    public List<Long> getUserIds() { return userIds; }
+    public void setUserIds(List<Long> userIds) { this.userIds = userIds; }
+}
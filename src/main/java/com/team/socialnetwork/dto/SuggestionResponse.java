@@ -0,0 +1,26 @@
+package com.team.socialnetwork.dto;
+
+import java.time.Instant;
+
+public class SuggestionResponse {
+    private SafeUser user;
+    private int mutualCount;
+
+    public SuggestionResponse() {}
+
+    public SuggestionResponse(SafeUser user, int mutualCount) {
+        this.user = user;
+        this.mutualCount = mutualCount;
+    }
+
+    // Flat constructor for JPQL projection
+    public SuggestionResponse(Long id, String name, String username, String email, Instant createdAt,
+                              String profilePicture, int mutualCount) {
+        this(new SafeUser(id, name, username, email, createdAt, profilePicture), mutualCount);
+    }
+
+    public SafeUser getUser() { return user; }
+    public void setUser(SafeUser user) { this.user = user; }
+    public int getMutualCount() { return mutualCount; }
+    public void setMutualCount(int mutualCount) { this.mutualCount = mutualCount; }
+}
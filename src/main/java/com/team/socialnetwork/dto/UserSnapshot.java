@@ -0,0 +1,21 @@
+package com.team.socialnetwork.dto;
+
+// Slim view of the authenticated user; projected without profile_picture or any association
+public final class UserSnapshot {
+    private final Long id;
+    private final String email;
+    private final String username;
+    private final boolean isPrivate;
+
+    public UserSnapshot(Long id, String email, String username, boolean isPrivate) {
+        this.id = id;
+        this.email = email;
+        this.username = username;
+        this.isPrivate = isPrivate;
+    }
+
+    public Long getId() { return id; }
+    public String getEmail() { return email; }
+    public String getUsername() { return username; }
+    public boolean isPrivate() { return isPrivate; }
+}
@@ -8,6 +8,9 @@ import java.time.Instant;
 @Entity
 @Table(name = "follow_requests", uniqueConstraints = {
         @UniqueConstraint(name = "uk_follow_requests_pair", columnNames = {"follower_id", "target_id"})
+}, indexes = {
+        // Inbox keyset scan: a target's pending requests newest first
+        @Index(name = "idx_follow_requests_target_created", columnList = "target_id, created_at")
 })
 public class FollowRequest {
     @Id
@@ -0,0 +1,54 @@
+package com.team.socialnetwork.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Precomputed "people you may know" row: {@code candidateId} is followed by {@code mutualCount}
+ * of the users {@code userId} follows. Written in bulk by the suggestion job, read by
+ * {@code GET /users/me/suggestions}.
+ */
+@Entity
+@Table(name = "follow_suggestions", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_suggestion_user_candidate", columnNames = {"user_id", "candidate_id"})
+}, indexes = {
+        @Index(name = "idx_suggestion_user_mutual", columnList = "user_id, mutual_count")
+})
+public class FollowSuggestion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "candidate_id", nullable = false)
+    private Long candidateId;
+
+    @Column(name = "mutual_count", nullable = false)
+    private int mutualCount;
+
+    @Column(name = "computed_at", nullable = false)
+    private Instant computedAt;
+
+    public FollowSuggestion() {}
+
+    public FollowSuggestion(Long userId, Long candidateId, int mutualCount, Instant computedAt) {
+        this.userId = userId;
+        this.candidateId = candidateId;
+        this.mutualCount = mutualCount;
+        this.computedAt = computedAt;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public Long getCandidateId() { return candidateId; }
+    public void setCandidateId(Long candidateId) { this.candidateId = candidateId; }
+    public int getMutualCount() { return mutualCount; }
+    public void setMutualCount(int mutualCount) { this.mutualCount = mutualCount; }
+    public Instant getComputedAt() { return computedAt; }
+    public void setComputedAt(Instant computedAt) { this.computedAt = computedAt; }
+}
@@ -1,6 +1,7 @@
 package com.team.socialnetwork.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -28,6 +29,16 @@ public class Post {
     @JoinColumn(name = "author_id", nullable = false, foreignKey = @ForeignKey(name = "fk_post_author"))
     private User author;
 
+    // Denormalized counters, only changed through atomic UPDATEs in PostRepository. Never written through
+    // the entity (updatable = false), so saving a loaded Post cannot overwrite them with a stale value
+    @ColumnDefault("0")
+    @Column(name = "like_count", nullable = false, updatable = false)
+    private long likeCount = 0;
+
+    @ColumnDefault("0")
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    private long commentCount = 0;
+
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Comment> comments = new ArrayList<>();
 
@@ -52,6 +63,13 @@ public class Post {
     public void setImage(String image) { this.image = image; }
     public User getAuthor() { return author; }
     public void setAuthor(User author) { this.author = author; }
+    public long getLikeCount() { return likeCount; }
+    // Read side only: the columns are updatable = false, so saving a loaded Post never persists this.
+    // Counters change through PostRepository / LikeCountBuffer.
+    public void setLikeCount(long likeCount) { this.likeCount = likeCount; }
+    public long getCommentCount() { return commentCount; }
+    // Read side only, as setLikeCount
+    public void setCommentCount(long commentCount) { this.commentCount = commentCount; }
     public List<Comment> getComments() { return comments; }
     public void setComments(List<Comment> comments) { this.comments = comments; }
     public List<PostLike> getLikes() { return likes; }
@@ -0,0 +1,50 @@
+package com.team.socialnetwork.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Materialized home timeline row: post {@code postId} is visible in the feed of {@code userId}.
+ * Rows are written by fan-out when a post is created, so reading a feed page is a single
+ * range scan over {@code (user_id, created_at, post_id)}.
+ */
+@Entity
+@Table(name = "timeline_entries", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_timeline_user_post", columnNames = {"user_id", "post_id"})
+}, indexes = {
+        @Index(name = "idx_timeline_user_created", columnList = "user_id, created_at, post_id"),
+        @Index(name = "idx_timeline_post", columnList = "post_id")
+})
+public class TimelineEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    // Copy of the post's created_at so the timeline can be ordered without touching posts
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public TimelineEntry() {}
+
+    public TimelineEntry(Long userId, Long postId, Instant createdAt) {
+        this.userId = userId;
+        this.postId = postId;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public Long getPostId() { return postId; }
+    public void setPostId(Long postId) { this.postId = postId; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
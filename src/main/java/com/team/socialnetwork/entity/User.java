@@ -14,6 +14,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -26,6 +27,8 @@ import jakarta.persistence.UniqueConstraint;
         @UniqueConstraint(name = "uk_users_email", columnNames = {"email"}),
         // Keep unique constraint on column "name" (now maps to username) for smooth migration
         @UniqueConstraint(name = "uk_users_name", columnNames = {"name"})
+}, indexes = {
+        @Index(name = "idx_users_followers_count", columnList = "followers_count")
 })
 public class User {
 
@@ -55,9 +58,23 @@ public class User {
     @Column(name = "is_private", nullable = false, columnDefinition = "boolean not null default false")
     private boolean isPrivate = false;
 
+    // Set on password change/reset; access tokens issued before it no longer authenticate. Whole
+    // seconds, matching the JWT iat claim, so a token issued right after the change stays valid.
+    @Column(name = "tokens_valid_after")
+    private Instant tokensValidAfter;
+
     @Column(name = "profile_picture", columnDefinition = "TEXT")
     private String profilePicture; // Base64 or URL/path
 
+    // Denormalized sizes of followers/following. Never written through the entity (updatable = false):
+    // UserRepository.adjustFollowCounts changes them atomically. Null until reconciled for rows that
+    // predate the columns; readers then fall back to COUNT on user_following.
+    @Column(name = "followers_count", updatable = false)
+    private Long followersCount = 0L;
+
+    @Column(name = "following_count", updatable = false)
+    private Long followingCount = 0L;
+
     @OneToMany(mappedBy = "author", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Post> posts = new ArrayList<>();
 
@@ -72,7 +89,9 @@ public class User {
     @JoinTable(
             name = "user_following",
             joinColumns = @JoinColumn(name = "follower_id"),
-            inverseJoinColumns = @JoinColumn(name = "followed_id")
+            inverseJoinColumns = @JoinColumn(name = "followed_id"),
+            // The primary key leads with follower_id; this serves "followers of X" scans
+            indexes = @Index(name = "idx_user_following_followed", columnList = "followed_id, follower_id")
     )
     private Set<User> following = new HashSet<>();
 
@@ -104,8 +123,14 @@ public class User {
     public void setEmailConfirmed(boolean emailConfirmed) { this.emailConfirmed = emailConfirmed; }
     public boolean isPrivate() { return isPrivate; }
     public void setPrivate(boolean aPrivate) { isPrivate = aPrivate; }
+    public Instant getTokensValidAfter() { return tokensValidAfter; }
+    public void setTokensValidAfter(Instant tokensValidAfter) { this.tokensValidAfter = tokensValidAfter; }
     public String getProfilePicture() { return profilePicture; }
     public void setProfilePicture(String profilePicture) { this.profilePicture = profilePicture; }
+    public Long getFollowersCount() { return followersCount; }
+    public void setFollowersCount(Long followersCount) { this.followersCount = followersCount; }
+    public Long getFollowingCount() { return followingCount; }
+    public void setFollowingCount(Long followingCount) { this.followingCount = followingCount; }
     public List<Post> getPosts() { return posts; }
     public void setPosts(List<Post> posts) { this.posts = posts; }
     public List<Comment> getComments() { return comments; }
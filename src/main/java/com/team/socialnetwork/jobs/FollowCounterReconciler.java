@@ -0,0 +1,31 @@
+package com.team.socialnetwork.jobs;
+
+import com.team.socialnetwork.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FollowCounterReconciler {
+    private static final Logger log = LoggerFactory.getLogger(FollowCounterReconciler.class);
+
+    private final UserRepository userRepository;
+
+    public FollowCounterReconciler(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    // Fills followers_count/following_count for rows created before the columns existed and repairs
+    // drift from user_following; shares the counters.reconcile.* schedule with post counters
+    @Scheduled(fixedDelayString = "${counters.reconcile.fixedDelay:3600000}",
+               initialDelayString = "${counters.reconcile.initialDelay:60000}")
+    public void reconcile() {
+        int followers = userRepository.reconcileFollowersCounts();
+        int following = userRepository.reconcileFollowingCounts();
+        if (followers > 0 || following > 0) {
+            log.info("Reconciled follow counters: {} followers_count and {} following_count values repaired",
+                    followers, following);
+        }
+    }
+}
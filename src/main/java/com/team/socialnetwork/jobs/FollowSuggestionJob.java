@@ -0,0 +1,49 @@
+package com.team.socialnetwork.jobs;
+
+import com.team.socialnetwork.repository.FollowSuggestionRepository;
+import com.team.socialnetwork.service.graph.FollowGraph;
+import com.team.socialnetwork.service.graph.FollowSuggestionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FollowSuggestionJob {
+    private static final Logger log = LoggerFactory.getLogger(FollowSuggestionJob.class);
+
+    private final FollowSuggestionService followSuggestionService;
+    private final FollowSuggestionRepository followSuggestionRepository;
+    private final FollowGraph followGraph;
+    private volatile boolean seeded;
+
+    public FollowSuggestionJob(FollowSuggestionService followSuggestionService,
+                               FollowSuggestionRepository followSuggestionRepository,
+                               FollowGraph followGraph) {
+        this.followSuggestionService = followSuggestionService;
+        this.followSuggestionRepository = followSuggestionRepository;
+        this.followGraph = followGraph;
+    }
+
+    // Refreshes users touched by follow changes since the last run; the first run after the follow graph
+    // is loaded seeds an empty suggestions table with a full pass
+    @Scheduled(fixedDelayString = "${suggestions.refreshMs:60000}",
+               initialDelayString = "${suggestions.refreshMs:60000}")
+    public void refresh() {
+        if (!followGraph.isReady()) {
+            return;
+        }
+        if (!seeded) {
+            seeded = true;
+            if (followSuggestionRepository.count() == 0) {
+                int users = followSuggestionService.recomputeAll();
+                log.info("Seeded follow suggestions for {} users", users);
+                return;
+            }
+        }
+        int refreshed = followSuggestionService.refreshDirty();
+        if (refreshed > 0) {
+            log.debug("Refreshed follow suggestions for {} users", refreshed);
+        }
+    }
+}
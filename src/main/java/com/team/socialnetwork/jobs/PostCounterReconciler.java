@@ -0,0 +1,34 @@
+package com.team.socialnetwork.jobs;
+
+import com.team.socialnetwork.repository.PostRepository;
+import com.team.socialnetwork.service.counter.LikeCountBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PostCounterReconciler {
+    private static final Logger log = LoggerFactory.getLogger(PostCounterReconciler.class);
+
+    private final PostRepository postRepository;
+    private final LikeCountBuffer likeCountBuffer;
+
+    public PostCounterReconciler(PostRepository postRepository, LikeCountBuffer likeCountBuffer) {
+        this.postRepository = postRepository;
+        this.likeCountBuffer = likeCountBuffer;
+    }
+
+    // Recomputes like_count/comment_count where they drifted from post_likes/comments;
+    // interval configurable via counters.reconcile.fixedDelay
+    @Scheduled(fixedDelayString = "${counters.reconcile.fixedDelay:3600000}",
+               initialDelayString = "${counters.reconcile.initialDelay:60000}")
+    public void reconcile() {
+        // like_count goes through the buffer so likes buffered during the recount are not counted twice
+        int likes = likeCountBuffer.repair(postRepository::findLikeCountDrift);
+        int comments = postRepository.reconcileCommentCounts();
+        if (likes > 0 || comments > 0) {
+            log.info("Reconciled counters: {} like_count and {} comment_count values repaired", likes, comments);
+        }
+    }
+}
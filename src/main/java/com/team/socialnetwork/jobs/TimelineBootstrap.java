@@ -0,0 +1,31 @@
+package com.team.socialnetwork.jobs;
+
+import com.team.socialnetwork.repository.TimelineEntryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TimelineBootstrap {
+    private static final Logger log = LoggerFactory.getLogger(TimelineBootstrap.class);
+
+    private final TimelineEntryRepository timelineEntryRepository;
+
+    public TimelineBootstrap(TimelineEntryRepository timelineEntryRepository) {
+        this.timelineEntryRepository = timelineEntryRepository;
+    }
+
+    // Seeds timelines once, the first time the app starts with an empty timeline_entries table
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedTimelinesIfEmpty() {
+        if (timelineEntryRepository.count() > 0) {
+            return;
+        }
+        int seeded = timelineEntryRepository.seedFromFollowGraph();
+        if (seeded > 0) {
+            log.info("Seeded {} timeline entries from existing follows", seeded);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.team.socialnetwork.repository;
+
+import com.team.socialnetwork.dto.PostDetailResponse;
+import com.team.socialnetwork.dto.SafeUser;
+import com.team.socialnetwork.repository.projection.PostRankRef;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Read side of the home feed: one SQL statement returns fully hydrated feed rows
+ * (post, author, denormalized like/comment counts and whether the viewer liked it).
+ * Candidate posts are the viewer's timeline rows plus the given pulled post ids
+ * (high-follower authors), ordered newest first by {@code (created_at, id)}.
+ * Ranked feeds score a narrow {@link PostRankRef} per candidate and hydrate only the chosen page.
+ */
+@Repository
+public class FeedReadRepository {
+
+    private static final String SELECT_HYDRATED =
+            "select p.id, p.created_at, p.description, p.image, " +
+            "u.id as author_id, u.full_name as author_full_name, u.name as author_username, " +
+            "u.email as author_email, u.created_at as author_created_at, u.profile_picture as author_picture, " +
+            "p.like_count, p.comment_count, " +
+            "case when exists (select 1 from post_likes vl where vl.post_id = p.id and vl.user_id = :viewerId) " +
+            "then 1 else 0 end as viewer_liked ";
+
+    private static final String SELECT_RANK =
+            "select p.id, p.created_at, p.author_id, p.like_count, p.comment_count ";
+
+    private static final String JOIN_AUTHOR = "join users u on u.id = p.author_id ";
+
+    private static final String OLDER_THAN_CURSOR =
+            " and (t.created_at < :cursorCreatedAt or (t.created_at = :cursorCreatedAt and t.post_id < :cursorPostId))";
+
+    private static final String NEWER_THAN_CURSOR =
+            " and (t.created_at > :cursorCreatedAt or (t.created_at = :cursorCreatedAt and t.post_id > :cursorPostId))";
+
+    private static final RowMapper<PostDetailResponse> ROW_MAPPER = (rs, rowNum) -> new PostDetailResponse(
+            rs.getLong("id"),
+            toInstant(rs.getTimestamp("created_at")),
+            rs.getString("description"),
+            rs.getString("image"),
+            new SafeUser(
+                    rs.getLong("author_id"),
+                    rs.getString("author_full_name"),
+                    rs.getString("author_username"),
+                    rs.getString("author_email"),
+                    toInstant(rs.getTimestamp("author_created_at")),
+                    rs.getString("author_picture")
+            ),
+            rs.getLong("like_count"),
+            rs.getLong("comment_count"),
+            rs.getInt("viewer_liked") == 1
+    );
+
+    private static final RowMapper<PostRankRef> RANK_ROW_MAPPER = (rs, rowNum) -> new PostRankRef(
+            rs.getLong("id"),
+            toInstant(rs.getTimestamp("created_at")),
+            rs.getLong("author_id"),
+            rs.getLong("like_count"),
+            rs.getLong("comment_count")
+    );
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public FeedReadRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Feed rows newest first. {@code cursorCreatedAt}/{@code cursorPostId} (both null for the first page)
+     * restrict timeline rows to those strictly older than the cursor; pulled ids must already be filtered.
+     */
+    public List<PostDetailResponse> findFeedPage(Long viewerId, Instant cursorCreatedAt, Long cursorPostId,
+                                                 Collection<Long> pulledPostIds, int offset, int limit) {
+        return query(SELECT_HYDRATED, JOIN_AUTHOR, ROW_MAPPER, viewerId,
+                cursorCreatedAt == null ? null : OLDER_THAN_CURSOR, cursorCreatedAt, cursorPostId,
+                pulledPostIds, offset, limit);
+    }
+
+    // Newest `limit` feed candidates with only the ranking columns, newest first
+    public List<PostRankRef> findRankCandidates(Long viewerId, Collection<Long> pulledPostIds, int limit) {
+        return query(SELECT_RANK, "", RANK_ROW_MAPPER, viewerId, null, null, null, pulledPostIds, 0, limit);
+    }
+
+    // Hydrated rows for the given post ids, in no particular order; deleted posts are missing
+    public List<PostDetailResponse> findFeedRows(Long viewerId, Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("viewerId", viewerId)
+                .addValue("postIds", postIds);
+        return jdbc.query(SELECT_HYDRATED + "from posts p " + JOIN_AUTHOR + "where p.id in (:postIds)",
+                params, ROW_MAPPER);
+    }
+
+    /**
+     * Feed rows strictly newer than the cursor, newest first; pulled ids must already be filtered.
+     * Same index range scan as a page, in the other direction.
+     */
+    public List<PostDetailResponse> findFeedSince(Long viewerId, Instant cursorCreatedAt, Long cursorPostId,
+                                                  Collection<Long> pulledPostIds, int limit) {
+        return query(SELECT_HYDRATED, JOIN_AUTHOR, ROW_MAPPER, viewerId, NEWER_THAN_CURSOR, cursorCreatedAt,
+                cursorPostId, pulledPostIds, 0, limit);
+    }
+
+    private <T> List<T> query(String select, String join, RowMapper<T> rowMapper, Long viewerId, String keyset,
+                              Instant cursorCreatedAt, Long cursorPostId,
+                              Collection<Long> pulledPostIds, int offset, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("viewerId", viewerId)
+                .addValue("candidates", offset + limit)
+                .addValue("offset", offset)
+                .addValue("limit", limit);
+
+        StringBuilder candidates = new StringBuilder(
+                "(select t.post_id, t.created_at from timeline_entries t where t.user_id = :viewerId");
+        if (keyset != null) {
+            candidates.append(keyset);
+            params.addValue("cursorCreatedAt", Timestamp.from(cursorCreatedAt))
+                  .addValue("cursorPostId", cursorPostId);
+        }
+        candidates.append(" order by t.created_at desc, t.post_id desc limit :candidates)");
+        if (pulledPostIds != null && !pulledPostIds.isEmpty()) {
+            candidates.append(" union (select pp.id, pp.created_at from posts pp where pp.id in (:pulledPostIds))");
+            params.addValue("pulledPostIds", pulledPostIds);
+        }
+
+        String sql = select +
+                "from (" + candidates + ") f " +
+                "join posts p on p.id = f.post_id " +
+                join +
+                "order by p.created_at desc, p.id desc " +
+                "limit :limit offset :offset";
+        return jdbc.query(sql, params, rowMapper);
+    }
+
+    private static Instant toInstant(Timestamp ts) {
+        return ts == null ? null : ts.toInstant();
+    }
+}
@@ -0,0 +1,73 @@
+package com.team.socialnetwork.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Follow edge inserts that report which rows they actually created. On PostgreSQL they use
+ * {@code ON CONFLICT DO NOTHING} (with {@code RETURNING} for the batch), which also skips an edge a
+ * concurrent transaction is still inserting: it waits for that one instead of failing on the primary
+ * key and aborting the caller's transaction. H2 has neither clause and gets a {@code NOT EXISTS}
+ * insert ({@code FINAL TABLE} for the batch) instead.
+ */
+@Repository
+public class FollowEdgeBatchRepository {
+
+    private static final String SELECT_REQUESTS =
+            "select fr.follower_id, fr.target_id from follow_requests fr where fr.target_id = ? and fr.follower_id in (%s)";
+
+    private final JdbcTemplate jdbc;
+    private volatile Boolean postgres;
+
+    public FollowEdgeBatchRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    // One edge; true only when this call created it
+    @Transactional
+    public boolean insert(Long followerId, Long followedId) {
+        if (isPostgres()) {
+            return jdbc.update("insert into user_following (follower_id, followed_id) values (?, ?)"
+                    + " on conflict (follower_id, followed_id) do nothing", followerId, followedId) == 1;
+        }
+        return jdbc.update("insert into user_following (follower_id, followed_id) select ?, ?"
+                + " where not exists (select 1 from user_following where follower_id = ? and followed_id = ?)",
+                followerId, followedId, followerId, followedId) == 1;
+    }
+
+    // Turns the requests of the given followers into follow edges; returns the followers whose edge was created
+    @Transactional
+    public List<Long> insertFromRequests(Long targetId, Collection<Long> followerIds) {
+        if (followerIds.isEmpty()) {
+            return List.of();
+        }
+        String select = String.format(SELECT_REQUESTS, followerIds.stream().map(id -> "?").collect(Collectors.joining(", ")));
+        String sql = isPostgres()
+                ? "insert into user_following (follower_id, followed_id) " + select
+                  + " on conflict (follower_id, followed_id) do nothing returning follower_id"
+                : "select follower_id from final table (insert into user_following (follower_id, followed_id) " + select
+                  + " and not exists (select 1 from user_following uf"
+                  + " where uf.follower_id = fr.follower_id and uf.followed_id = fr.target_id))";
+        List<Object> args = new ArrayList<>(followerIds.size() + 1);
+        args.add(targetId);
+        args.addAll(followerIds);
+        return jdbc.queryForList(sql, Long.class, args.toArray());
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            String product = jdbc.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            result = "PostgreSQL".equals(product);
+            postgres = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,37 @@
+package com.team.socialnetwork.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+
+/**
+ * Streams the raw {@code user_following} edge list without materializing entities or a result list.
+ * Call inside a read-only transaction so the driver can use a server-side cursor (PostgreSQL only
+ * honours the fetch size with autocommit off).
+ */
+@Repository
+public class FollowEdgeRepository {
+
+    @FunctionalInterface
+    public interface EdgeHandler {
+        void edge(long followerId, long followedId);
+    }
+
+    private static final String ALL_EDGES = "select follower_id, followed_id from user_following";
+
+    private final JdbcTemplate jdbc;
+
+    public FollowEdgeRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public void forEachEdge(int fetchSize, EdgeHandler handler) {
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(ALL_EDGES);
+            ps.setFetchSize(fetchSize);
+            return ps;
+        }, (RowCallbackHandler) rs -> handler.edge(rs.getLong(1), rs.getLong(2)));
+    }
+}
@@ -0,0 +1,35 @@
+package com.team.socialnetwork.repository;
+
+import com.team.socialnetwork.entity.User;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Single-row reads and deletes on the {@code user_following} join table (inserts live in
+ * {@link FollowEdgeBatchRepository}). Unfollowing never initializes {@code User.following}/{@code User.followers},
+ * so each call costs one indexed statement no matter how many accounts either side already follows.
+ */
+public interface FollowRepository extends Repository<User, Long> {
+
+    @Query(value = "select count(*) from user_following where follower_id = :followerId and followed_id = :followedId",
+           nativeQuery = true)
+    long countEdge(@Param("followerId") Long followerId, @Param("followedId") Long followedId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = "delete from user_following where follower_id = :followerId and followed_id = :followedId",
+           nativeQuery = true)
+    int deleteEdge(@Param("followerId") Long followerId, @Param("followedId") Long followedId);
+
+    default boolean exists(Long followerId, Long followedId) {
+        return countEdge(followerId, followedId) > 0;
+    }
+
+    // True only when this call removed the edge
+    default boolean unfollow(Long followerId, Long followedId) {
+        return deleteEdge(followerId, followedId) == 1;
+    }
+}
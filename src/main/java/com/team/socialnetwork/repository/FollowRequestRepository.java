@@ -1,8 +1,16 @@
 package com.team.socialnetwork.repository;
 
+import com.team.socialnetwork.dto.FollowRequestResponse;
 import com.team.socialnetwork.entity.FollowRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,5 +18,37 @@ public interface FollowRequestRepository extends JpaRepository<FollowRequest, Lo
     boolean existsByFollowerIdAndTargetId(Long followerId, Long targetId);
     Optional<FollowRequest> findByFollowerIdAndTargetId(Long followerId, Long targetId);
     List<FollowRequest> findByTargetId(Long targetId);
-}
 
+    @Query("select fr.target.id from FollowRequest fr where fr.follower.id = :followerId and fr.target.id in :targetIds")
+    List<Long> findTargetIdsAmong(@Param("followerId") Long followerId, @Param("targetIds") Collection<Long> targetIds);
+
+    // Inbox pages newest first, projected straight into the DTO (no User entities, no profile pictures);
+    // keyset on (createdAt, id) served by idx_follow_requests_target_created
+    @Query("select new com.team.socialnetwork.dto.FollowRequestResponse(fr.id, f.id, f.username, f.fullName, fr.createdAt) " +
+           "from FollowRequest fr join fr.follower f where fr.target.id = :targetId " +
+           "order by fr.createdAt desc, fr.id desc")
+    List<FollowRequestResponse> findInboxPage(@Param("targetId") Long targetId, Pageable pageable);
+
+    @Query("select new com.team.socialnetwork.dto.FollowRequestResponse(fr.id, f.id, f.username, f.fullName, fr.createdAt) " +
+           "from FollowRequest fr join fr.follower f where fr.target.id = :targetId " +
+           "and (fr.createdAt < :cursorCreatedAt or (fr.createdAt = :cursorCreatedAt and fr.id < :cursorId)) " +
+           "order by fr.createdAt desc, fr.id desc")
+    List<FollowRequestResponse> findInboxPageAfter(@Param("targetId") Long targetId,
+                                                   @Param("cursorCreatedAt") Instant cursorCreatedAt,
+                                                   @Param("cursorId") Long cursorId,
+                                                   Pageable pageable);
+
+    // Bulk accept/reject: requesters of the pending requests addressed to the target
+    @Query("select fr.follower.id from FollowRequest fr where fr.target.id = :targetId")
+    List<Long> findFollowerIdsByTargetId(@Param("targetId") Long targetId);
+
+    @Query("select fr.follower.id from FollowRequest fr where fr.target.id = :targetId and fr.id in :requestIds")
+    List<Long> findFollowerIdsByTargetIdAndIdIn(@Param("targetId") Long targetId,
+                                                @Param("requestIds") Collection<Long> requestIds);
+
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("delete from FollowRequest fr where fr.target.id = :targetId and fr.follower.id in :followerIds")
+    int deleteByTargetAndFollowerIn(@Param("targetId") Long targetId,
+                                    @Param("followerIds") Collection<Long> followerIds);
+}
@@ -0,0 +1,52 @@
+package com.team.socialnetwork.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk writes for {@code follow_suggestions}: a partition of users has its rows replaced in one
+ * transaction (one delete, one JDBC insert batch).
+ */
+@Repository
+public class FollowSuggestionBatchRepository {
+
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate namedJdbc;
+
+    public FollowSuggestionBatchRepository(JdbcTemplate jdbc, NamedParameterJdbcTemplate namedJdbc) {
+        this.jdbc = jdbc;
+        this.namedJdbc = namedJdbc;
+    }
+
+    // candidatesByUser: user id -> {candidate ids, mutual counts}, best first
+    @Transactional
+    public void replace(Map<Long, long[][]> candidatesByUser, Instant computedAt) {
+        if (candidatesByUser.isEmpty()) {
+            return;
+        }
+        Collection<Long> userIds = candidatesByUser.keySet();
+        namedJdbc.update("delete from follow_suggestions where user_id in (:userIds)",
+                new MapSqlParameterSource("userIds", userIds));
+        Timestamp at = Timestamp.from(computedAt);
+        List<Object[]> args = new ArrayList<>();
+        candidatesByUser.forEach((userId, rows) -> {
+            for (int i = 0; i < rows[0].length; i++) {
+                args.add(new Object[]{userId, rows[0][i], (int) rows[1][i], at});
+            }
+        });
+        if (!args.isEmpty()) {
+            jdbc.batchUpdate("insert into follow_suggestions (user_id, candidate_id, mutual_count, computed_at) " +
+                             "values (?, ?, ?, ?)", args);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.team.socialnetwork.repository;
+
+import com.team.socialnetwork.dto.SuggestionResponse;
+import com.team.socialnetwork.entity.FollowSuggestion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface FollowSuggestionRepository extends JpaRepository<FollowSuggestion, Long> {
+
+    // Best candidates first; skips anyone followed since the suggestions were computed
+    @Query("select new com.team.socialnetwork.dto.SuggestionResponse(u.id, u.fullName, u.username, u.email, " +
+           "u.createdAt, u.profilePicture, s.mutualCount) " +
+           "from FollowSuggestion s join User u on u.id = s.candidateId " +
+           "where s.userId = :userId " +
+           "and s.candidateId not in (select f.id from User me join me.following f where me.id = :userId) " +
+           "order by s.mutualCount desc, s.candidateId")
+    List<SuggestionResponse> findTopForUser(@Param("userId") Long userId, Pageable limit);
+
+    @Transactional
+    @Modifying
+    @Query("delete from FollowSuggestion s where s.userId = :userId or s.candidateId = :userId")
+    int deleteByUser(@Param("userId") Long userId);
+}
@@ -0,0 +1,107 @@
+package com.team.socialnetwork.repository;
+
+import com.team.socialnetwork.service.export.GraphTable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Raw row access for the admin export/import. Reads stream through a forward-only cursor with a
+ * fetch size (call inside a read-only transaction, PostgreSQL only honours the fetch size with
+ * autocommit off); writes are JDBC batches of plain inserts.
+ */
+@Repository
+public class GraphDataRepository {
+
+    @FunctionalInterface
+    public interface RowHandler {
+        void row(Object[] values);
+    }
+
+    private final JdbcTemplate jdbc;
+
+    public GraphDataRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    // Values per column: Long, String, Boolean or java.sql.Timestamp (null for SQL NULL)
+    public void forEachRow(GraphTable table, int fetchSize, RowHandler handler) {
+        String columns = columnList(table);
+        String order = table.getIdentityColumn() != null ? table.getIdentityColumn() : columns;
+        String sql = "select " + columns + " from " + table.getTableName() + " order by " + order;
+        List<GraphTable.Column> spec = table.getColumns();
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            return ps;
+        }, (RowCallbackHandler) rs -> handler.row(read(rs, spec)));
+    }
+
+    public int insertBatch(GraphTable table, List<Object[]> rows) {
+        List<GraphTable.Column> spec = table.getColumns();
+        String placeholders = spec.stream().map(c -> "?").collect(Collectors.joining(", "));
+        String sql = "insert into " + table.getTableName() + " (" + columnList(table) + ") values (" + placeholders + ")";
+        int[] types = new int[spec.size()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = sqlType(spec.get(i).getType());
+        }
+        return jdbc.batchUpdate(sql, rows, types).length;
+    }
+
+    // Moves the id generator past imported ids so new rows do not collide with them
+    public void resetIdentity(GraphTable table) {
+        String idColumn = table.getIdentityColumn();
+        if (idColumn == null) {
+            return;
+        }
+        Long max = jdbc.queryForObject("select coalesce(max(" + idColumn + "), 0) from " + table.getTableName(), Long.class);
+        String product = jdbc.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+        if ("PostgreSQL".equals(product)) {
+            jdbc.queryForObject("select setval(pg_get_serial_sequence(?, ?), ?, ?)", Long.class,
+                    table.getTableName(), idColumn, Math.max(max, 1L), max > 0);
+        } else if ("H2".equals(product)) {
+            jdbc.execute("alter table " + table.getTableName() + " alter column " + idColumn + " restart with " + (max + 1));
+        }
+    }
+
+    private static String columnList(GraphTable table) {
+        return table.getColumns().stream().map(GraphTable.Column::getName).collect(Collectors.joining(", "));
+    }
+
+    private static Object[] read(ResultSet rs, List<GraphTable.Column> spec) throws SQLException {
+        Object[] values = new Object[spec.size()];
+        for (int i = 0; i < values.length; i++) {
+            int index = i + 1;
+            switch (spec.get(i).getType()) {
+                case LONG -> {
+                    long value = rs.getLong(index);
+                    values[i] = rs.wasNull() ? null : value;
+                }
+                case BOOLEAN -> {
+                    boolean value = rs.getBoolean(index);
+                    values[i] = rs.wasNull() ? null : value;
+                }
+                case TIMESTAMP -> values[i] = rs.getTimestamp(index);
+                case TEXT -> values[i] = rs.getString(index);
+            }
+        }
+        return values;
+    }
+
+    private static int sqlType(GraphTable.ColumnType type) {
+        return switch (type) {
+            case LONG -> Types.BIGINT;
+            case BOOLEAN -> Types.BOOLEAN;
+            case TIMESTAMP -> Types.TIMESTAMP;
+            case TEXT -> Types.VARCHAR;
+        };
+    }
+}
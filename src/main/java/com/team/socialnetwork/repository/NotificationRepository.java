@@ -1,5 +1,7 @@
 package com.team.socialnetwork.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
@@ -61,4 +63,20 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 
     void deleteByRecipientIdAndActorIdAndType(
             Long recipientId, Long actorId, Notification.NotificationType type);
-}
\ No newline at end of file
+
+    /**
+     * Destinatarios que ya tienen una notificación de este actor y tipo (deduplicación en lote)
+     */
+    @Query("SELECT n.recipient.id FROM Notification n WHERE n.actor.id = :actorId AND n.type = :type " +
+           "AND n.recipient.id IN :recipientIds")
+    List<Long> findRecipientIdsWithNotification(@Param("actorId") Long actorId,
+                                                @Param("type") Notification.NotificationType type,
+                                                @Param("recipientIds") Collection<Long> recipientIds);
+
+    /**
+     * Contar notificaciones no leídas de varios usuarios en una sola consulta: filas [recipientId, count]
+     */
+    @Query("SELECT n.recipient.id, COUNT(n) FROM Notification n WHERE n.recipient.id IN :recipientIds " +
+           "AND n.isRead = false GROUP BY n.recipient.id")
+    List<Object[]> countUnreadByRecipientIds(@Param("recipientIds") Collection<Long> recipientIds);
+}
@@ -0,0 +1,49 @@
+package com.team.socialnetwork.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batched counter writes: one JDBC batch applies many per-post deltas with
+ * {@code like_count = like_count + ?}, so each row is locked once per flush instead of once per like.
+ */
+@Repository
+public class PostCounterBatchRepository {
+
+    private final JdbcTemplate jdbc;
+
+    public PostCounterBatchRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Transactional
+    public void addLikeDeltas(Map<Long, Long> deltasByPostId) {
+        if (deltasByPostId.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(deltasByPostId.size());
+        // Sorted ids: concurrent flushers always lock rows in the same order
+        deltasByPostId.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> args.add(new Object[]{e.getValue(), e.getKey()}));
+        jdbc.batchUpdate("update posts set like_count = like_count + ? where id = ?", args);
+    }
+
+    // Absolute like_count values from a recount (counter repair)
+    @Transactional
+    public void setLikeCounts(Map<Long, Long> countsByPostId) {
+        if (countsByPostId.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(countsByPostId.size());
+        countsByPostId.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> args.add(new Object[]{e.getValue(), e.getKey()}));
+        jdbc.batchUpdate("update posts set like_count = ? where id = ?", args);
+    }
+}
@@ -1,9 +1,15 @@
 package com.team.socialnetwork.repository;
 
 import com.team.socialnetwork.entity.Post;
+import com.team.socialnetwork.repository.projection.PostIdCountProjection;
+import com.team.socialnetwork.repository.projection.PostRef;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
 import java.util.List;
@@ -11,4 +17,28 @@ import java.util.List;
 public interface PostRepository extends JpaRepository<Post, Long> {
     List<Post> findByAuthorId(Long authorId);
     Page<Post> findByAuthorIdIn(Collection<Long> authorIds, Pageable pageable);
+
+    @Query("select new com.team.socialnetwork.repository.projection.PostRef(p.id, p.createdAt) " +
+           "from Post p where p.author.id = :authorId order by p.createdAt desc, p.id desc")
+    List<PostRef> findRecentRefsByAuthorId(@Param("authorId") Long authorId, Pageable pageable);
+
+    // Atomic counter update: the database applies the delta, no read-modify-write race
+    // (like_count is written in batches by LikeCountBuffer)
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update Post p set p.commentCount = p.commentCount + :delta where p.id = :postId")
+    int addToCommentCount(@Param("postId") Long postId, @Param("delta") long delta);
+
+    // Posts whose like_count differs from post_likes, with the recounted value (repaired through LikeCountBuffer)
+    @Query(value = "select p.id as postId, (select count(*) from post_likes pl where pl.post_id = p.id) as cnt from posts p " +
+                   "where p.like_count <> (select count(*) from post_likes pl where pl.post_id = p.id)",
+           nativeQuery = true)
+    List<PostIdCountProjection> findLikeCountDrift();
+
+    @Transactional
+    @Modifying
+    @Query(value = "update posts set comment_count = (select count(*) from comments c where c.post_id = posts.id) " +
+                   "where comment_count <> (select count(*) from comments c where c.post_id = posts.id)",
+           nativeQuery = true)
+    int reconcileCommentCounts();
 }
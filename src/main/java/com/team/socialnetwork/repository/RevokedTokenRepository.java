@@ -0,0 +1,27 @@
+package com.team.socialnetwork.repository;
+
+import com.team.socialnetwork.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    // Tokens that are still revoked and not yet expired on their own
+    @Query("select r.tokenId from RevokedToken r where r.expiresAt > :now")
+    List<String> findActiveTokenIds(@Param("now") Instant now);
+
+    // Revocations made since the last refresh, possibly by another instance (idx_revoked_tokens_revoked_at)
+    @Query("select r.tokenId from RevokedToken r where r.revokedAt >= :since and r.expiresAt > :now")
+    List<String> findTokenIdsRevokedSince(@Param("since") Instant since, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedToken r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,89 @@
+package com.team.socialnetwork.repository;
+
+import com.team.socialnetwork.entity.TimelineEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TimelineEntryRepository extends JpaRepository<TimelineEntry, Long> {
+
+    // Fan-out on write: one row per current follower of the author, in a single statement
+    @Transactional
+    @Modifying
+    @Query(value = "insert into timeline_entries (user_id, post_id, created_at) " +
+                   "select uf.follower_id, :postId, :createdAt from user_following uf where uf.followed_id = :authorId",
+           nativeQuery = true)
+    int fanOut(@Param("postId") Long postId, @Param("authorId") Long authorId, @Param("createdAt") Instant createdAt);
+
+    // New follow: copy the author's most recent posts into the follower's timeline
+    @Transactional
+    @Modifying
+    @Query(value = "insert into timeline_entries (user_id, post_id, created_at) " +
+                   "select :followerId, p.id, p.created_at from posts p where p.author_id = :authorId " +
+                   "and not exists (select 1 from timeline_entries t where t.user_id = :followerId and t.post_id = p.id) " +
+                   "order by p.created_at desc limit :limit",
+           nativeQuery = true)
+    int backfill(@Param("followerId") Long followerId, @Param("authorId") Long authorId, @Param("limit") int limit);
+
+    // Author leaving the pull set: copy their most recent posts (made while they were pulled) into every follower's timeline
+    @Transactional
+    @Modifying
+    @Query(value = "insert into timeline_entries (user_id, post_id, created_at) " +
+                   "select uf.follower_id, p.id, p.created_at from user_following uf " +
+                   "cross join (select id, created_at from posts where author_id = :authorId order by created_at desc limit :limit) p " +
+                   "where uf.followed_id = :authorId " +
+                   "and not exists (select 1 from timeline_entries t where t.user_id = uf.follower_id and t.post_id = p.id)",
+           nativeQuery = true)
+    int fanOutRecent(@Param("authorId") Long authorId, @Param("limit") int limit);
+
+    // Bulk import: backfill on every edge at once, the most recent :limit posts per (follower, author).
+    // Authors above :threshold are pulled at read time and skipped; a null followers_count counts as pushed
+    @Transactional
+    @Modifying
+    @Query(value = "insert into timeline_entries (user_id, post_id, created_at) " +
+                   "select r.follower_id, r.post_id, r.created_at from (" +
+                   "select uf.follower_id, p.id as post_id, p.created_at, " +
+                   "row_number() over (partition by uf.follower_id, uf.followed_id order by p.created_at desc) as rn " +
+                   "from user_following uf join users u on u.id = uf.followed_id join posts p on p.author_id = uf.followed_id " +
+                   "where u.followers_count is null or u.followers_count <= :threshold) r " +
+                   "where r.rn <= :limit " +
+                   "and not exists (select 1 from timeline_entries t where t.user_id = r.follower_id and t.post_id = r.post_id)",
+           nativeQuery = true)
+    int backfillAll(@Param("threshold") long threshold, @Param("limit") int limit);
+
+    // Unfollow: drop the author's posts from the follower's timeline
+    @Transactional
+    @Modifying
+    @Query(value = "delete from timeline_entries where user_id = :followerId " +
+                   "and post_id in (select p.id from posts p where p.author_id = :authorId)",
+           nativeQuery = true)
+    int purge(@Param("followerId") Long followerId, @Param("authorId") Long authorId);
+
+    // Viewers whose timeline holds the post (idx_timeline_post)
+    @Query("select t.userId from TimelineEntry t where t.postId = :postId")
+    List<Long> findUserIdsByPostId(@Param("postId") Long postId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from TimelineEntry t where t.postId = :postId")
+    int deleteByPostId(@Param("postId") Long postId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from TimelineEntry t where t.userId = :userId " +
+           "or t.postId in (select p.id from Post p where p.author.id = :userId)")
+    int deleteByUser(@Param("userId") Long userId);
+
+    // One-off seed for timelines of follow edges that existed before the timeline store
+    @Transactional
+    @Modifying
+    @Query(value = "insert into timeline_entries (user_id, post_id, created_at) " +
+                   "select uf.follower_id, p.id, p.created_at from user_following uf join posts p on p.author_id = uf.followed_id",
+           nativeQuery = true)
+    int seedFromFollowGraph();
+}
@@ -1,10 +1,17 @@
 package com.team.socialnetwork.repository;
 
+import com.team.socialnetwork.dto.SafeUser;
+import com.team.socialnetwork.dto.UserSnapshot;
 import com.team.socialnetwork.entity.User;
+import com.team.socialnetwork.repository.projection.AccountStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,4 +28,113 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("select u from User u where lower(u.username) like lower(concat('%', :term, '%')) " +
            "or lower(coalesce(u.fullName, '')) like lower(concat('%', :term, '%'))")
     List<User> searchByTerm(@Param("term") String term);
+
+    @Query(value = "select count(*) from user_following uf where uf.followed_id = :userId", nativeQuery = true)
+    long countFollowers(@Param("userId") Long userId);
+
+    @Query(value = "select count(*) from user_following uf where uf.follower_id = :userId", nativeQuery = true)
+    long countFollowing(@Param("userId") Long userId);
+
+    // Privacy gate in one probe: public author, or an existing (viewer -> author) edge; null if no such author
+    @Query(value = "select (u.is_private = false or exists (select 1 from user_following uf " +
+                   "where uf.follower_id = :viewerId and uf.followed_id = u.id)) from users u where u.id = :authorId",
+           nativeQuery = true)
+    Boolean canViewAuthor(@Param("viewerId") Long viewerId, @Param("authorId") Long authorId);
+
+    // Moves both ends of one follow edge by delta (+1 follow, -1 unfollow) in a single row-level update;
+    // null (not yet reconciled) counters stay null
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = "update users set " +
+                   "following_count = case when id = :followerId then following_count + :delta else following_count end, " +
+                   "followers_count = case when id = :followedId then followers_count + :delta else followers_count end " +
+                   "where id in (:followerId, :followedId)",
+           nativeQuery = true)
+    int adjustFollowCounts(@Param("followerId") Long followerId, @Param("followedId") Long followedId,
+                           @Param("delta") long delta);
+
+    // Bulk follow-request accept: each new follower gains one following, the target gains them all
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = "update users set following_count = following_count + 1 where id in (:followerIds)",
+           nativeQuery = true)
+    int incrementFollowingCounts(@Param("followerIds") Collection<Long> followerIds);
+
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = "update users set followers_count = followers_count + :delta where id = :userId",
+           nativeQuery = true)
+    int adjustFollowersCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+    // Account removal: every user on the other end of the account's edges loses one
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = "update users set followers_count = followers_count - 1 " +
+                   "where id in (select uf.followed_id from user_following uf where uf.follower_id = :userId)",
+           nativeQuery = true)
+    int decrementFollowersOfFollowed(@Param("userId") Long userId);
+
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = "update users set following_count = following_count - 1 " +
+                   "where id in (select uf.follower_id from user_following uf where uf.followed_id = :userId)",
+           nativeQuery = true)
+    int decrementFollowingOfFollowers(@Param("userId") Long userId);
+
+    // Recompute followers_count/following_count where missing or drifted from user_following
+    @Transactional
+    @Modifying
+    @Query(value = "update users set followers_count = (select count(*) from user_following uf where uf.followed_id = users.id) " +
+                   "where followers_count is null " +
+                   "or followers_count <> (select count(*) from user_following uf where uf.followed_id = users.id)",
+           nativeQuery = true)
+    int reconcileFollowersCounts();
+
+    @Transactional
+    @Modifying
+    @Query(value = "update users set following_count = (select count(*) from user_following uf where uf.follower_id = users.id) " +
+                   "where following_count is null " +
+                   "or following_count <> (select count(*) from user_following uf where uf.follower_id = users.id)",
+           nativeQuery = true)
+    int reconcileFollowingCounts();
+
+    // Primary-key probe for stateless authentication; skips the wide profile columns
+    @Query("select new com.team.socialnetwork.repository.projection.AccountStatus(u.email, u.emailConfirmed, u.tokensValidAfter) " +
+           "from User u where u.id = :userId")
+    Optional<AccountStatus> findAccountStatus(@Param("userId") Long userId);
+
+    // Per-request identity of the caller for @CurrentUser handlers
+    @Query("select new com.team.socialnetwork.dto.UserSnapshot(u.id, u.email, u.username, u.isPrivate) " +
+           "from User u where u.id = :userId")
+    Optional<UserSnapshot> findSnapshotById(@Param("userId") Long userId);
+
+    @Query("select new com.team.socialnetwork.dto.UserSnapshot(u.id, u.email, u.username, u.isPrivate) " +
+           "from User u where u.email = :email")
+    Optional<UserSnapshot> findSnapshotByEmail(@Param("email") String email);
+
+    // Keyset pages of followers/following ordered by user id, projected straight into SafeUser;
+    // afterId = 0 starts from the beginning
+    @Query("select new com.team.socialnetwork.dto.SafeUser(u.id, u.fullName, u.username, u.email, u.createdAt, u.profilePicture) " +
+           "from User u join u.following f where f.id = :userId and u.id > :afterId order by u.id")
+    List<SafeUser> findFollowersPage(@Param("userId") Long userId, @Param("afterId") long afterId, Pageable limit);
+
+    @Query("select new com.team.socialnetwork.dto.SafeUser(f.id, f.fullName, f.username, f.email, f.createdAt, f.profilePicture) " +
+           "from User u join u.following f where u.id = :userId and f.id > :afterId order by f.id")
+    List<SafeUser> findFollowingPage(@Param("userId") Long userId, @Param("afterId") long afterId, Pageable limit);
+
+    @Query(value = "select uf.followed_id from user_following uf " +
+                   "where uf.follower_id = :followerId and uf.followed_id in (:candidateIds)", nativeQuery = true)
+    List<Long> findFollowedAmong(@Param("followerId") Long followerId, @Param("candidateIds") Collection<Long> candidateIds);
+
+    @Query(value = "select uf.follower_id from user_following uf " +
+                   "where uf.followed_id = :followedId and uf.follower_id in (:candidateIds)", nativeQuery = true)
+    List<Long> findFollowersAmong(@Param("followedId") Long followedId, @Param("candidateIds") Collection<Long> candidateIds);
+
+    // Denormalized followers_count (idx_users_followers_count); rows not yet reconciled are skipped until they are
+    @Query("select u.id from User u where u.followersCount > :threshold")
+    List<Long> findIdsWithFollowersAbove(@Param("threshold") long threshold);
+
+    // Denormalized followers_count; null for rows that predate the column and are not yet reconciled
+    @Query("select u.followersCount from User u where u.id = :userId")
+    Long findFollowersCount(@Param("userId") Long userId);
 }
@@ -0,0 +1,25 @@
+package com.team.socialnetwork.repository.projection;
+
+import java.time.Instant;
+
+// What stateless authentication needs to know about an account: current email, whether it may sign in
+// and the cutoff before which its tokens were issued under an old password
+public class AccountStatus {
+    private final String email;
+    private final boolean enabled;
+    private final Instant tokensValidAfter;
+
+    public AccountStatus(String email, boolean enabled) {
+        this(email, enabled, null);
+    }
+
+    public AccountStatus(String email, boolean enabled, Instant tokensValidAfter) {
+        this.email = email;
+        this.enabled = enabled;
+        this.tokensValidAfter = tokensValidAfter;
+    }
+
+    public String getEmail() { return email; }
+    public boolean isEnabled() { return enabled; }
+    public Instant getTokensValidAfter() { return tokensValidAfter; }
+}
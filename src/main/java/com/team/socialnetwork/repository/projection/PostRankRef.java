@@ -0,0 +1,21 @@
+package com.team.socialnetwork.repository.projection;
+
+import java.time.Instant;
+
+// PostRef plus the columns a feed ranker scores on; candidates are ranked on these before any post is hydrated
+public class PostRankRef extends PostRef {
+    private final Long authorId;
+    private final long likesCount;
+    private final long commentsCount;
+
+    public PostRankRef(Long postId, Instant createdAt, Long authorId, long likesCount, long commentsCount) {
+        super(postId, createdAt);
+        this.authorId = authorId;
+        this.likesCount = likesCount;
+        this.commentsCount = commentsCount;
+    }
+
+    public Long getAuthorId() { return authorId; }
+    public long getLikesCount() { return likesCount; }
+    public long getCommentsCount() { return commentsCount; }
+}
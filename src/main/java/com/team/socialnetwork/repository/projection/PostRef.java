@@ -0,0 +1,17 @@
+package com.team.socialnetwork.repository.projection;
+
+import java.time.Instant;
+
+// Lightweight (postId, createdAt) pointer used to merge feed sources before loading posts
+public class PostRef {
+    private final Long postId;
+    private final Instant createdAt;
+
+    public PostRef(Long postId, Instant createdAt) {
+        this.postId = postId;
+        this.createdAt = createdAt;
+    }
+
+    public Long getPostId() { return postId; }
+    public Instant getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,63 @@
+package com.team.socialnetwork.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.team.socialnetwork.repository.UserRepository;
+import com.team.socialnetwork.repository.projection.AccountStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Account check behind stateless authentication: a token is only honoured while its user still
+ * exists, is enabled and still owns the token's email. Answers come from a primary-key probe and are
+ * cached per user id for {@code auth.status.ttlSeconds}, so a deleted account stops authenticating
+ * at most that long after the fact; account deletion and password changes evict their entry right away.
+ * The status also carries the account's "tokens valid after" cutoff, so tokens issued before the last
+ * password change or reset stop authenticating.
+ */
+@Component
+public class AccountStatusCache {
+
+    // Caffeine does not store nulls; unknown ids are cached as this sentinel
+    private static final AccountStatus MISSING = new AccountStatus(null, false);
+
+    private final UserRepository userRepository;
+    private final Cache<Long, AccountStatus> cache;
+
+    public AccountStatusCache(UserRepository userRepository,
+                              @Value("${auth.status.maxEntries:100000}") long maxEntries,
+                              @Value("${auth.status.ttlSeconds:60}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public boolean isActive(Long userId, String email, Instant issuedAt) {
+        AccountStatus status = status(userId);
+        return status.isEnabled() && email != null && email.equals(status.getEmail()) && isCurrent(status, issuedAt);
+    }
+
+    // Cutoff check alone, for callers that verify the account some other way
+    public boolean isCurrent(Long userId, Instant issuedAt) {
+        return isCurrent(status(userId), issuedAt);
+    }
+
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    private AccountStatus status(Long userId) {
+        return cache.get(userId, id -> userRepository.findAccountStatus(id).orElse(MISSING));
+    }
+
+    // iat has whole-second precision and so has the cutoff; once a cutoff is set, tokens without iat are refused
+    private static boolean isCurrent(AccountStatus status, Instant issuedAt) {
+        Instant cutoff = status.getTokensValidAfter();
+        return cutoff == null || (issuedAt != null && !issuedAt.isBefore(cutoff));
+    }
+}
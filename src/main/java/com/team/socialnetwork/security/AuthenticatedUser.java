@@ -0,0 +1,29 @@
+package com.team.socialnetwork.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import java.io.Serializable;
+
+/**
+ * Principal built straight from verified token claims in stateless mode. {@link #getName()} is the
+ * email, so {@code authentication.getName()} keeps working for existing handlers.
+ */
+public final class AuthenticatedUser implements AuthenticatedPrincipal, Serializable {
+
+    private final Long userId;
+    private final String email;
+
+    public AuthenticatedUser(Long userId, String email) {
+        this.userId = userId;
+        this.email = email;
+    }
+
+    public Long getUserId() { return userId; }
+    public String getEmail() { return email; }
+
+    @Override
+    public String getName() { return email; }
+
+    @Override
+    public String toString() { return email; }
+}
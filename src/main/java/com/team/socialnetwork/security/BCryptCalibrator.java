@@ -0,0 +1,47 @@
+package com.team.socialnetwork.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Measures the BCrypt work factor for this machine: times one hash at {@code minStrength} and raises the
+ * strength while the projected cost (it doubles per step) stays within {@code targetMs}. Only advisory:
+ * the strength in use is always the configured one, so every instance hashes alike.
+ */
+public final class BCryptCalibrator {
+    private static final Logger log = LoggerFactory.getLogger(BCryptCalibrator.class);
+
+    private static final String SAMPLE = "calibration-sample-password";
+
+    private BCryptCalibrator() {
+    }
+
+    public static int calibrate(long targetMs, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+        encoder.encode(SAMPLE); // warm-up
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double costMs = best / 1_000_000.0;
+        int strength = minStrength;
+        while (strength < maxStrength && costMs * 2 <= targetMs) {
+            strength++;
+            costMs *= 2;
+        }
+        log.debug("BCrypt strength {} takes ~{} ms per hash (target {} ms)", strength, Math.round(costMs), targetMs);
+        return strength;
+    }
+
+    // Logs when the configured strength differs from what this machine can afford within targetMs
+    public static void recommend(int configured, long targetMs, int minStrength, int maxStrength) {
+        int calibrated = calibrate(targetMs, minStrength, maxStrength);
+        if (calibrated != configured) {
+            log.info("password.bcrypt.strength is {}; strength {} would take ~{} ms per hash on this machine",
+                    configured, calibrated, targetMs);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.team.socialnetwork.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injects the authenticated user into a handler method: declare a {@link com.team.socialnetwork.dto.UserSnapshot} parameter for
+ * id/username/privacy, or a {@link com.team.socialnetwork.entity.User} parameter when the handler needs
+ * the full entity. Resolved by {@link CurrentUserArgumentResolver}.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+}
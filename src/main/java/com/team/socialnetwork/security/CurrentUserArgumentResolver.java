@@ -0,0 +1,79 @@
+package com.team.socialnetwork.security;
+
+import com.team.socialnetwork.dto.UserSnapshot;
+import com.team.socialnetwork.entity.User;
+import com.team.socialnetwork.repository.UserRepository;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Resolves {@link CurrentUser} parameters. A {@link UserSnapshot} comes from a narrow projection (by id
+ * when the principal is an {@link AuthenticatedUser}, by email otherwise); a {@link User} parameter loads
+ * the full entity by id. Either is looked up at most once per request and kept as a request attribute.
+ */
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String SNAPSHOT_ATTRIBUTE = CurrentUserArgumentResolver.class.getName() + ".SNAPSHOT";
+    private static final String ENTITY_ATTRIBUTE = CurrentUserArgumentResolver.class.getName() + ".ENTITY";
+
+    private final UserRepository userRepository;
+
+    public CurrentUserArgumentResolver(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && (parameter.getParameterType() == UserSnapshot.class || parameter.getParameterType() == User.class);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing or invalid token");
+        }
+        if (parameter.getParameterType() == User.class) {
+            return entity(authentication, webRequest);
+        }
+        return snapshot(authentication, webRequest);
+    }
+
+    private UserSnapshot snapshot(Authentication authentication, NativeWebRequest webRequest) {
+        UserSnapshot cached = (UserSnapshot) webRequest.getAttribute(SNAPSHOT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cached != null) {
+            return cached;
+        }
+        UserSnapshot snapshot = (authentication.getPrincipal() instanceof AuthenticatedUser principal
+                ? userRepository.findSnapshotById(principal.getUserId())
+                : userRepository.findSnapshotByEmail(authentication.getName()))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        webRequest.setAttribute(SNAPSHOT_ATTRIBUTE, snapshot, RequestAttributes.SCOPE_REQUEST);
+        return snapshot;
+    }
+
+    private User entity(Authentication authentication, NativeWebRequest webRequest) {
+        User cached = (User) webRequest.getAttribute(ENTITY_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cached != null) {
+            return cached;
+        }
+        User user = (authentication.getPrincipal() instanceof AuthenticatedUser principal
+                ? userRepository.findById(principal.getUserId())
+                : userRepository.findByEmail(authentication.getName()))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        webRequest.setAttribute(ENTITY_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        return user;
+    }
+}
@@ -4,8 +4,11 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -15,16 +18,36 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
+/**
+ * Authenticates bearer tokens. With {@code auth.stateless=true} (default) access tokens carrying a
+ * {@code userId} claim become an {@link AuthenticatedUser} built from the verified claims, checked only
+ * against {@link AccountStatusCache}; other tokens, or {@code auth.stateless=false}, go through
+ * {@link UserDetailsService} as before. Tokens on the {@link TokenRevocationList}, and tokens issued
+ * before the account's last password change, are ignored; the verified token is kept as the authentication's credentials so it can be revoked later.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final List<GrantedAuthority> USER_AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final AccountStatusCache accountStatusCache;
+    private final TokenRevocationList tokenRevocationList;
+    private final boolean stateless;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtService jwtService,
+                                   UserDetailsService userDetailsService,
+                                   AccountStatusCache accountStatusCache,
+                                   TokenRevocationList tokenRevocationList,
+                                   @Value("${auth.stateless:true}") boolean stateless) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.accountStatusCache = accountStatusCache;
+        this.tokenRevocationList = tokenRevocationList;
+        this.stateless = stateless;
     }
 
     @Override
@@ -32,7 +55,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String token;
-        final String subject;
+        final VerifiedToken verified;
 
         if (!StringUtils.hasText(authHeader) || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -41,17 +64,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         token = authHeader.substring(7);
         try {
-            subject = jwtService.extractSubject(token);
+            // Signature and expiry checked once here; repeat tokens are served from the claims cache
+            verified = jwtService.verify(token);
         } catch (Exception ex) {
             filterChain.doFilter(request, response);
             return;
         }
+        // Bloom filter probe; only a positive reaches the exact set
+        if (tokenRevocationList.isRevoked(verified)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
 
+        String subject = verified.getSubject();
         if (subject != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(subject);
-            if (jwtService.isTokenValid(token, userDetails.getUsername())) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+            UsernamePasswordAuthenticationToken authToken = null;
+            if (stateless && verified.getUserId() != null) {
+                // No user lookup: the principal comes from the claims, the account check from the status cache
+                if (accountStatusCache.isActive(verified.getUserId(), subject, verified.getIssuedAt())) {
+                    authToken = new UsernamePasswordAuthenticationToken(
+                            new AuthenticatedUser(verified.getUserId(), subject), verified, USER_AUTHORITIES);
+                }
+            } else {
+                UserDetails userDetails = userDetailsService.loadUserByUsername(subject);
+                if (subject.equals(userDetails.getUsername())
+                        && (verified.getUserId() == null || accountStatusCache.isCurrent(verified.getUserId(), verified.getIssuedAt()))) {
+                    authToken = new UsernamePasswordAuthenticationToken(
+                            userDetails, verified, userDetails.getAuthorities());
+                }
+            }
+            if (authToken != null) {
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
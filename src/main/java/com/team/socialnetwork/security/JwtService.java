@@ -1,41 +1,92 @@
 package com.team.socialnetwork.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Base64;
 import java.util.Date;
 import java.util.Map;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies the HS512 tokens used for access, email confirmation and password reset.
+ * Verified claims are cached under the SHA-256 digest of the token until the token expires
+ * ({@code jwt.cache.maxEntries} bound), so a repeat token costs a hash and a map lookup instead of a
+ * signature check and JSON parse. Invalid tokens are never cached.
+ */
 @Service
 public class JwtService {
 
     private final Key signingKey;
+    private final JwtParser parser;
     private final int accessMinutes;
     private final int emailTokenMinutes;
     private final int passwordResetMinutes;
+    private final Cache<String, VerifiedToken> verifiedTokens;
 
+    public JwtService(String secret, int accessMinutes, int emailTokenMinutes, int passwordResetMinutes) {
+        this(secret, accessMinutes, emailTokenMinutes, passwordResetMinutes, 100_000);
+    }
+
+    @Autowired
     public JwtService(
             @Value("${jwt.secret}") String secret,
             @Value("${jwt.accessToken.expirationMinutes}") int accessMinutes,
             @Value("${jwt.emailToken.expirationMinutes:1440}") int emailTokenMinutes,
-            @Value("${jwt.passwordResetToken.expirationMinutes:60}") int passwordResetMinutes
+            @Value("${jwt.passwordResetToken.expirationMinutes:60}") int passwordResetMinutes,
+            @Value("${jwt.cache.maxEntries:100000}") long cacheMaxEntries
     ) {
         if (secret == null || secret.length() < 64) {
             throw new IllegalArgumentException("jwt.secret must be at least 64 characters long");
         }
         this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
         this.accessMinutes = accessMinutes;
         this.emailTokenMinutes = emailTokenMinutes;
         this.passwordResetMinutes = passwordResetMinutes;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxEntries)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        return remainingNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return remainingNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    // Entries live exactly as long as the token they stand for
+    private static long remainingNanos(VerifiedToken token) {
+        if (token.getExpiresAt() == null) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, Duration.between(Instant.now(), token.getExpiresAt()).toNanos());
     }
 
     public String generateAccessToken(String subject, Map<String, Object> claims) {
@@ -93,25 +144,54 @@ public class JwtService {
     }
 
     public boolean isTokenValid(String token, String subject) {
-        String tokenSubject = extractSubject(token);
-        return subject.equals(tokenSubject) && !isTokenExpired(token);
+        VerifiedToken verified = verify(token);
+        return subject.equals(verified.getSubject()) && !isExpired(verified);
     }
 
     public String extractSubject(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).getSubject();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(verify(token).getClaims());
     }
 
-    private boolean isTokenExpired(String token) {
-        Date expiration = extractClaim(token, Claims::getExpiration);
-        return expiration.before(new Date());
+    /**
+     * Checks signature and expiry once and returns subject, userId and expiry together.
+     * Throws {@link io.jsonwebtoken.JwtException} (or IllegalArgumentException for a blank token)
+     * when the token is not valid.
+     */
+    public VerifiedToken verify(String token) {
+        String key = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && !isExpired(cached)) {
+            return cached;
+        }
+        // Throws ExpiredJwtException past exp, so only live tokens reach the cache
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        Date issuedAt = claims.getIssuedAt();
+        Date expiration = claims.getExpiration();
+        VerifiedToken verified = new VerifiedToken(
+                key,
+                claims.getSubject(),
+                claims.get("userId", Long.class),
+                issuedAt != null ? issuedAt.toInstant() : null,
+                expiration != null ? expiration.toInstant() : null,
+                claims);
+        verifiedTokens.put(key, verified);
+        return verified;
+    }
+
+    private static boolean isExpired(VerifiedToken token) {
+        return token.getExpiresAt() != null && !token.getExpiresAt().isAfter(Instant.now());
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
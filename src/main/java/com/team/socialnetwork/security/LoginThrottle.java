@@ -0,0 +1,122 @@
+package com.team.socialnetwork.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets in front of /auth/login, checked before the login touches the database or BCrypt:
+ * one per client IP, one per (email, client IP) and one per email across all IPs. The (email, IP)
+ * bucket is small and refilled by a successful login, so guessing from elsewhere does not lock the
+ * owner out quickly. The per-account bucket is larger and never reset by a success, so guesses spread
+ * over many IPs are still capped; once it is empty the owner is locked out too, which is the trade-off
+ * {@code auth.login.accountCapacity} sets (0 turns it off).
+ * The client IP is the one resolved by the forwarded-headers support behind the trusted proxy.
+ * Each bucket is a single {@link AtomicLong} holding the time
+ * at which it is full again (GCRA), so a check is one CAS and no lock. Buckets live in size-bounded
+ * Caffeine caches and expire once they would be full anyway, so memory holds only recent callers.
+ * Publishes {@code auth.login.throttle} counters tagged by key (ip/email/account) and result.
+ */
+@Component
+public class LoginThrottle {
+
+    private final long origin = System.nanoTime();
+
+    private final Limiter byIp;
+    private final Limiter byEmailAndIp;
+    private final Limiter byAccount;
+
+    public LoginThrottle(@Value("${auth.login.ipCapacity:20}") int ipCapacity,
+                         @Value("${auth.login.ipPerMinute:60}") int ipPerMinute,
+                         @Value("${auth.login.emailCapacity:5}") int emailCapacity,
+                         @Value("${auth.login.emailPerMinute:5}") int emailPerMinute,
+                         @Value("${auth.login.accountCapacity:50}") int accountCapacity,
+                         @Value("${auth.login.accountPerMinute:10}") int accountPerMinute,
+                         @Value("${auth.login.maxKeys:100000}") long maxKeys,
+                         MeterRegistry meterRegistry) {
+        this.byIp = new Limiter("ip", ipCapacity, ipPerMinute, maxKeys, meterRegistry);
+        this.byEmailAndIp = new Limiter("email", emailCapacity, emailPerMinute, maxKeys, meterRegistry);
+        this.byAccount = accountCapacity > 0
+                ? new Limiter("account", accountCapacity, accountPerMinute, maxKeys, meterRegistry)
+                : null;
+    }
+
+    // Throws 429 when the client IP, this email from this IP or this email overall is out of attempts
+    public void checkLogin(String email, String clientIp) {
+        if (clientIp != null && !byIp.tryAcquire(clientIp)) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many login attempts, try again later");
+        }
+        if (email == null) {
+            return;
+        }
+        String account = normalize(email);
+        if (!byEmailAndIp.tryAcquire(account + "|" + clientIp)
+                || (byAccount != null && !byAccount.tryAcquire(account))) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many login attempts, try again later");
+        }
+    }
+
+    // A successful login gives the account its full allowance back from that IP only; the per-account
+    // bucket keeps counting, or an attacker could refill it by logging in to the account elsewhere
+    public void onSuccess(String email, String clientIp) {
+        if (email != null) {
+            byEmailAndIp.reset(normalize(email) + "|" + clientIp);
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private final class Limiter {
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final Cache<String, AtomicLong> buckets;
+        private final Counter allowed;
+        private final Counter rejected;
+
+        Limiter(String key, int capacity, int perMinute, long maxKeys, MeterRegistry meterRegistry) {
+            this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, perMinute);
+            this.burstNanos = intervalNanos * Math.max(1, capacity);
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(Duration.ofNanos(burstNanos))
+                    .build();
+            this.allowed = Counter.builder("auth.login.throttle").tag("key", key).tag("result", "allowed").register(meterRegistry);
+            this.rejected = Counter.builder("auth.login.throttle").tag("key", key).tag("result", "rejected").register(meterRegistry);
+            Gauge.builder("auth.login.throttle.keys", buckets, Cache::estimatedSize).tag("key", key).register(meterRegistry);
+        }
+
+        boolean tryAcquire(String key) {
+            AtomicLong fullAt = buckets.get(key, k -> new AtomicLong());
+            long now = System.nanoTime() - origin;
+            while (true) {
+                long current = fullAt.get();
+                long next = Math.max(current, now) + intervalNanos;
+                if (next - now > burstNanos) {
+                    rejected.increment();
+                    return false;
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    allowed.increment();
+                    return true;
+                }
+            }
+        }
+
+        void reset(String key) {
+            buckets.invalidate(key);
+        }
+    }
+}
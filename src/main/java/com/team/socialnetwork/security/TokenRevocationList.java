@@ -0,0 +1,163 @@
+package com.team.socialnetwork.security;
+
+import com.team.socialnetwork.entity.RevokedToken;
+import com.team.socialnetwork.repository.RevokedTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked access tokens. {@code revoked_tokens} is the source of truth; this instance mirrors the
+ * live rows as a {@link BloomFilter} backed by an exact set, so the check on every request is a few
+ * bit probes and almost never reaches the set, let alone the database. Revocations made by other
+ * instances are picked up every {@code auth.revocation.refreshMs}; expired rows are purged and the
+ * filter rebuilt every {@code auth.revocation.purgeMs}.
+ */
+@Component
+public class TokenRevocationList {
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedTokens;
+    private final Duration refreshOverlap;
+
+    // Swapped whole on rebuild; readers never lock
+    private volatile Snapshot snapshot;
+    private Instant lastRefresh = Instant.EPOCH;
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               @Value("${auth.revocation.expectedTokens:100000}") long expectedTokens,
+                               @Value("${auth.revocation.refreshMs:30000}") long refreshMs) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedTokens = expectedTokens;
+        // Re-read one extra period so a revocation committed during the last query is not missed
+        this.refreshOverlap = Duration.ofMillis(refreshMs);
+        this.snapshot = new Snapshot(expectedTokens);
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        Snapshot current = snapshot;
+        return current.bloom.mightContain(bloomKey(token.getTokenId())) && current.exact.contains(token.getTokenId());
+    }
+
+    public synchronized void revoke(VerifiedToken token) {
+        if (token.getExpiresAt() == null || snapshot.exact.contains(token.getTokenId())) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(token.getTokenId(), token.getExpiresAt(), Instant.now()));
+        add(token.getTokenId());
+    }
+
+    // Revokes the token that authenticated the current request; false when there is none
+    public boolean revokeCurrent() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getCredentials() instanceof VerifiedToken token) {
+            revoke(token);
+            return true;
+        }
+        return false;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        Instant now = Instant.now();
+        rebuild(revokedTokenRepository.findActiveTokenIds(now));
+        lastRefresh = now;
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revocation.refreshMs:30000}", initialDelayString = "${auth.revocation.refreshMs:30000}")
+    public synchronized void refresh() {
+        Instant now = Instant.now();
+        for (String tokenId : revokedTokenRepository.findTokenIdsRevokedSince(lastRefresh.minus(refreshOverlap), now)) {
+            if (!snapshot.exact.contains(tokenId)) {
+                add(tokenId);
+            }
+        }
+        lastRefresh = now;
+    }
+
+    // A Bloom filter cannot forget, so expired tokens are dropped by rebuilding it from the table
+    @Scheduled(fixedDelayString = "${auth.revocation.purgeMs:3600000}", initialDelayString = "${auth.revocation.purgeMs:3600000}")
+    public synchronized void purge() {
+        Instant now = Instant.now();
+        int deleted = revokedTokenRepository.deleteExpired(now);
+        rebuild(revokedTokenRepository.findActiveTokenIds(now));
+        if (deleted > 0) {
+            log.info("Purged {} expired token revocations", deleted);
+        }
+    }
+
+    private void add(String tokenId) {
+        Snapshot current = snapshot;
+        if (current.exact.size() >= current.capacity) {
+            // Past its sizing the filter's false-positive rate climbs; start over twice as large
+            Set<String> ids = current.exact;
+            current = new Snapshot(current.capacity * 2);
+            for (String id : ids) {
+                current.put(id);
+            }
+        }
+        current.put(tokenId);
+        snapshot = current;
+    }
+
+    private void rebuild(Collection<String> tokenIds) {
+        Snapshot rebuilt = new Snapshot(Math.max(expectedTokens, tokenIds.size() * 2L));
+        for (String tokenId : tokenIds) {
+            rebuilt.put(tokenId);
+        }
+        snapshot = rebuilt;
+    }
+
+    // Token ids are Base64 digests already; anything else is hashed first
+    private static byte[] bloomKey(String tokenId) {
+        try {
+            byte[] decoded = Base64.getDecoder().decode(tokenId);
+            if (decoded.length >= 16) {
+                return decoded;
+            }
+        } catch (IllegalArgumentException ignored) {
+            // not a digest
+        }
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(tokenId.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class Snapshot {
+        private final long capacity;
+        private final BloomFilter bloom;
+        private final Set<String> exact = ConcurrentHashMap.newKeySet();
+
+        Snapshot(long capacity) {
+            this.capacity = capacity;
+            this.bloom = new BloomFilter(capacity, FALSE_POSITIVE_RATE);
+        }
+
+        // Exact set first, so a reader that sees the bloom bit also finds the id
+        void put(String tokenId) {
+            exact.add(tokenId);
+            bloom.add(bloomKey(tokenId));
+        }
+    }
+}
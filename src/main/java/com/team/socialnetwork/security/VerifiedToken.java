@@ -0,0 +1,38 @@
+package com.team.socialnetwork.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+
+/**
+ * Result of {@link JwtService#verify(String)}: a token whose signature and expiry have been checked,
+ * with the fields callers need read out once. Instances are shared through the claims cache and
+ * must not be modified.
+ */
+public final class VerifiedToken {
+
+    private final String tokenId;
+    private final String subject;
+    private final Long userId;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+    private final Claims claims;
+
+    public VerifiedToken(String tokenId, String subject, Long userId, Instant issuedAt, Instant expiresAt, Claims claims) {
+        this.tokenId = tokenId;
+        this.subject = subject;
+        this.userId = userId;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+        this.claims = claims;
+    }
+
+    // Base64 SHA-256 of the compact token; the key for the claims cache and for revocation
+    public String getTokenId() { return tokenId; }
+    public String getSubject() { return subject; }
+    // Only access tokens carry a userId claim; null for email/password-reset tokens
+    public Long getUserId() { return userId; }
+    public Instant getIssuedAt() { return issuedAt; }
+    public Instant getExpiresAt() { return expiresAt; }
+    public Claims getClaims() { return claims; }
+}
@@ -5,13 +5,17 @@ import com.team.socialnetwork.dto.LoginRequest;
 import com.team.socialnetwork.dto.RegisterRequest;
 import com.team.socialnetwork.entity.User;
 import com.team.socialnetwork.repository.UserRepository;
+import com.team.socialnetwork.security.AccountStatusCache;
 import com.team.socialnetwork.security.JwtService;
+import com.team.socialnetwork.security.PasswordHasher;
+import com.team.socialnetwork.security.TokenRevocationList;
 import com.team.socialnetwork.service.mail.MailService;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -19,20 +23,26 @@ import java.util.Map;
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
 
     private final JwtService jwtService;
     private final MailService mailService;
+    private final TokenRevocationList tokenRevocationList;
+    private final AccountStatusCache accountStatusCache;
 
     public AuthService(UserRepository userRepository,
-                       PasswordEncoder passwordEncoder,
+                       PasswordHasher passwordHasher,
                        AuthenticationManager authenticationManager,
                        JwtService jwtService,
-                       MailService mailService) {
+                       MailService mailService,
+                       TokenRevocationList tokenRevocationList,
+                       AccountStatusCache accountStatusCache) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.jwtService = jwtService;
         this.mailService = mailService;
+        this.tokenRevocationList = tokenRevocationList;
+        this.accountStatusCache = accountStatusCache;
     }
 
     @Transactional
@@ -48,7 +58,7 @@ public class AuthService {
         user.setUsername(request.getUsername());
         user.setFullName(request.getFullName());
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHasher.encode(request.getPassword()));
         // Initial state: not verified
         user.setEmailConfirmed(false);
         userRepository.save(user);
@@ -73,7 +83,7 @@ public class AuthService {
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
                         org.springframework.http.HttpStatus.UNAUTHORIZED, "Invalid email or password"));
 
-        boolean passwordOk = passwordEncoder.matches(request.getPassword(), user.getPassword());
+        boolean passwordOk = passwordHasher.matches(request.getPassword(), user.getPassword());
         if (!passwordOk) {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.UNAUTHORIZED, "Invalid email or password");
@@ -85,6 +95,12 @@ public class AuthService {
                     org.springframework.http.HttpStatus.FORBIDDEN, "Email not confirmed");
         }
 
+        // Re-hash with the current work factor while the raw password is at hand
+        if (passwordHasher.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordHasher.encode(request.getPassword()));
+            userRepository.save(user);
+        }
+
         Map<String, Object> claims = new HashMap<>();
         // Expose display name: prefer fullName, fallback to username
         String displayName = user.getFullName() != null ? user.getFullName() : user.getUsername();
@@ -95,6 +111,15 @@ public class AuthService {
         return new TokenResponse(access);
     }
 
+    // Revokes the access token the request was authenticated with
+    public com.team.socialnetwork.dto.MessageResponse logout() {
+        if (!tokenRevocationList.revokeCurrent()) {
+            throw new org.springframework.web.server.ResponseStatusException(
+                    org.springframework.http.HttpStatus.UNAUTHORIZED, "Missing or invalid token");
+        }
+        return new com.team.socialnetwork.dto.MessageResponse("Logged out");
+    }
+
     @Transactional
     public com.team.socialnetwork.dto.MessageResponse confirmEmail(String token) {
         if (!jwtService.isEmailToken(token)) {
@@ -142,8 +167,11 @@ public class AuthService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
 
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHasher.encode(newPassword));
+        // Sessions opened with the old password end here
+        user.setTokensValidAfter(Instant.now().truncatedTo(ChronoUnit.SECONDS));
         userRepository.save(user);
+        accountStatusCache.evict(user.getId());
         return new com.team.socialnetwork.dto.MessageResponse("Password reset successfully");
     }
 }
@@ -0,0 +1,61 @@
+package com.team.socialnetwork.service;
+
+import com.team.socialnetwork.entity.FollowRequest;
+import com.team.socialnetwork.repository.FollowEdgeBatchRepository;
+import com.team.socialnetwork.repository.FollowRepository;
+import com.team.socialnetwork.repository.FollowRequestRepository;
+import com.team.socialnetwork.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Follow edge writes together with the denormalized {@code followers_count}/{@code following_count}:
+ * the {@code user_following} row and both counters change in one transaction, so a failure between
+ * them cannot leave the counts off until the reconciler runs. The in-memory graph, timelines and
+ * notifications are the caller's to update once these methods have returned (committed).
+ */
+@Service
+public class FollowService {
+
+    private final FollowEdgeBatchRepository followEdgeBatchRepository;
+    private final FollowRepository followRepository;
+    private final FollowRequestRepository followRequestRepository;
+    private final UserRepository userRepository;
+
+    public FollowService(FollowEdgeBatchRepository followEdgeBatchRepository,
+                         FollowRepository followRepository,
+                         FollowRequestRepository followRequestRepository,
+                         UserRepository userRepository) {
+        this.followEdgeBatchRepository = followEdgeBatchRepository;
+        this.followRepository = followRepository;
+        this.followRequestRepository = followRequestRepository;
+        this.userRepository = userRepository;
+    }
+
+    // True only when this call created the edge; a concurrent follow of the same pair inserts nothing
+    @Transactional
+    public boolean follow(Long followerId, Long followedId) {
+        if (!followEdgeBatchRepository.insert(followerId, followedId)) {
+            return false;
+        }
+        userRepository.adjustFollowCounts(followerId, followedId, 1);
+        return true;
+    }
+
+    // True only when this call removed the edge
+    @Transactional
+    public boolean unfollow(Long followerId, Long followedId) {
+        if (!followRepository.unfollow(followerId, followedId)) {
+            return false;
+        }
+        userRepository.adjustFollowCounts(followerId, followedId, -1);
+        return true;
+    }
+
+    // The request goes away with the edge it becomes; false when the requester already followed
+    @Transactional
+    public boolean acceptRequest(FollowRequest request) {
+        followRequestRepository.delete(request);
+        return follow(request.getFollower().getId(), request.getTarget().getId());
+    }
+}
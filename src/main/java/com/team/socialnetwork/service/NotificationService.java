@@ -1,12 +1,20 @@
 package com.team.socialnetwork.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.team.socialnetwork.dto.NotificationCountResponse;
@@ -78,6 +86,51 @@ public class NotificationService {
         sendUnreadCountUpdate(recipient.getId());
     }
 
+    /**
+     * Crear y enviar en lote la misma notificación de un actor a varios destinatarios:
+     * una consulta de duplicados, un saveAll, un conteo agrupado de no leídas y luego los envíos WebSocket.
+     * Se llama tras el commit del lote de seguimientos, por eso abre su propia transacción.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int createAndSendBulk(Collection<Long> recipientIds, User actor, Notification.NotificationType type) {
+        Set<Long> recipients = new LinkedHashSet<>(recipientIds);
+        // Evitar auto-notificaciones
+        recipients.remove(actor.getId());
+        if (recipients.isEmpty()) {
+            return 0;
+        }
+        recipients.removeAll(notificationRepository.findRecipientIdsWithNotification(actor.getId(), type, recipients));
+        if (recipients.isEmpty()) {
+            return 0;
+        }
+
+        List<Notification> notifications = new ArrayList<>(recipients.size());
+        for (Long recipientId : recipients) {
+            notifications.add(new Notification(userRepository.getReferenceById(recipientId), actor, type));
+        }
+        notificationRepository.saveAll(notifications);
+
+        Map<Long, Long> unreadCounts = new HashMap<>();
+        for (Object[] row : notificationRepository.countUnreadByRecipientIds(recipients)) {
+            unreadCounts.put((Long) row[0], (Long) row[1]);
+        }
+
+        for (Notification notification : notifications) {
+            Long recipientId = notification.getRecipient().getId();
+            String destination = "/topic/notifications/" + recipientId;
+            try {
+                messagingTemplate.convertAndSend(destination,
+                        new NotificationWebSocketMessage("NEW_NOTIFICATION", convertToResponse(notification), null));
+                messagingTemplate.convertAndSend(destination,
+                        new NotificationWebSocketMessage("UNREAD_COUNT_UPDATE", null, unreadCounts.getOrDefault(recipientId, 0L)));
+            } catch (Exception e) {
+                System.err.println("❌ Error enviando notificación WebSocket a " + destination + ": " + e.getMessage());
+            }
+        }
+        System.out.println("📡 Notificaciones en lote enviadas: " + notifications.size() + " (" + type + ")");
+        return notifications.size();
+    }
+
     /**
      * Eliminar notificación cuando se deshace una acción (unlike, unfollow)
      */
@@ -0,0 +1,89 @@
+package com.team.socialnetwork.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.team.socialnetwork.entity.User;
+import com.team.socialnetwork.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Privacy gate for content owned by an author: public authors are visible to everyone, private
+ * authors only to themselves and their followers. Answers come from a single probe on
+ * {@code users}/{@code user_following} primary keys and are cached per (viewer, author) for
+ * {@code visibility.cache.ttlSeconds}; follow and visibility changes drop the affected entries.
+ */
+@Service
+public class VisibilityService {
+
+    private static final class ViewKey {
+        final long viewerId;
+        final long authorId;
+
+        ViewKey(long viewerId, long authorId) {
+            this.viewerId = viewerId;
+            this.authorId = authorId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof ViewKey)) {
+                return false;
+            }
+            ViewKey other = (ViewKey) o;
+            return viewerId == other.viewerId && authorId == other.authorId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(viewerId, authorId);
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final Cache<ViewKey, Boolean> cache;
+
+    public VisibilityService(UserRepository userRepository,
+                             @Value("${visibility.cache.maxEntries:200000}") long maxEntries,
+                             @Value("${visibility.cache.ttlSeconds:30}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public boolean canView(Long viewerId, Long authorId) {
+        if (viewerId.equals(authorId)) {
+            return true;
+        }
+        return cache.get(new ViewKey(viewerId, authorId),
+                key -> Boolean.TRUE.equals(userRepository.canViewAuthor(key.viewerId, key.authorId)));
+    }
+
+    // The author is usually loaded already (post.getAuthor()); public authors then need no probe at all.
+    // Private authors always go through the probe: the in-memory FollowGraph is per instance and only
+    // reloads periodically, so an unfollow made on another instance would keep content visible.
+    public boolean canView(Long viewerId, User author) {
+        if (!author.isPrivate() || viewerId.equals(author.getId())) {
+            return true;
+        }
+        return canView(viewerId, author.getId());
+    }
+
+    public void onFollowChanged(Long followerId, Long authorId) {
+        cache.invalidate(new ViewKey(followerId, authorId));
+    }
+
+    public void onVisibilityChanged(Long authorId) {
+        cache.asMap().keySet().removeIf(key -> key.authorId == authorId);
+    }
+
+    // Follow edges were written in bulk (admin import), any cached answer may be stale
+    public void onFollowGraphImported() {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,135 @@
+package com.team.socialnetwork.service.counter;
+
+import com.team.socialnetwork.repository.PostCounterBatchRepository;
+import com.team.socialnetwork.repository.projection.PostIdCountProjection;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Write-behind buffer for {@code posts.like_count}. Likes and unlikes add to a per-post
+ * {@link LongAdder} (striped, so a viral post does not serialize its likers on one lock or row),
+ * and a scheduled flush writes the accumulated deltas in one batch.
+ * Readers add {@link #pending(Long)} to the persisted value.
+ * <p>
+ * Adders live in an epoch that a flush swaps out whole: writers register on the epoch they add to,
+ * and the flush waits for the old epoch's writers to finish before draining it, so no delta can land
+ * in a map that has already been read.
+ */
+@Service
+public class LikeCountBuffer {
+    private static final Logger log = LoggerFactory.getLogger(LikeCountBuffer.class);
+
+    private static final class Epoch {
+        private final ConcurrentHashMap<Long, LongAdder> deltas = new ConcurrentHashMap<>();
+        private final LongAdder writers = new LongAdder();
+    }
+
+    private final PostCounterBatchRepository postCounterBatchRepository;
+    private volatile Epoch current = new Epoch();
+    // Epoch taken out by a running flush; still counted by pending() until its deltas are written
+    private volatile Epoch draining;
+
+    public LikeCountBuffer(PostCounterBatchRepository postCounterBatchRepository) {
+        this.postCounterBatchRepository = postCounterBatchRepository;
+    }
+
+    public void add(Long postId, long delta) {
+        while (true) {
+            Epoch epoch = current;
+            epoch.writers.increment();
+            try {
+                // Re-check after registering: a flush that swapped in between waits for nobody on this epoch
+                if (epoch == current) {
+                    LongAdder adder = epoch.deltas.get(postId);
+                    if (adder == null) {
+                        adder = epoch.deltas.computeIfAbsent(postId, id -> new LongAdder());
+                    }
+                    adder.add(delta);
+                    return;
+                }
+            } finally {
+                epoch.writers.decrement();
+            }
+        }
+    }
+
+    // Likes recorded but not yet written to like_count
+    public long pending(Long postId) {
+        Epoch epoch = current;
+        long sum = sum(epoch, postId);
+        Epoch old = draining;
+        if (old != null && old != epoch) {
+            sum += sum(old, postId);
+        }
+        return sum;
+    }
+
+    private static long sum(Epoch epoch, Long postId) {
+        LongAdder adder = epoch.deltas.get(postId);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    // Interval configurable via counters.likes.flushMs
+    @Scheduled(fixedDelayString = "${counters.likes.flushMs:1000}")
+    public synchronized void flush() {
+        Epoch drained = current;
+        draining = drained;
+        current = new Epoch();
+        while (drained.writers.sum() != 0) {
+            Thread.onSpinWait();
+        }
+        Map<Long, Long> deltas = new HashMap<>();
+        drained.deltas.forEach((postId, adder) -> {
+            long delta = adder.sum();
+            if (delta != 0) {
+                deltas.put(postId, delta);
+            }
+        });
+        try {
+            if (!deltas.isEmpty()) {
+                postCounterBatchRepository.addLikeDeltas(deltas);
+            }
+        } catch (RuntimeException e) {
+            // Put the deltas back so the next flush retries them
+            deltas.forEach(this::add);
+            log.warn("Failed to flush like counters for {} posts: {}", deltas.size(), e.getMessage());
+        } finally {
+            draining = null;
+        }
+    }
+
+    /**
+     * Overwrites drifted like_count values with a recount without double-counting buffered likes.
+     * Runs under the flush lock right after a flush; posts with deltas buffered since then are skipped
+     * (their likes may or may not be in the recount) and repaired on a later run. Callers buffer a
+     * like before writing its post_likes row, so a row the recount sees always has its delta here.
+     */
+    public synchronized int repair(Supplier<List<PostIdCountProjection>> drift) {
+        flush();
+        List<PostIdCountProjection> rows = drift.get();
+        Epoch epoch = current;
+        Map<Long, Long> counts = new HashMap<>();
+        for (PostIdCountProjection row : rows) {
+            if (!epoch.deltas.containsKey(row.getPostId())) {
+                counts.put(row.getPostId(), row.getCnt());
+            }
+        }
+        postCounterBatchRepository.setLikeCounts(counts);
+        return counts.size();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,72 @@
+package com.team.socialnetwork.service.counter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory like/comment totals for recently shown posts. Seeded from the database when a feed
+ * page is assembled and kept current by like/comment events, so cached feed pages can show
+ * fresh counts without a query. Entries expire and are re-seeded on the next database read.
+ */
+@Component
+public class PostCounterCache {
+
+    private static final class Counts {
+        final AtomicLong likes;
+        final AtomicLong comments;
+
+        Counts(long likes, long comments) {
+            this.likes = new AtomicLong(likes);
+            this.comments = new AtomicLong(comments);
+        }
+    }
+
+    private final Cache<Long, Counts> cache;
+
+    public PostCounterCache(@Value("${counters.cache.maxPosts:100000}") long maxPosts,
+                            @Value("${counters.cache.ttlSeconds:600}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxPosts)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public void seed(Long postId, long likes, long comments) {
+        cache.put(postId, new Counts(likes, comments));
+    }
+
+    // Only posts that are already tracked are updated; others are seeded on their next read
+    public void addLikes(Long postId, long delta) {
+        Counts counts = cache.getIfPresent(postId);
+        if (counts != null) {
+            counts.likes.addAndGet(delta);
+        }
+    }
+
+    public void addComments(Long postId, long delta) {
+        Counts counts = cache.getIfPresent(postId);
+        if (counts != null) {
+            counts.comments.addAndGet(delta);
+        }
+    }
+
+    // Counters were rebuilt underneath (bulk import); every post is re-seeded on its next read
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    public long likes(Long postId, long fallback) {
+        Counts counts = cache.getIfPresent(postId);
+        return counts == null ? fallback : counts.likes.get();
+    }
+
+    public long comments(Long postId, long fallback) {
+        Counts counts = cache.getIfPresent(postId);
+        return counts == null ? fallback : counts.comments.get();
+    }
+}
@@ -0,0 +1,95 @@
+package com.team.socialnetwork.service.export;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 reader: quoted fields may contain commas, quotes ({@code ""}) and line breaks.
+ * An unquoted empty field reads as null, a quoted empty field ({@code ""}) as the empty string.
+ */
+final class CsvRecordReader {
+
+    private final Reader reader;
+    private int pushedBack = -2;
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    // Next record, or null at end of input
+    List<String> next() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (c == '"' && field.length() == 0 && !quoted) {
+                quoted = true;
+                readQuoted(field);
+                c = read();
+                continue;
+            }
+            if (c == ',' || c == '\n' || c == '\r' || c == -1) {
+                fields.add(quoted || field.length() > 0 ? field.toString() : null);
+                field.setLength(0);
+                quoted = false;
+                if (c == ',') {
+                    c = read();
+                    continue;
+                }
+                if (c == '\r') {
+                    int n = read();
+                    if (n != '\n') {
+                        pushedBack = n;
+                    }
+                }
+                return fields;
+            }
+            field.append((char) c);
+            c = read();
+        }
+    }
+
+    private void readQuoted(StringBuilder field) throws IOException {
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                throw new IllegalArgumentException("Unterminated quoted field");
+            }
+            if (c == '"') {
+                int n = read();
+                if (n != '"') {
+                    pushedBack = n;
+                    return;
+                }
+            }
+            field.append((char) c);
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    // Quotes a value when it would otherwise be ambiguous; null becomes an empty unquoted field
+    static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.isEmpty() || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
@@ -0,0 +1,27 @@
+package com.team.socialnetwork.service.export;
+
+import java.util.Locale;
+
+public enum DataFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    DataFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public static DataFormat fromName(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown format: " + name);
+        }
+    }
+
+    public String getContentType() { return contentType; }
+    public String getExtension() { return extension; }
+}
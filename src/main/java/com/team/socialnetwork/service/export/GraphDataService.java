@@ -0,0 +1,332 @@
+package com.team.socialnetwork.service.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.team.socialnetwork.repository.GraphDataRepository;
+import com.team.socialnetwork.repository.PostRepository;
+import com.team.socialnetwork.repository.UserRepository;
+import com.team.socialnetwork.service.VisibilityService;
+import com.team.socialnetwork.service.counter.LikeCountBuffer;
+import com.team.socialnetwork.service.counter.PostCounterCache;
+import com.team.socialnetwork.service.feed.FeedFanoutService;
+import com.team.socialnetwork.service.feed.FeedPageCache;
+import com.team.socialnetwork.service.graph.FollowGraph;
+import com.team.socialnetwork.service.graph.FollowSuggestionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Admin dump and restore of the social graph tables ({@link GraphTable}) as NDJSON or CSV.
+ * Export streams a database cursor straight into the response, one row at a time, so memory stays
+ * constant whatever the table size. Import parses the request body as a stream and writes JDBC batches
+ * of {@code admin.import.batchSize} rows, each committed on its own; a failure keeps the batches already
+ * written. Imported rows keep their ids and the id generators are moved past them afterwards; derived
+ * counters and the follow graph index are rebuilt for the tables that feed them, imported follows and
+ * posts are backfilled into home timelines, and the caches built on those tables are dropped.
+ */
+@Service
+public class GraphDataService {
+    private static final Logger log = LoggerFactory.getLogger(GraphDataService.class);
+
+    private final GraphDataRepository graphDataRepository;
+    private final UserRepository userRepository;
+    private final PostRepository postRepository;
+    private final FollowGraph followGraph;
+    private final LikeCountBuffer likeCountBuffer;
+    private final PostCounterCache postCounterCache;
+    private final FeedFanoutService feedFanoutService;
+    private final FeedPageCache feedPageCache;
+    private final VisibilityService visibilityService;
+    private final FollowSuggestionService followSuggestionService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTx;
+    private final TransactionTemplate writeTx;
+    private final int fetchSize;
+    private final int batchSize;
+
+    public GraphDataService(GraphDataRepository graphDataRepository,
+                            UserRepository userRepository,
+                            PostRepository postRepository,
+                            FollowGraph followGraph,
+                            LikeCountBuffer likeCountBuffer,
+                            PostCounterCache postCounterCache,
+                            FeedFanoutService feedFanoutService,
+                            FeedPageCache feedPageCache,
+                            VisibilityService visibilityService,
+                            FollowSuggestionService followSuggestionService,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${admin.export.fetchSize:5000}") int fetchSize,
+                            @Value("${admin.import.batchSize:5000}") int batchSize) {
+        this.graphDataRepository = graphDataRepository;
+        this.userRepository = userRepository;
+        this.postRepository = postRepository;
+        this.followGraph = followGraph;
+        this.likeCountBuffer = likeCountBuffer;
+        this.postCounterCache = postCounterCache;
+        this.feedFanoutService = feedFanoutService;
+        this.feedPageCache = feedPageCache;
+        this.visibilityService = visibilityService;
+        this.followSuggestionService = followSuggestionService;
+        this.objectMapper = objectMapper;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.writeTx = new TransactionTemplate(transactionManager);
+        this.fetchSize = fetchSize;
+        this.batchSize = batchSize;
+    }
+
+    public void export(GraphTable table, DataFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        List<GraphTable.Column> columns = table.getColumns();
+        try {
+            if (format == DataFormat.CSV) {
+                writeCsvHeader(writer, columns);
+                readOnlyTx.executeWithoutResult(status ->
+                        graphDataRepository.forEachRow(table, fetchSize, values -> writeCsvRow(writer, values)));
+            } else {
+                JsonGenerator json = objectMapper.getFactory().createGenerator(writer);
+                json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                json.setRootValueSeparator(new SerializedString("\n"));
+                readOnlyTx.executeWithoutResult(status ->
+                        graphDataRepository.forEachRow(table, fetchSize, values -> writeJsonRow(json, columns, values)));
+                json.writeRaw('\n');
+                json.flush();
+            }
+        } catch (UncheckedIOException e) {
+            // Client went away mid-stream
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    // Returns the number of rows inserted
+    public long importRows(GraphTable table, DataFormat format, InputStream in) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        RowSource source = format == DataFormat.CSV ? csvSource(table, reader) : ndjsonSource(table, reader);
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        // Followers whose suggestions go stale with the imported edges
+        Set<Long> followerIds = new HashSet<>();
+        long imported = 0;
+        Object[] row;
+        while ((row = source.next()) != null) {
+            batch.add(row);
+            if (table == GraphTable.USER_FOLLOWING && row[0] != null) {
+                followerIds.add((Long) row[0]);
+            }
+            if (batch.size() == batchSize) {
+                imported += writeBatch(table, batch);
+            }
+        }
+        if (!batch.isEmpty()) {
+            imported += writeBatch(table, batch);
+        }
+        graphDataRepository.resetIdentity(table);
+        if (imported > 0) {
+            rebuildDerived(table, followerIds);
+        }
+        log.info("Imported {} rows into {}", imported, table.getTableName());
+        return imported;
+    }
+
+    // Imported rows bypass the follow/like paths that keep counters and the graph index current
+    private void rebuildDerived(GraphTable table, Set<Long> followerIds) {
+        switch (table) {
+            case USERS -> {
+                userRepository.reconcileFollowersCounts();
+                userRepository.reconcileFollowingCounts();
+            }
+            case USER_FOLLOWING -> {
+                userRepository.reconcileFollowersCounts();
+                userRepository.reconcileFollowingCounts();
+                followGraph.reload();
+                visibilityService.onFollowGraphImported();
+                followSuggestionService.onFollowersChanged(followerIds);
+                feedFanoutService.onGraphImported();
+            }
+            case POST_LIKES -> {
+                // Through the buffer, so deltas still pending for these posts are not added on top of the recount
+                likeCountBuffer.repair(postRepository::findLikeCountDrift);
+                postCounterCache.clear();
+                feedPageCache.invalidateAll();
+            }
+            case POSTS -> feedFanoutService.onGraphImported();
+        }
+    }
+
+    private int writeBatch(GraphTable table, List<Object[]> batch) {
+        Integer written = writeTx.execute(status -> graphDataRepository.insertBatch(table, batch));
+        batch.clear();
+        return written == null ? 0 : written;
+    }
+
+    @FunctionalInterface
+    private interface RowSource {
+        Object[] next() throws IOException;
+    }
+
+    private RowSource ndjsonSource(GraphTable table, Reader reader) throws IOException {
+        MappingIterator<JsonNode> nodes = objectMapper.readerFor(JsonNode.class).readValues(reader);
+        List<GraphTable.Column> columns = table.getColumns();
+        long[] record = {0};
+        return () -> {
+            if (!nodes.hasNextValue()) {
+                return null;
+            }
+            JsonNode node = nodes.nextValue();
+            record[0]++;
+            Object[] values = new Object[columns.size()];
+            for (int i = 0; i < values.length; i++) {
+                JsonNode value = node.get(columns.get(i).getName());
+                values[i] = value == null || value.isNull() ? null : convert(columns.get(i), value.asText(), record[0]);
+            }
+            return values;
+        };
+    }
+
+    private RowSource csvSource(GraphTable table, Reader reader) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return () -> null;
+        }
+        List<GraphTable.Column> columns = table.getColumns();
+        // Position of each table column in the file; the header may list them in any order
+        int[] positions = new int[columns.size()];
+        Map<String, Integer> byName = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            byName.put(header.get(i), i);
+        }
+        for (int i = 0; i < positions.length; i++) {
+            Integer position = byName.get(columns.get(i).getName());
+            if (position == null) {
+                throw new IllegalArgumentException("Missing column: " + columns.get(i).getName());
+            }
+            positions[i] = position;
+        }
+        long[] record = {0};
+        return () -> {
+            List<String> fields;
+            do {
+                fields = csv.next();
+                record[0]++;
+            } while (fields != null && fields.size() == 1 && fields.get(0) == null);
+            if (fields == null) {
+                return null;
+            }
+            Object[] values = new Object[columns.size()];
+            for (int i = 0; i < values.length; i++) {
+                String text = positions[i] < fields.size() ? fields.get(positions[i]) : null;
+                values[i] = text == null ? null : convert(columns.get(i), text, record[0]);
+            }
+            return values;
+        };
+    }
+
+    private static Object convert(GraphTable.Column column, String text, long record) {
+        try {
+            return switch (column.getType()) {
+                case LONG -> Long.valueOf(text);
+                case BOOLEAN -> parseBoolean(text);
+                case TIMESTAMP -> Timestamp.from(Instant.parse(text));
+                case TEXT -> text;
+            };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid " + column.getName() + " in record " + record + ": " + text);
+        }
+    }
+
+    private static Boolean parseBoolean(String text) {
+        if ("true".equalsIgnoreCase(text)) {
+            return Boolean.TRUE;
+        }
+        if ("false".equalsIgnoreCase(text)) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException(text);
+    }
+
+    private static void writeCsvHeader(Writer writer, List<GraphTable.Column> columns) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(columns.get(i).getName());
+        }
+        writer.write('\n');
+    }
+
+    private static void writeCsvRow(Writer writer, Object[] values) {
+        try {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(CsvRecordReader.escape(format(values[i])));
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeJsonRow(JsonGenerator json, List<GraphTable.Column> columns, Object[] values) {
+        try {
+            json.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                String name = columns.get(i).getName();
+                Object value = values[i];
+                if (value == null) {
+                    json.writeNullField(name);
+                } else if (value instanceof Long l) {
+                    json.writeNumberField(name, l);
+                } else if (value instanceof Boolean b) {
+                    json.writeBooleanField(name, b);
+                } else {
+                    json.writeStringField(name, format(value));
+                }
+            }
+            json.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Timestamps as ISO-8601 instants so they round-trip through import
+    private static String format(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Timestamp ts) {
+            return ts.toInstant().toString();
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,79 @@
+package com.team.socialnetwork.service.export;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Tables covered by the admin export/import and the columns carried for each. Derived columns
+ * (follower/following counts, post like/comment counts) are left out; the reconcilers rebuild them
+ * after an import. Profile pictures are not part of the dump.
+ */
+public enum GraphTable {
+    USERS("users", "id",
+            Column.of("id", ColumnType.LONG),
+            Column.of("created_at", ColumnType.TIMESTAMP),
+            Column.of("name", ColumnType.TEXT),
+            Column.of("full_name", ColumnType.TEXT),
+            Column.of("email", ColumnType.TEXT),
+            Column.of("password", ColumnType.TEXT),
+            Column.of("email_confirmed", ColumnType.BOOLEAN),
+            Column.of("is_private", ColumnType.BOOLEAN)),
+    USER_FOLLOWING("user_following", null,
+            Column.of("follower_id", ColumnType.LONG),
+            Column.of("followed_id", ColumnType.LONG)),
+    POSTS("posts", "id",
+            Column.of("id", ColumnType.LONG),
+            Column.of("created_at", ColumnType.TIMESTAMP),
+            Column.of("description", ColumnType.TEXT),
+            Column.of("image", ColumnType.TEXT),
+            Column.of("author_id", ColumnType.LONG)),
+    POST_LIKES("post_likes", "id",
+            Column.of("id", ColumnType.LONG),
+            Column.of("created_at", ColumnType.TIMESTAMP),
+            Column.of("user_id", ColumnType.LONG),
+            Column.of("post_id", ColumnType.LONG));
+
+    public enum ColumnType { LONG, TEXT, BOOLEAN, TIMESTAMP }
+
+    public static final class Column {
+        private final String name;
+        private final ColumnType type;
+
+        private Column(String name, ColumnType type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        static Column of(String name, ColumnType type) {
+            return new Column(name, type);
+        }
+
+        public String getName() { return name; }
+        public ColumnType getType() { return type; }
+    }
+
+    private final String tableName;
+    private final String identityColumn;
+    private final List<Column> columns;
+
+    GraphTable(String tableName, String identityColumn, Column... columns) {
+        this.tableName = tableName;
+        this.identityColumn = identityColumn;
+        this.columns = List.of(columns);
+    }
+
+    // Accepts the SQL table name as used in the admin URLs, e.g. "user_following"
+    public static GraphTable fromName(String name) {
+        for (GraphTable table : values()) {
+            if (table.tableName.equals(name.toLowerCase(Locale.ROOT))) {
+                return table;
+            }
+        }
+        throw new IllegalArgumentException("Unknown table: " + name);
+    }
+
+    public String getTableName() { return tableName; }
+    // Generated id column whose sequence must move past imported ids; null for the join table
+    public String getIdentityColumn() { return identityColumn; }
+    public List<Column> getColumns() { return columns; }
+}
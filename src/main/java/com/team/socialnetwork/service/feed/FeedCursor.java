@@ -0,0 +1,60 @@
+package com.team.socialnetwork.service.feed;
+
+import com.team.socialnetwork.repository.projection.PostRef;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in a feed: the {@code (createdAt, postId)} of the last item returned.
+ * Clients only see the URL-safe Base64 token and hand it back unchanged.
+ */
+public final class FeedCursor {
+
+    private final Instant createdAt;
+    private final Long postId;
+
+    public FeedCursor(Instant createdAt, Long postId) {
+        this.createdAt = createdAt;
+        this.postId = postId;
+    }
+
+    public static FeedCursor of(PostRef ref) {
+        return new FeedCursor(ref.getCreatedAt(), ref.getPostId());
+    }
+
+    // Throws IllegalArgumentException for anything that was not produced by encode()
+    public static FeedCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            if (sep < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new FeedCursor(Instant.parse(raw.substring(0, sep)), Long.valueOf(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt.toString() + "|" + postId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // True when ref comes strictly after this position in newest-first order
+    public boolean isBefore(PostRef ref) {
+        int cmp = ref.getCreatedAt().compareTo(createdAt);
+        return cmp < 0 || (cmp == 0 && ref.getPostId() < postId);
+    }
+
+    // True when ref comes strictly before this position in newest-first order, i.e. it is newer
+    public boolean isAfter(PostRef ref) {
+        int cmp = ref.getCreatedAt().compareTo(createdAt);
+        return cmp > 0 || (cmp == 0 && ref.getPostId() > postId);
+    }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public Long getPostId() { return postId; }
+}
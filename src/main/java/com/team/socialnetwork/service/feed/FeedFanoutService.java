@@ -0,0 +1,116 @@
+package com.team.socialnetwork.service.feed;
+
+import com.team.socialnetwork.repository.TimelineEntryRepository;
+import com.team.socialnetwork.repository.projection.PostRef;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps the materialized home timelines ({@code timeline_entries}) in sync with posts and follows.
+ * All writes run on the {@code feedFanoutExecutor} so request threads never wait on fan-out; only the
+ * backfill after an admin import runs on the caller's thread.
+ * Posts by high-follower authors are not pushed; they are pulled at read time (see {@link FeedService}).
+ * Every change also drops the cached first pages ({@link FeedPageCache}) it affects.
+ */
+@Service
+public class FeedFanoutService {
+    private static final Logger log = LoggerFactory.getLogger(FeedFanoutService.class);
+
+    private final TimelineEntryRepository timelineEntryRepository;
+    private final HighFollowerAuthors highFollowerAuthors;
+    private final RecentPostsCache recentPostsCache;
+    private final FeedPageCache feedPageCache;
+    private final FeedUpdatePublisher feedUpdatePublisher;
+    private final int backfillPosts;
+
+    public FeedFanoutService(TimelineEntryRepository timelineEntryRepository,
+                             HighFollowerAuthors highFollowerAuthors,
+                             RecentPostsCache recentPostsCache,
+                             FeedPageCache feedPageCache,
+                             FeedUpdatePublisher feedUpdatePublisher,
+                             @Value("${feed.timeline.backfillPosts:200}") int backfillPosts) {
+        this.timelineEntryRepository = timelineEntryRepository;
+        this.highFollowerAuthors = highFollowerAuthors;
+        this.recentPostsCache = recentPostsCache;
+        this.feedPageCache = feedPageCache;
+        this.feedUpdatePublisher = feedUpdatePublisher;
+        this.backfillPosts = backfillPosts;
+    }
+
+    @Async("feedFanoutExecutor")
+    public void onPostCreated(Long postId, Long authorId, Instant createdAt) {
+        if (highFollowerAuthors.shouldPull(authorId)) {
+            recentPostsCache.onPostCreated(authorId, new PostRef(postId, createdAt));
+            feedPageCache.onPulledAuthorChanged(authorId);
+            feedUpdatePublisher.onNewPost(authorId, null);
+            log.debug("Skipped fan-out of post {}: author {} is above the follower threshold", postId, authorId);
+            return;
+        }
+        int inserted = timelineEntryRepository.fanOut(postId, authorId, createdAt);
+        List<Long> viewers = timelineEntryRepository.findUserIdsByPostId(postId);
+        feedPageCache.invalidateAll(viewers);
+        feedUpdatePublisher.onNewPost(authorId, viewers);
+        log.debug("Fanned out post {} of author {} to {} timelines", postId, authorId, inserted);
+    }
+
+    @Async("feedFanoutExecutor")
+    public void onPostDeleted(Long postId, Long authorId) {
+        List<Long> viewers = timelineEntryRepository.findUserIdsByPostId(postId);
+        timelineEntryRepository.deleteByPostId(postId);
+        feedPageCache.invalidateAll(viewers);
+        recentPostsCache.evict(authorId);
+        if (highFollowerAuthors.contains(authorId)) {
+            feedPageCache.onPulledAuthorChanged(authorId);
+        }
+    }
+
+    @Async("feedFanoutExecutor")
+    public void onFollow(Long followerId, Long authorId) {
+        // Pulled authors are merged at read time, nothing to copy
+        if (!highFollowerAuthors.contains(authorId)) {
+            timelineEntryRepository.backfill(followerId, authorId, backfillPosts);
+        }
+        feedPageCache.invalidate(followerId);
+    }
+
+    // Bulk follow-request accept: one task backfills every new follower of the author.
+    // Called after commit, so it must not join the caller's (finished) transaction when fan-out runs inline
+    @Async("feedFanoutExecutor")
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onFollowedBy(Collection<Long> followerIds, Long authorId) {
+        boolean pulled = highFollowerAuthors.contains(authorId);
+        for (Long followerId : followerIds) {
+            if (!pulled) {
+                timelineEntryRepository.backfill(followerId, authorId, backfillPosts);
+            }
+            feedPageCache.invalidate(followerId);
+        }
+    }
+
+    // Admin import of follows or posts: those rows never went through onPostCreated/onFollow, and the
+    // bootstrap seed only runs on an empty table. Runs inline so the import returns with timelines in place.
+    public int onGraphImported() {
+        // Counters were just reconciled; settle push vs pull before deciding what to copy
+        highFollowerAuthors.refresh();
+        int inserted = timelineEntryRepository.backfillAll(highFollowerAuthors.getFollowerThreshold(), backfillPosts);
+        recentPostsCache.evictAll();
+        feedPageCache.invalidateAll();
+        log.info("Backfilled {} timeline entries after import", inserted);
+        return inserted;
+    }
+
+    @Async("feedFanoutExecutor")
+    public void onUnfollow(Long followerId, Long authorId) {
+        timelineEntryRepository.purge(followerId, authorId);
+        feedPageCache.invalidate(followerId);
+    }
+}
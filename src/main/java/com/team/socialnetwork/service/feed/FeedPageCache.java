@@ -0,0 +1,95 @@
+package com.team.socialnetwork.service.feed;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.team.socialnetwork.dto.PostDetailResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Assembled first feed page per viewer, bounded by size and TTL. Entries are dropped when the
+ * viewer's timeline changes (a followed author posts or deletes, the viewer follows, unfollows or
+ * likes). Posts of pulled high-follower authors are not in any timeline, so entries remember which
+ * of those authors they merged and are treated as stale once one of them changes.
+ */
+@Component
+public class FeedPageCache {
+
+    // Largest page size (50) plus the look-ahead row used for hasMore
+    static final int FIRST_PAGE_ROWS = 51;
+
+    public static final class FirstPage {
+        private final List<PostDetailResponse> rows;
+        private final List<Long> pulledAuthors;
+        private final long version;
+
+        public FirstPage(List<PostDetailResponse> rows, List<Long> pulledAuthors, long version) {
+            this.rows = List.copyOf(rows);
+            this.pulledAuthors = List.copyOf(pulledAuthors);
+            this.version = version;
+        }
+
+        public List<PostDetailResponse> getRows() { return rows; }
+        public List<Long> getPulledAuthors() { return pulledAuthors; }
+        public long getVersion() { return version; }
+    }
+
+    private final Cache<Long, FirstPage> cache;
+    private final AtomicLong clock = new AtomicLong();
+    private final ConcurrentHashMap<Long, Long> pulledAuthorChangedAt = new ConcurrentHashMap<>();
+
+    public FeedPageCache(@Value("${feed.cache.maxViewers:50000}") long maxViewers,
+                         @Value("${feed.cache.ttlSeconds:60}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxViewers)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    // Version to stamp on a page that is about to be loaded; read it before querying
+    public long currentVersion() {
+        return clock.get();
+    }
+
+    public FirstPage firstPage(Long viewerId, Function<Long, FirstPage> loader) {
+        FirstPage page = cache.getIfPresent(viewerId);
+        if (page != null && isStale(page)) {
+            cache.asMap().remove(viewerId, page);
+        }
+        return cache.get(viewerId, loader);
+    }
+
+    public void invalidate(Long viewerId) {
+        cache.invalidate(viewerId);
+    }
+
+    public void invalidateAll(Collection<Long> viewerIds) {
+        cache.invalidateAll(viewerIds);
+    }
+
+    // Bulk imports touch timelines without knowing which viewers they affect
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public void onPulledAuthorChanged(Long authorId) {
+        pulledAuthorChangedAt.put(authorId, clock.incrementAndGet());
+    }
+
+    private boolean isStale(FirstPage page) {
+        for (Long authorId : page.getPulledAuthors()) {
+            Long changedAt = pulledAuthorChangedAt.get(authorId);
+            if (changedAt != null && changedAt > page.getVersion()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,30 @@
+package com.team.socialnetwork.service.feed;
+
+import com.team.socialnetwork.repository.projection.PostRankRef;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scores feed candidates for {@code mode=ranked} from their ranking columns only.
+ * Implementations only provide {@link #score}; selection of the best {@code k} is a bounded heap, O(candidates log k).
+ */
+public interface FeedRanker {
+
+    double score(PostRankRef post, Instant now);
+
+    // Best k candidates, highest score first; ties keep candidate (newest-first) order
+    default List<PostRankRef> topK(List<PostRankRef> candidates, int k, Instant now) {
+        double[] scores = new double[candidates.size()];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = score(candidates.get(i), now);
+        }
+        int[] best = TopK.select(scores, k);
+        List<PostRankRef> ranked = new ArrayList<>(best.length);
+        for (int idx : best) {
+            ranked.add(candidates.get(idx));
+        }
+        return ranked;
+    }
+}
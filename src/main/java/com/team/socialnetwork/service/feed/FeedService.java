@@ -0,0 +1,220 @@
+package com.team.socialnetwork.service.feed;
+
+import com.team.socialnetwork.dto.FeedDeltaResponse;
+import com.team.socialnetwork.dto.FeedPageResponse;
+import com.team.socialnetwork.dto.PostDetailResponse;
+import com.team.socialnetwork.repository.FeedReadRepository;
+import com.team.socialnetwork.repository.projection.PostRankRef;
+import com.team.socialnetwork.repository.projection.PostRef;
+import com.team.socialnetwork.service.counter.LikeCountBuffer;
+import com.team.socialnetwork.service.counter.PostCounterCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Assembles home feed pages: pushed posts come from the viewer's materialized timeline,
+ * posts of followed high-follower authors are pulled from {@link RecentPostsCache} and merged in.
+ * Each page is hydrated by a single statement in {@link FeedReadRepository}; first pages are served
+ * from {@link FeedPageCache} with like/comment counts patched in from {@link PostCounterCache}.
+ */
+@Service
+public class FeedService {
+
+    static final Comparator<PostRef> NEWEST_FIRST = Comparator
+            .comparing(PostRef::getCreatedAt, Comparator.reverseOrder())
+            .thenComparing(PostRef::getPostId, Comparator.reverseOrder());
+
+    private final FeedReadRepository feedReadRepository;
+    private final HighFollowerAuthors highFollowerAuthors;
+    private final RecentPostsCache recentPostsCache;
+    private final LikeCountBuffer likeCountBuffer;
+    private final FeedRanker feedRanker;
+    private final FeedPageCache feedPageCache;
+    private final PostCounterCache postCounterCache;
+    private final FeedUpdatePublisher feedUpdatePublisher;
+    private final int rankCandidates;
+
+    public FeedService(FeedReadRepository feedReadRepository,
+                       HighFollowerAuthors highFollowerAuthors,
+                       RecentPostsCache recentPostsCache,
+                       LikeCountBuffer likeCountBuffer,
+                       FeedRanker feedRanker,
+                       FeedPageCache feedPageCache,
+                       PostCounterCache postCounterCache,
+                       FeedUpdatePublisher feedUpdatePublisher,
+                       @Value("${feed.rank.candidates:500}") int rankCandidates) {
+        this.feedReadRepository = feedReadRepository;
+        this.highFollowerAuthors = highFollowerAuthors;
+        this.recentPostsCache = recentPostsCache;
+        this.likeCountBuffer = likeCountBuffer;
+        this.feedRanker = feedRanker;
+        this.feedPageCache = feedPageCache;
+        this.postCounterCache = postCounterCache;
+        this.feedUpdatePublisher = feedUpdatePublisher;
+        this.rankCandidates = rankCandidates;
+    }
+
+    // Offset page, newest first
+    public List<PostDetailResponse> chronologicalPage(Long viewerId, int page, int size) {
+        if (page == 0 && size < FeedPageCache.FIRST_PAGE_ROWS) {
+            return withCurrentCounts(head(firstPageRows(viewerId), size));
+        }
+        int offset = page * size;
+        return withPendingLikes(feedReadRepository.findFeedPage(viewerId, null, null,
+                pulledPostIds(viewerId, null, offset + size), offset, size));
+    }
+
+    // Ranked page: the newest rankCandidates posts scored by the FeedRanker, best first.
+    // Candidates are scored on PostRankRef (no text, image or author columns); only the page is hydrated.
+    public List<PostDetailResponse> rankedPage(Long viewerId, int page, int size) {
+        int offset = page * size;
+        if (offset >= rankCandidates) {
+            return Collections.emptyList();
+        }
+        List<PostRankRef> candidates = new ArrayList<>();
+        for (PostRankRef ref : feedReadRepository.findRankCandidates(viewerId,
+                pulledPostIds(viewerId, null, rankCandidates), rankCandidates)) {
+            long pending = likeCountBuffer.pending(ref.getPostId());
+            candidates.add(pending == 0 ? ref : new PostRankRef(ref.getPostId(), ref.getCreatedAt(), ref.getAuthorId(),
+                    ref.getLikesCount() + pending, ref.getCommentsCount()));
+        }
+        List<PostRankRef> ranked = feedRanker.topK(candidates, offset + size, Instant.now());
+        if (offset >= ranked.size()) {
+            return Collections.emptyList();
+        }
+        List<Long> pageIds = new ArrayList<>();
+        for (PostRankRef ref : ranked.subList(offset, ranked.size())) {
+            pageIds.add(ref.getPostId());
+        }
+        Map<Long, PostDetailResponse> rows = new HashMap<>();
+        for (PostDetailResponse row : withPendingLikes(feedReadRepository.findFeedRows(viewerId, pageIds))) {
+            rows.put(row.getId(), row);
+        }
+        List<PostDetailResponse> result = new ArrayList<>(pageIds.size());
+        for (Long postId : pageIds) {
+            PostDetailResponse row = rows.get(postId);
+            if (row != null) {
+                result.add(row);
+            }
+        }
+        return result;
+    }
+
+    // Keyset page after cursor (null = first page); cost does not grow with scroll depth
+    public FeedPageResponse cursorPage(Long viewerId, FeedCursor cursor, int size) {
+        // One extra row tells whether there is a next page without counting
+        List<PostDetailResponse> rows;
+        if (cursor == null && size < FeedPageCache.FIRST_PAGE_ROWS) {
+            rows = withCurrentCounts(head(firstPageRows(viewerId), size + 1));
+        } else {
+            rows = withPendingLikes(feedReadRepository.findFeedPage(viewerId,
+                    cursor == null ? null : cursor.getCreatedAt(),
+                    cursor == null ? null : cursor.getPostId(),
+                    pulledPostIds(viewerId, cursor, size + 1), 0, size + 1));
+        }
+        boolean hasMore = rows.size() > size;
+        List<PostDetailResponse> items = hasMore ? rows.subList(0, size) : rows;
+        String next = null;
+        if (hasMore) {
+            PostDetailResponse last = items.get(items.size() - 1);
+            next = new FeedCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new FeedPageResponse(items, next, hasMore);
+    }
+
+    // Posts newer than the client's head, newest first; truncated means the gap is larger than size
+    public FeedDeltaResponse since(Long viewerId, FeedCursor head, int size) {
+        List<PostDetailResponse> rows = withPendingLikes(feedReadRepository.findFeedSince(viewerId,
+                head.getCreatedAt(), head.getPostId(),
+                pulledPostIds(highFollowerAuthors.followedBy(viewerId), head::isAfter, size + 1), size + 1));
+        boolean truncated = rows.size() > size;
+        List<PostDetailResponse> items = truncated ? rows.subList(0, size) : rows;
+        String headCursor = items.isEmpty()
+                ? head.encode()
+                : new FeedCursor(items.get(0).getCreatedAt(), items.get(0).getId()).encode();
+        feedUpdatePublisher.markSeen(viewerId);
+        return new FeedDeltaResponse(items, headCursor, truncated);
+    }
+
+    private List<PostDetailResponse> firstPageRows(Long viewerId) {
+        feedUpdatePublisher.markSeen(viewerId);
+        return feedPageCache.firstPage(viewerId, this::loadFirstPage).getRows();
+    }
+
+    private FeedPageCache.FirstPage loadFirstPage(Long viewerId) {
+        long version = feedPageCache.currentVersion();
+        List<Long> pulledAuthors = highFollowerAuthors.followedBy(viewerId);
+        List<PostDetailResponse> rows = withPendingLikes(feedReadRepository.findFeedPage(viewerId, null, null,
+                pulledPostIds(pulledAuthors, ref -> true, FeedPageCache.FIRST_PAGE_ROWS), 0, FeedPageCache.FIRST_PAGE_ROWS));
+        for (PostDetailResponse row : rows) {
+            postCounterCache.seed(row.getId(), row.getLikesCount(), row.getCommentsCount());
+        }
+        return new FeedPageCache.FirstPage(rows, pulledAuthors, version);
+    }
+
+    private static List<PostDetailResponse> head(List<PostDetailResponse> rows, int n) {
+        return rows.size() <= n ? rows : rows.subList(0, n);
+    }
+
+    // Cached rows are shared between requests: return copies carrying the live counts
+    private List<PostDetailResponse> withCurrentCounts(List<PostDetailResponse> rows) {
+        List<PostDetailResponse> patched = new ArrayList<>(rows.size());
+        for (PostDetailResponse row : rows) {
+            patched.add(new PostDetailResponse(row.getId(), row.getCreatedAt(), row.getDescription(), row.getImage(),
+                    row.getAuthor(),
+                    postCounterCache.likes(row.getId(), row.getLikesCount()),
+                    postCounterCache.comments(row.getId(), row.getCommentsCount()),
+                    row.isViewerLiked()));
+        }
+        return patched;
+    }
+
+    // like_count lags behind by the likes still buffered in memory
+    private List<PostDetailResponse> withPendingLikes(List<PostDetailResponse> rows) {
+        for (PostDetailResponse row : rows) {
+            row.setLikesCount(row.getLikesCount() + likeCountBuffer.pending(row.getId()));
+        }
+        return rows;
+    }
+
+    // Newest `limit` cached posts of followed high-follower authors older than the cursor
+    Set<Long> pulledPostIds(Long viewerId, FeedCursor cursor, int limit) {
+        Predicate<PostRef> olderThanCursor = cursor == null ? ref -> true : cursor::isBefore;
+        return pulledPostIds(highFollowerAuthors.followedBy(viewerId), olderThanCursor, limit);
+    }
+
+    // Newest `limit` cached posts of the given high-follower authors accepted by the filter
+    Set<Long> pulledPostIds(List<Long> pulledAuthors, Predicate<PostRef> filter, int limit) {
+        if (pulledAuthors.isEmpty()) {
+            return Collections.emptySet();
+        }
+        List<PostRef> refs = new ArrayList<>();
+        for (Long authorId : pulledAuthors) {
+            for (PostRef ref : recentPostsCache.recent(authorId)) {
+                if (filter.test(ref)) {
+                    refs.add(ref);
+                }
+            }
+        }
+        refs.sort(NEWEST_FIRST);
+        Set<Long> ids = new LinkedHashSet<>();
+        for (PostRef ref : refs) {
+            if (ids.size() >= limit) {
+                break;
+            }
+            ids.add(ref.getPostId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,153 @@
+package com.team.socialnetwork.service.feed;
+
+import com.team.socialnetwork.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Opt-in "N new posts" push. Clients subscribe to {@code /topic/feed/{userId}} (AuthChannelInterceptor
+ * rejects subscriptions to another user's feed); only viewers with an
+ * open subscription are tracked and notified, so posting costs nothing for offline followers.
+ * The unseen counter resets when the viewer reads the head of the feed.
+ */
+@Component
+public class FeedUpdatePublisher {
+    private static final Logger log = LoggerFactory.getLogger(FeedUpdatePublisher.class);
+
+    public static final String DESTINATION_PREFIX = "/topic/feed/";
+
+    private static final class Subscriber {
+        final AtomicInteger subscriptions = new AtomicInteger();
+        final AtomicInteger unseen = new AtomicInteger();
+    }
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final UserRepository userRepository;
+    private final ConcurrentHashMap<Long, Subscriber> subscribers = new ConcurrentHashMap<>();
+    // sessionId -> (subscriptionId -> viewerId), to undo subscriptions on unsubscribe/disconnect
+    private final ConcurrentHashMap<String, Map<String, Long>> sessions = new ConcurrentHashMap<>();
+
+    public FeedUpdatePublisher(SimpMessagingTemplate messagingTemplate, UserRepository userRepository) {
+        this.messagingTemplate = messagingTemplate;
+        this.userRepository = userRepository;
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String destination = accessor.getDestination();
+        Principal user = event.getUser();
+        if (destination == null || !destination.startsWith(DESTINATION_PREFIX) || user == null) {
+            return;
+        }
+        Long viewerId;
+        try {
+            viewerId = Long.valueOf(destination.substring(DESTINATION_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return;
+        }
+        // Only the owner of the feed gets updates for it
+        boolean owner = userRepository.findByEmail(user.getName())
+                .map(u -> u.getId().equals(viewerId))
+                .orElse(false);
+        if (!owner) {
+            return;
+        }
+        sessions.computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), viewerId);
+        subscribers.compute(viewerId, (id, s) -> {
+            Subscriber subscriber = s == null ? new Subscriber() : s;
+            subscriber.subscriptions.incrementAndGet();
+            return subscriber;
+        });
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, Long> subscriptions = sessions.get(accessor.getSessionId());
+        if (subscriptions != null) {
+            Long viewerId = subscriptions.remove(accessor.getSubscriptionId());
+            if (viewerId != null) {
+                release(viewerId);
+            }
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, Long> subscriptions = sessions.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::release);
+        }
+    }
+
+    public boolean isSubscribed(Long viewerId) {
+        return subscribers.containsKey(viewerId);
+    }
+
+    /**
+     * A post by {@code authorId} reached {@code viewerIds}; null means the author is pulled at read time,
+     * in which case the subscribed followers are looked up.
+     */
+    public void onNewPost(Long authorId, Collection<Long> viewerIds) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Collection<Long> targets = viewerIds != null
+                ? viewerIds
+                : userRepository.findFollowersAmong(authorId, new ArrayList<>(subscribers.keySet()));
+        List<Long> notified = new ArrayList<>();
+        for (Long viewerId : targets) {
+            Subscriber subscriber = subscribers.get(viewerId);
+            if (subscriber != null) {
+                int unseen = subscriber.unseen.incrementAndGet();
+                messagingTemplate.convertAndSend(DESTINATION_PREFIX + viewerId,
+                        new FeedUpdateMessage("FEED_NEW_POSTS", unseen));
+                notified.add(viewerId);
+            }
+        }
+        log.debug("Notified {} subscribed followers of author {}", notified.size(), authorId);
+    }
+
+    // Viewer has loaded the head of the feed
+    public void markSeen(Long viewerId) {
+        Subscriber subscriber = subscribers.get(viewerId);
+        if (subscriber != null) {
+            subscriber.unseen.set(0);
+        }
+    }
+
+    private void release(Long viewerId) {
+        subscribers.computeIfPresent(viewerId, (id, s) -> s.subscriptions.decrementAndGet() <= 0 ? null : s);
+    }
+
+    // Clase interna para mensajes WebSocket
+    public static class FeedUpdateMessage {
+        private final String type;
+        private final int count;
+
+        public FeedUpdateMessage(String type, int count) {
+            this.type = type;
+            this.count = count;
+        }
+
+        public String getType() { return type; }
+        public int getCount() { return count; }
+    }
+}
@@ -0,0 +1,108 @@
+package com.team.socialnetwork.service.feed;
+
+import com.team.socialnetwork.repository.TimelineEntryRepository;
+import com.team.socialnetwork.repository.UserRepository;
+import com.team.socialnetwork.service.graph.FollowGraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Authors whose follower count is above {@code feed.fanout.followerThreshold}. Their posts are not
+ * fanned out to follower timelines; readers pull them from {@link RecentPostsCache} instead.
+ * Both the per-post check and the periodic refresh read the denormalized {@code users.followers_count}.
+ * An author who drops back below the threshold has their recent posts copied into follower timelines,
+ * since the posts they made while pulled were never fanned out.
+ */
+@Component
+public class HighFollowerAuthors {
+    private static final Logger log = LoggerFactory.getLogger(HighFollowerAuthors.class);
+
+    private final UserRepository userRepository;
+    private final FollowGraph followGraph;
+    private final TimelineEntryRepository timelineEntryRepository;
+    private final FeedPageCache feedPageCache;
+    private final long followerThreshold;
+    private final int backfillPosts;
+    private volatile Set<Long> authorIds = ConcurrentHashMap.newKeySet();
+
+    public HighFollowerAuthors(UserRepository userRepository,
+                               FollowGraph followGraph,
+                               TimelineEntryRepository timelineEntryRepository,
+                               FeedPageCache feedPageCache,
+                               @Value("${feed.fanout.followerThreshold:10000}") long followerThreshold,
+                               @Value("${feed.timeline.backfillPosts:200}") int backfillPosts) {
+        this.userRepository = userRepository;
+        this.followGraph = followGraph;
+        this.timelineEntryRepository = timelineEntryRepository;
+        this.feedPageCache = feedPageCache;
+        this.followerThreshold = followerThreshold;
+        this.backfillPosts = backfillPosts;
+    }
+
+    public long getFollowerThreshold() {
+        return followerThreshold;
+    }
+
+    public boolean contains(Long authorId) {
+        return authorIds.contains(authorId);
+    }
+
+    // Decides push vs pull for a new post; also picks up authors that crossed the threshold since the last refresh
+    public boolean shouldPull(Long authorId) {
+        if (authorIds.contains(authorId)) {
+            return true;
+        }
+        Long followers = userRepository.findFollowersCount(authorId);
+        if (followers != null && followers > followerThreshold) {
+            authorIds.add(authorId);
+            return true;
+        }
+        return false;
+    }
+
+    // High-follower authors the viewer follows; these are merged into the feed at read time
+    public List<Long> followedBy(Long viewerId) {
+        Set<Long> snapshot = authorIds;
+        if (snapshot.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (followGraph.isReady()) {
+            long[] following = followGraph.following(viewerId);
+            List<Long> followed = new ArrayList<>();
+            for (Long authorId : snapshot) {
+                if (Arrays.binarySearch(following, authorId) >= 0) {
+                    followed.add(authorId);
+                }
+            }
+            return followed;
+        }
+        return userRepository.findFollowedAmong(viewerId, new HashSet<>(snapshot));
+    }
+
+    @Scheduled(fixedDelayString = "${feed.fanout.highFollowerRefreshMs:300000}")
+    public void refresh() {
+        Set<Long> fresh = ConcurrentHashMap.newKeySet();
+        fresh.addAll(userRepository.findIdsWithFollowersAbove(followerThreshold));
+        Set<Long> demoted = new HashSet<>(authorIds);
+        demoted.removeAll(fresh);
+        // Swap first so new posts of demoted authors are fanned out; the backfill below covers everything older
+        authorIds = fresh;
+        for (Long authorId : demoted) {
+            int copied = timelineEntryRepository.fanOutRecent(authorId, backfillPosts);
+            feedPageCache.onPulledAuthorChanged(authorId);
+            log.debug("Author {} left the pull set; copied {} timeline entries", authorId, copied);
+        }
+        log.debug("Tracking {} high-follower authors", fresh.size());
+    }
+}
@@ -0,0 +1,66 @@
+package com.team.socialnetwork.service.feed;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.team.socialnetwork.repository.PostRepository;
+import com.team.socialnetwork.repository.projection.PostRef;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Most recent posts of each high-follower author, newest first, capped at
+ * {@code feed.pull.postsPerAuthor}. Loaded from the posts table on first use.
+ */
+@Component
+public class RecentPostsCache {
+
+    private final PostRepository postRepository;
+    private final int postsPerAuthor;
+    private final LoadingCache<Long, List<PostRef>> cache;
+
+    public RecentPostsCache(PostRepository postRepository,
+                            @Value("${feed.pull.postsPerAuthor:50}") int postsPerAuthor,
+                            @Value("${feed.pull.maxAuthors:10000}") long maxAuthors) {
+        this.postRepository = postRepository;
+        this.postsPerAuthor = postsPerAuthor;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxAuthors)
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .build(this::load);
+    }
+
+    public List<PostRef> recent(Long authorId) {
+        return cache.get(authorId);
+    }
+
+    public void onPostCreated(Long authorId, PostRef ref) {
+        cache.asMap().computeIfPresent(authorId, (id, current) -> {
+            List<PostRef> updated = new ArrayList<>(postsPerAuthor);
+            updated.add(ref);
+            for (PostRef existing : current) {
+                if (updated.size() >= postsPerAuthor) {
+                    break;
+                }
+                updated.add(existing);
+            }
+            return List.copyOf(updated);
+        });
+    }
+
+    public void evict(Long authorId) {
+        cache.invalidate(authorId);
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    private List<PostRef> load(Long authorId) {
+        return List.copyOf(postRepository.findRecentRefsByAuthorId(authorId, PageRequest.of(0, postsPerAuthor)));
+    }
+}
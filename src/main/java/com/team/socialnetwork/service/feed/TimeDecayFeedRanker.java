@@ -0,0 +1,35 @@
+package com.team.socialnetwork.service.feed;
+
+import com.team.socialnetwork.repository.projection.PostRankRef;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Default ranker: engagement weighted by recency,
+ * {@code (1 + likeWeight * likes + commentWeight * comments) * 2^(-ageHours / halfLifeHours)}.
+ */
+@Component
+public class TimeDecayFeedRanker implements FeedRanker {
+
+    private final double likeWeight;
+    private final double commentWeight;
+    private final double decayPerHour;
+
+    public TimeDecayFeedRanker(@Value("${feed.rank.likeWeight:1.0}") double likeWeight,
+                               @Value("${feed.rank.commentWeight:2.0}") double commentWeight,
+                               @Value("${feed.rank.halfLifeHours:6.0}") double halfLifeHours) {
+        this.likeWeight = likeWeight;
+        this.commentWeight = commentWeight;
+        this.decayPerHour = Math.log(2) / halfLifeHours;
+    }
+
+    @Override
+    public double score(PostRankRef post, Instant now) {
+        double engagement = 1 + likeWeight * post.getLikesCount() + commentWeight * post.getCommentsCount();
+        double ageHours = Math.max(0, Duration.between(post.getCreatedAt(), now).toMillis() / 3_600_000.0);
+        return engagement * Math.exp(-decayPerHour * ageHours);
+    }
+}
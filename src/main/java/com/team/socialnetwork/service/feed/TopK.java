@@ -0,0 +1,75 @@
+package com.team.socialnetwork.service.feed;
+
+// Min-heap of candidate indices over primitive scores; the root is the worst of the current top k
+final class TopK {
+
+    private TopK() {}
+
+    // Indices of the k best scores, best first. On equal scores the lower index wins.
+    static int[] select(double[] scores, int k) {
+        int capacity = Math.min(k, scores.length);
+        if (capacity <= 0) {
+            return new int[0];
+        }
+        int[] heap = new int[capacity];
+        int size = 0;
+        for (int i = 0; i < scores.length; i++) {
+            if (size < capacity) {
+                heap[size] = i;
+                siftUp(heap, size++, scores);
+            } else if (better(i, heap[0], scores)) {
+                heap[0] = i;
+                siftDown(heap, size, scores);
+            }
+        }
+        // Pop worst-first into the tail of the result
+        int[] result = new int[size];
+        for (int n = size - 1; n >= 0; n--) {
+            result[n] = heap[0];
+            heap[0] = heap[n];
+            siftDown(heap, n, scores);
+        }
+        return result;
+    }
+
+    private static boolean better(int a, int b, double[] scores) {
+        return scores[a] > scores[b] || (scores[a] == scores[b] && a < b);
+    }
+
+    private static void siftUp(int[] heap, int pos, double[] scores) {
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (!better(heap[parent], heap[pos], scores)) {
+                break;
+            }
+            swap(heap, parent, pos);
+            pos = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, double[] scores) {
+        int pos = 0;
+        while (true) {
+            int left = 2 * pos + 1;
+            if (left >= size) {
+                break;
+            }
+            int worst = left;
+            int right = left + 1;
+            if (right < size && better(heap[left], heap[right], scores)) {
+                worst = right;
+            }
+            if (!better(heap[pos], heap[worst], scores)) {
+                break;
+            }
+            swap(heap, pos, worst);
+            pos = worst;
+        }
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+        int tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+    }
+}
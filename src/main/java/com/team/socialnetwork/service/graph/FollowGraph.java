@@ -0,0 +1,246 @@
+package com.team.socialnetwork.service.graph;
+
+import com.team.socialnetwork.repository.FollowEdgeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process index of the follow graph: for every user id, the ids it follows and the ids following
+ * it, each kept as a sorted {@code long[]}. Membership is a binary search with no entity loading.
+ *
+ * <p>Loaded by streaming {@code user_following} once the application is ready, then kept current by
+ * the follow paths in {@code UsersController}. Arrays are copy-on-write per user, so readers never
+ * lock. Until the first load completes {@link #isReady()} is false and callers fall back to the
+ * database. A periodic reload ({@code follow.graph.reloadMs}) repairs drift from other instances.
+ */
+@Component
+public class FollowGraph {
+    private static final Logger log = LoggerFactory.getLogger(FollowGraph.class);
+
+    private static final long[] EMPTY = new long[0];
+
+    private static final class Adjacency {
+        final Map<Long, long[]> following;
+        final Map<Long, long[]> followers;
+
+        Adjacency(Map<Long, long[]> following, Map<Long, long[]> followers) {
+            this.following = following;
+            this.followers = followers;
+        }
+    }
+
+    // Growable per-user list used only while loading; sorted and trimmed once the stream ends
+    private static final class LongList {
+        long[] values = new long[4];
+        int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toSortedArray() {
+            long[] result = Arrays.copyOf(values, size);
+            Arrays.sort(result);
+            return result;
+        }
+    }
+
+    private final FollowEdgeRepository followEdgeRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final boolean enabled;
+    private final int fetchSize;
+
+    private final Object lock = new Object();
+    private volatile Adjacency graph = new Adjacency(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+    private volatile boolean ready;
+    // Edge changes seen while a load is streaming; replayed onto the fresh index before it goes live
+    private List<long[]> changesDuringLoad;
+
+    public FollowGraph(FollowEdgeRepository followEdgeRepository,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${follow.graph.enabled:true}") boolean enabled,
+                       @Value("${follow.graph.fetchSize:10000}") int fetchSize) {
+        this.followEdgeRepository = followEdgeRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.enabled = enabled;
+        this.fetchSize = fetchSize;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean follows(long followerId, long followedId) {
+        return Arrays.binarySearch(following(followerId), followedId) >= 0;
+    }
+
+    // Sorted ids; shared with the index, callers must not modify the array
+    public long[] following(long userId) {
+        return graph.following.getOrDefault(userId, EMPTY);
+    }
+
+    // Sorted ids; shared with the index, callers must not modify the array
+    public long[] followers(long userId) {
+        return graph.followers.getOrDefault(userId, EMPTY);
+    }
+
+    // Ids of every user with at least one followee, in no particular order
+    public long[] usersFollowingSomeone() {
+        return graph.following.keySet().stream().mapToLong(Long::longValue).toArray();
+    }
+
+    // Users that both follow and are followed by userId, sorted
+    public long[] mutuals(long userId) {
+        long[] a = following(userId);
+        long[] b = followers(userId);
+        long[] out = new long[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    public void addEdge(long followerId, long followedId) {
+        record(followerId, followedId, 1);
+        apply(graph, followerId, followedId, true);
+    }
+
+    public void removeEdge(long followerId, long followedId) {
+        record(followerId, followedId, -1);
+        apply(graph, followerId, followedId, false);
+    }
+
+    // Account deletion: drop the user and every edge that touches it
+    public void removeUser(long userId) {
+        for (long followed : following(userId)) {
+            removeEdge(userId, followed);
+        }
+        for (long follower : followers(userId)) {
+            removeEdge(follower, userId);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${follow.graph.reloadMs:3600000}",
+               initialDelayString = "${follow.graph.reloadMs:3600000}")
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (lock) {
+            changesDuringLoad = new ArrayList<>();
+        }
+        Map<Long, LongList> followingLists = new HashMap<>();
+        Map<Long, LongList> followerLists = new HashMap<>();
+        long[] edges = new long[1];
+        try {
+            readOnlyTx.executeWithoutResult(status -> followEdgeRepository.forEachEdge(fetchSize, (follower, followed) -> {
+                followingLists.computeIfAbsent(follower, id -> new LongList()).add(followed);
+                followerLists.computeIfAbsent(followed, id -> new LongList()).add(follower);
+                edges[0]++;
+            }));
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                changesDuringLoad = null;
+            }
+            log.warn("Follow graph load failed, keeping the previous index: {}", e.getMessage());
+            return;
+        }
+        Adjacency fresh = new Adjacency(toSortedArrays(followingLists), toSortedArrays(followerLists));
+        synchronized (lock) {
+            for (long[] change : changesDuringLoad) {
+                apply(fresh, change[0], change[1], change[2] > 0);
+            }
+            changesDuringLoad = null;
+            graph = fresh;
+            ready = true;
+        }
+        log.info("Loaded follow graph: {} edges, {} users following someone", edges[0], fresh.following.size());
+    }
+
+    private void record(long followerId, long followedId, long sign) {
+        synchronized (lock) {
+            if (changesDuringLoad != null) {
+                changesDuringLoad.add(new long[]{followerId, followedId, sign});
+            }
+        }
+    }
+
+    private static void apply(Adjacency target, long followerId, long followedId, boolean add) {
+        if (add) {
+            target.following.compute(followerId, (id, ids) -> insert(ids, followedId));
+            target.followers.compute(followedId, (id, ids) -> insert(ids, followerId));
+        } else {
+            target.following.computeIfPresent(followerId, (id, ids) -> remove(ids, followedId));
+            target.followers.computeIfPresent(followedId, (id, ids) -> remove(ids, followerId));
+        }
+    }
+
+    private static long[] insert(long[] ids, long value) {
+        if (ids == null) {
+            return new long[]{value};
+        }
+        int pos = Arrays.binarySearch(ids, value);
+        if (pos >= 0) {
+            return ids;
+        }
+        int at = -pos - 1;
+        long[] out = new long[ids.length + 1];
+        System.arraycopy(ids, 0, out, 0, at);
+        out[at] = value;
+        System.arraycopy(ids, at, out, at + 1, ids.length - at);
+        return out;
+    }
+
+    // Returning null removes the user's entry once it has no edges left
+    private static long[] remove(long[] ids, long value) {
+        int pos = Arrays.binarySearch(ids, value);
+        if (pos < 0) {
+            return ids;
+        }
+        if (ids.length == 1) {
+            return null;
+        }
+        long[] out = new long[ids.length - 1];
+        System.arraycopy(ids, 0, out, 0, pos);
+        System.arraycopy(ids, pos + 1, out, pos, ids.length - pos - 1);
+        return out;
+    }
+
+    private static Map<Long, long[]> toSortedArrays(Map<Long, LongList> lists) {
+        Map<Long, long[]> arrays = new ConcurrentHashMap<>(Math.max(16, lists.size() * 4 / 3));
+        lists.forEach((id, list) -> arrays.put(id, list.toSortedArray()));
+        return arrays;
+    }
+}
@@ -0,0 +1,167 @@
+package com.team.socialnetwork.service.graph;
+
+import com.team.socialnetwork.repository.FollowSuggestionBatchRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Friends-of-friends suggestions computed from the in-memory {@link FollowGraph}: for a user U, every
+ * account followed by someone U follows is a candidate, scored by how many of U's followees follow it.
+ * The top {@code suggestions.topK} per user are stored in {@code follow_suggestions}.
+ *
+ * <p>Follow changes only mark users dirty: the follower itself and the users following it (their
+ * second degree just changed). {@code FollowSuggestionJob} drains the dirty set and recomputes those
+ * users in a fork-join pass partitioned by {@code suggestions.batchSize}; a full pass is only run to
+ * seed an empty table.
+ */
+@Service
+public class FollowSuggestionService {
+    private static final Logger log = LoggerFactory.getLogger(FollowSuggestionService.class);
+
+    private final FollowGraph followGraph;
+    private final FollowSuggestionBatchRepository batchRepository;
+    private final int topK;
+    private final int batchSize;
+    private final int maxFanout;
+    private final ForkJoinPool pool;
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    public FollowSuggestionService(FollowGraph followGraph,
+                                   FollowSuggestionBatchRepository batchRepository,
+                                   @Value("${suggestions.topK:50}") int topK,
+                                   @Value("${suggestions.batchSize:256}") int batchSize,
+                                   @Value("${suggestions.maxFanout:5000}") int maxFanout,
+                                   @Value("${suggestions.parallelism:0}") int parallelism) {
+        this.followGraph = followGraph;
+        this.batchRepository = batchRepository;
+        this.topK = topK;
+        this.batchSize = batchSize;
+        this.maxFanout = maxFanout;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    // followerId's followees changed, so followerId and everyone following it need new candidates.
+    // Accounts with more than suggestions.maxFanout followers only refresh themselves.
+    public void onFollowChanged(long followerId, long followedId) {
+        markDirty(followerId);
+    }
+
+    // Bulk import: every follower that gained edges, once the graph has been reloaded with them
+    public void onFollowersChanged(Collection<Long> followerIds) {
+        for (Long followerId : followerIds) {
+            markDirty(followerId);
+        }
+    }
+
+    private void markDirty(long followerId) {
+        dirty.add(followerId);
+        long[] followers = followGraph.followers(followerId);
+        if (followers.length <= maxFanout) {
+            for (long id : followers) {
+                dirty.add(id);
+            }
+        }
+    }
+
+    public int pendingUsers() {
+        return dirty.size();
+    }
+
+    // Recomputes every dirty user; returns how many were refreshed
+    public int refreshDirty() {
+        if (dirty.isEmpty() || !followGraph.isReady()) {
+            return 0;
+        }
+        long[] userIds = new long[dirty.size()];
+        int n = 0;
+        for (Long id : dirty) {
+            if (n == userIds.length) {
+                break;
+            }
+            dirty.remove(id);
+            userIds[n++] = id;
+        }
+        recompute(Arrays.copyOf(userIds, n));
+        return n;
+    }
+
+    // Seeds suggestions for every user that follows someone
+    public int recomputeAll() {
+        if (!followGraph.isReady()) {
+            return 0;
+        }
+        long[] userIds = followGraph.usersFollowingSomeone();
+        recompute(userIds);
+        return userIds.length;
+    }
+
+    // {candidate ids, mutual counts}, best first
+    long[][] candidatesFor(long userId) {
+        long[] following = followGraph.following(userId);
+        MutualCounter counter = new MutualCounter(following.length * 8);
+        for (long followee : following) {
+            for (long candidate : followGraph.following(followee)) {
+                if (candidate != userId && Arrays.binarySearch(following, candidate) < 0) {
+                    counter.increment(candidate);
+                }
+            }
+        }
+        return counter.topK(topK);
+    }
+
+    private void recompute(long[] userIds) {
+        if (userIds.length == 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        pool.invoke(new Partition(userIds, 0, userIds.length, Instant.now()));
+        log.debug("Recomputed follow suggestions for {} users in {} ms",
+                userIds.length, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private final class Partition extends RecursiveAction {
+        private final long[] userIds;
+        private final int from;
+        private final int to;
+        private final Instant computedAt;
+
+        Partition(long[] userIds, int from, int to, Instant computedAt) {
+            this.userIds = userIds;
+            this.from = from;
+            this.to = to;
+            this.computedAt = computedAt;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= batchSize) {
+                Map<Long, long[][]> rows = new HashMap<>();
+                for (int i = from; i < to; i++) {
+                    rows.put(userIds[i], candidatesFor(userIds[i]));
+                }
+                batchRepository.replace(rows, computedAt);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Partition(userIds, from, mid, computedAt), new Partition(userIds, mid, to, computedAt));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,132 @@
+package com.team.socialnetwork.service.graph;
+
+import java.util.Arrays;
+
+// Open-addressing long -> int counter (linear probing, no boxing) for second-degree candidate counts
+final class MutualCounter {
+
+    private static final long FREE = Long.MIN_VALUE;
+
+    private long[] keys;
+    private int[] counts;
+    private int size;
+
+    MutualCounter(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, expected * 2) - 1) << 1;
+        keys = new long[capacity];
+        counts = new int[capacity];
+        Arrays.fill(keys, FREE);
+    }
+
+    void increment(long key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != FREE && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == FREE) {
+            keys[slot] = key;
+            if (++size * 2 > keys.length) {
+                counts[slot] = 1;
+                grow();
+                return;
+            }
+        }
+        counts[slot]++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // {candidate ids, counts} of the k highest counts, best first; ties go to the lower id
+    long[][] topK(int k) {
+        int capacity = Math.min(k, size);
+        int[] heap = new int[capacity];
+        int n = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] == FREE) {
+                continue;
+            }
+            if (n < capacity) {
+                heap[n] = slot;
+                siftUp(heap, n++);
+            } else if (capacity > 0 && better(slot, heap[0])) {
+                heap[0] = slot;
+                siftDown(heap, n);
+            }
+        }
+        long[][] result = new long[2][n];
+        for (int i = n - 1; i >= 0; i--) {
+            result[0][i] = keys[heap[0]];
+            result[1][i] = counts[heap[0]];
+            heap[0] = heap[i];
+            siftDown(heap, i);
+        }
+        return result;
+    }
+
+    private boolean better(int a, int b) {
+        return counts[a] > counts[b] || (counts[a] == counts[b] && keys[a] < keys[b]);
+    }
+
+    private void siftUp(int[] heap, int pos) {
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (!better(heap[parent], heap[pos])) {
+                break;
+            }
+            int tmp = heap[parent];
+            heap[parent] = heap[pos];
+            heap[pos] = tmp;
+            pos = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int size) {
+        int pos = 0;
+        while (true) {
+            int left = 2 * pos + 1;
+            if (left >= size) {
+                break;
+            }
+            int worst = left;
+            int right = left + 1;
+            if (right < size && better(heap[left], heap[right])) {
+                worst = right;
+            }
+            if (!better(heap[pos], heap[worst])) {
+                break;
+            }
+            int tmp = heap[pos];
+            heap[pos] = heap[worst];
+            heap[worst] = tmp;
+            pos = worst;
+        }
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new long[oldKeys.length * 2];
+        counts = new int[oldCounts.length * 2];
+        Arrays.fill(keys, FREE);
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == FREE) {
+                continue;
+            }
+            int slot = mix(oldKeys[i]) & mask;
+            while (keys[slot] != FREE) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            counts[slot] = oldCounts[i];
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
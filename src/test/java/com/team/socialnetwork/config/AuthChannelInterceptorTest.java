@@ -0,0 +1,106 @@
+package com.team.socialnetwork.config;
+
+import java.time.Instant;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import com.team.socialnetwork.security.AccountStatusCache;
+import com.team.socialnetwork.security.AuthenticatedUser;
+import com.team.socialnetwork.security.JwtService;
+import com.team.socialnetwork.security.TokenRevocationList;
+import com.team.socialnetwork.security.VerifiedToken;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuthChannelInterceptor Tests")
+class AuthChannelInterceptorTest {
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
+    @Mock
+    private AccountStatusCache accountStatusCache;
+
+    private AuthChannelInterceptor interceptor;
+
+    private static final Instant ISSUED_AT = Instant.now();
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new AuthChannelInterceptor(jwtService, tokenRevocationList, accountStatusCache);
+    }
+
+    private static Message<byte[]> connect(String token) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.addNativeHeader("Authorization", "Bearer " + token);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> subscribe(String destination, Long userId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination(destination);
+        accessor.setUser(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(userId, "a@example.com"), null, Collections.emptyList()));
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    @Test
+    @DisplayName("Should let a user subscribe to their own feed topic")
+    void shouldAllowOwnFeed() {
+        Message<byte[]> message = subscribe("/topic/feed/1", 1L);
+
+        assertSame(message, interceptor.preSend(message, null));
+    }
+
+    @Test
+    @DisplayName("Should reject subscriptions to another user's feed topic")
+    void shouldRejectForeignFeed() {
+        assertThrows(IllegalArgumentException.class, () -> interceptor.preSend(subscribe("/topic/feed/2", 1L), null));
+    }
+
+    @Test
+    @DisplayName("Should authenticate CONNECT from a single token verification")
+    void shouldAuthenticateConnect() {
+        VerifiedToken verified = new VerifiedToken("token-id", "a@example.com", 1L, ISSUED_AT, ISSUED_AT.plusSeconds(600), null);
+        when(jwtService.verify("token")).thenReturn(verified);
+        when(accountStatusCache.isActive(1L, "a@example.com", ISSUED_AT)).thenReturn(true);
+
+        Message<byte[]> message = connect("token");
+        interceptor.preSend(message, null);
+
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        assertEquals("a@example.com", accessor.getUser().getName());
+        verify(jwtService).verify("token");
+        verifyNoMoreInteractions(jwtService);
+    }
+
+    @Test
+    @DisplayName("Should reject CONNECT with a token issued before the last password change")
+    void shouldRejectConnectWithStaleToken() {
+        VerifiedToken verified = new VerifiedToken("token-id", "a@example.com", 1L, ISSUED_AT, ISSUED_AT.plusSeconds(600), null);
+        when(jwtService.verify("token")).thenReturn(verified);
+        when(accountStatusCache.isActive(1L, "a@example.com", ISSUED_AT)).thenReturn(false);
+
+        assertThrows(IllegalArgumentException.class, () -> interceptor.preSend(connect("token"), null));
+    }
+}
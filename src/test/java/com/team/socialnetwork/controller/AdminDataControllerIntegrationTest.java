@@ -0,0 +1,142 @@
+package com.team.socialnetwork.controller;
+
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.team.socialnetwork.entity.Post;
+import com.team.socialnetwork.entity.User;
+import com.team.socialnetwork.repository.PostRepository;
+import com.team.socialnetwork.repository.UserRepository;
+import com.team.socialnetwork.security.JwtService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class AdminDataControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String adminToken;
+    private String userToken;
+    private User admin;
+    private User member;
+
+    @BeforeEach
+    void setUp() {
+        // admin@example.com figura en admin.emails del perfil de test
+        admin = new User("adminuser", "admin@example.com", passwordEncoder.encode("password123"));
+        admin.setEmailConfirmed(true);
+        admin = userRepository.save(admin);
+        member = new User("memberuser", "member@example.com", passwordEncoder.encode("password123"));
+        member.setEmailConfirmed(true);
+        member = userRepository.save(member);
+
+        adminToken = jwtService.generateAccessToken(admin.getEmail(), new HashMap<>());
+        userToken = jwtService.generateAccessToken(member.getEmail(), new HashMap<>());
+    }
+
+    @Test
+    void testImportFollowEdgesFromCsv() throws Exception {
+        Post post = postRepository.save(new Post("hola", null, admin));
+        String csv = "follower_id,followed_id\n" + member.getId() + "," + admin.getId() + "\n";
+
+        mockMvc.perform(post("/admin/data/import/user_following")
+                        .param("format", "csv")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Imported 1 rows into user_following"));
+
+        // La arista existe y los contadores se reconstruyen tras la importación
+        assertEquals(1, userRepository.countFollowers(admin.getId()));
+        assertEquals(1L, jdbcTemplate.queryForObject(
+                "select followers_count from users where id = ?", Long.class, admin.getId()));
+        // Y el timeline del nuevo seguidor recibe las publicaciones existentes del autor
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(*) from timeline_entries where user_id = ? and post_id = ?", Integer.class,
+                member.getId(), post.getId()));
+    }
+
+    @Test
+    void testImportRejectsMalformedRows() throws Exception {
+        mockMvc.perform(post("/admin/data/import/user_following")
+                        .param("format", "csv")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType("text/csv")
+                        .content("follower_id\n1\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testExportStreamsAsAttachment() throws Exception {
+        MvcResult result = mockMvc.perform(get("/admin/data/export/user_following")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(3600000L, result.getRequest().getAsyncContext().getTimeout());
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.parseMediaType("application/x-ndjson")))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"user_following.ndjson\""));
+    }
+
+    @Test
+    void testMetricsAreAdminOnly() throws Exception {
+        mockMvc.perform(get("/actuator/metrics")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testNonAdminIsForbidden() throws Exception {
+        mockMvc.perform(get("/admin/data/export/users")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/admin/data/export/comments")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isNotFound());
+    }
+}
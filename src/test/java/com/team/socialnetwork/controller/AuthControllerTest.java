@@ -1,6 +1,7 @@
 package com.team.socialnetwork.controller;
 
 import com.team.socialnetwork.dto.*;
+import com.team.socialnetwork.security.LoginThrottle;
 import com.team.socialnetwork.service.AuthService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,12 +9,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.server.ResponseStatusException;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -26,6 +33,9 @@ class AuthControllerTest {
     @Mock
     private AuthService authService;
 
+    @Mock
+    private LoginThrottle loginThrottle;
+
     @InjectMocks
     private AuthController authController;
 
@@ -60,6 +70,19 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.token").value("fake-jwt-token"));
     }
 
+    @Test
+    void testLoginThrottled() throws Exception {
+        doThrow(new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many login attempts, try again later"))
+                .when(loginThrottle).checkLogin(eq("john@example.com"), anyString());
+
+        mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"john@example.com\",\"password\":\"password123\"}"))
+                .andExpect(status().isTooManyRequests());
+
+        verify(authService, never()).login(any(LoginRequest.class));
+    }
+
     @Test
     void testConfirmEmail() throws Exception {
         MessageResponse response = new MessageResponse("Email confirmed successfully");
@@ -13,9 +13,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -24,19 +26,22 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.server.ResponseStatusException;
 
 import com.team.socialnetwork.dto.MessageResponse;
 import com.team.socialnetwork.dto.SafeUser;
+import com.team.socialnetwork.dto.UserSnapshot;
 import com.team.socialnetwork.entity.Comment;
 import com.team.socialnetwork.entity.CommentLike;
 import com.team.socialnetwork.entity.Post;
 import com.team.socialnetwork.entity.User;
 import com.team.socialnetwork.repository.CommentLikeRepository;
 import com.team.socialnetwork.repository.CommentRepository;
+import com.team.socialnetwork.repository.PostRepository;
 import com.team.socialnetwork.repository.UserRepository;
 import com.team.socialnetwork.service.NotificationService;
+import com.team.socialnetwork.service.VisibilityService;
+import com.team.socialnetwork.service.counter.PostCounterCache;
 
 @ExtendWith(MockitoExtension.class)
 class CommentsControllerTest {
@@ -54,7 +59,14 @@ class CommentsControllerTest {
     private NotificationService notificationService;
 
     @Mock
-    private Authentication authentication;
+    private PostRepository postRepository;
+
+    @Mock
+    private PostCounterCache postCounterCache;
+
+
+    @Mock
+    private VisibilityService visibilityService;
 
     @InjectMocks
     private CommentsController commentsController;
@@ -66,6 +78,10 @@ class CommentsControllerTest {
 
     @BeforeEach
     void setUp() {
+        // Mirrors VisibilityService for the fixtures here: nobody follows a private author
+        lenient().when(visibilityService.canView(anyLong(), any(User.class)))
+                .thenAnswer(inv -> !inv.<User>getArgument(1).isPrivate());
+
         testUser = new User("testuser", "test@example.com", "password123");
         testUser.setId(1L);
         testUser.setFullName("Test User");
@@ -81,59 +97,50 @@ class CommentsControllerTest {
         testComment.setId(1L);
     }
 
+    private static UserSnapshot snapshot(User user) {
+        return new UserSnapshot(user.getId(), user.getEmail(), user.getUsername(), user.isPrivate());
+    }
+
     @Test
     void testDeleteComment_Success() {
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(commentRepository.findById(1L)).thenReturn(Optional.of(testComment));
 
-        ResponseEntity<MessageResponse> response = commentsController.deleteComment(authentication, 1L);
+        ResponseEntity<MessageResponse> response = commentsController.deleteComment(snapshot(testUser), 1L);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Comment deleted successfully", response.getBody().getMessage());
         verify(commentLikeRepository).deleteByCommentId(1L);
         verify(commentRepository).delete(testComment);
+        verify(postRepository).addToCommentCount(testComment.getPost().getId(), -1);
     }
 
     @Test
     void testDeleteComment_NotOwner() {
         User anotherUser = new User("another", "another@example.com", "pass");
         anotherUser.setId(3L);
-        
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("another@example.com");
-        when(userRepository.findByEmail("another@example.com")).thenReturn(Optional.of(anotherUser));
         when(commentRepository.findById(1L)).thenReturn(Optional.of(testComment));
 
         assertThrows(ResponseStatusException.class, () -> 
-            commentsController.deleteComment(authentication, 1L)
+            commentsController.deleteComment(snapshot(anotherUser), 1L)
         );
     }
 
     @Test
     void testDeleteComment_PrivateAccount() {
         postAuthor.setPrivate(true);
-        
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(commentRepository.findById(1L)).thenReturn(Optional.of(testComment));
 
         assertThrows(ResponseStatusException.class, () -> 
-            commentsController.deleteComment(authentication, 1L)
+            commentsController.deleteComment(snapshot(testUser), 1L)
         );
     }
 
     @Test
     void testCountCommentLikes_Success() {
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(commentRepository.findById(1L)).thenReturn(Optional.of(testComment));
         when(commentLikeRepository.countByCommentId(1L)).thenReturn(5L);
 
-        ResponseEntity<Map<String, Long>> response = commentsController.countCommentLikes(authentication, 1L);
+        ResponseEntity<Map<String, Long>> response = commentsController.countCommentLikes(snapshot(testUser), 1L);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(5L, response.getBody().get("count"));
@@ -147,14 +154,10 @@ class CommentsControllerTest {
         
         CommentLike commentLike = new CommentLike(liker, testComment);
         Page<CommentLike> likesPage = new PageImpl<>(Arrays.asList(commentLike));
-
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(commentRepository.findById(1L)).thenReturn(Optional.of(testComment));
         when(commentLikeRepository.findByCommentId(eq(1L), any(Pageable.class))).thenReturn(likesPage);
 
-        ResponseEntity<List<SafeUser>> response = commentsController.listCommentLikes(authentication, 1L, 0, 10);
+        ResponseEntity<List<SafeUser>> response = commentsController.listCommentLikes(snapshot(testUser), 1L, 0, 10);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(1, response.getBody().size());
@@ -162,13 +165,10 @@ class CommentsControllerTest {
 
     @Test
     void testLikeComment_Success() {
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(commentRepository.findById(1L)).thenReturn(Optional.of(testComment));
         when(commentLikeRepository.existsByUserIdAndCommentId(1L, 1L)).thenReturn(false);
 
-        ResponseEntity<MessageResponse> response = commentsController.likeComment(authentication, 1L);
+        ResponseEntity<MessageResponse> response = commentsController.likeComment(snapshot(testUser), 1L);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Comment liked successfully", response.getBody().getMessage());
@@ -177,40 +177,30 @@ class CommentsControllerTest {
 
     @Test
     void testLikeComment_AlreadyLiked() {
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(commentRepository.findById(1L)).thenReturn(Optional.of(testComment));
         when(commentLikeRepository.existsByUserIdAndCommentId(1L, 1L)).thenReturn(true);
 
         assertThrows(ResponseStatusException.class, () -> 
-            commentsController.likeComment(authentication, 1L)
+            commentsController.likeComment(snapshot(testUser), 1L)
         );
     }
 
     @Test
     void testLikeComment_PrivateAccount() {
         postAuthor.setPrivate(true);
-        
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(commentRepository.findById(1L)).thenReturn(Optional.of(testComment));
 
         assertThrows(ResponseStatusException.class, () -> 
-            commentsController.likeComment(authentication, 1L)
+            commentsController.likeComment(snapshot(testUser), 1L)
         );
     }
 
     @Test
     void testUnlikeComment_Success() {
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(commentRepository.findById(1L)).thenReturn(Optional.of(testComment));
         when(commentLikeRepository.deleteByUserIdAndCommentId(1L, 1L)).thenReturn(1);
 
-        ResponseEntity<MessageResponse> response = commentsController.unlikeComment(authentication, 1L);
+        ResponseEntity<MessageResponse> response = commentsController.unlikeComment(snapshot(testUser), 1L);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Comment unliked successfully", response.getBody().getMessage());
@@ -218,26 +208,20 @@ class CommentsControllerTest {
 
     @Test
     void testUnlikeComment_NotLiked() {
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(commentRepository.findById(1L)).thenReturn(Optional.of(testComment));
         when(commentLikeRepository.deleteByUserIdAndCommentId(1L, 1L)).thenReturn(0);
 
         assertThrows(ResponseStatusException.class, () -> 
-            commentsController.unlikeComment(authentication, 1L)
+            commentsController.unlikeComment(snapshot(testUser), 1L)
         );
     }
 
     @Test
     void testCheckCommentLike_Success() {
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(commentRepository.findById(1L)).thenReturn(Optional.of(testComment));
         when(commentLikeRepository.existsByUserIdAndCommentId(1L, 1L)).thenReturn(true);
 
-        ResponseEntity<Map<String, Boolean>> response = commentsController.checkCommentLike(authentication, 1L);
+        ResponseEntity<Map<String, Boolean>> response = commentsController.checkCommentLike(snapshot(testUser), 1L);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(response.getBody().get("liked"));
@@ -245,13 +229,10 @@ class CommentsControllerTest {
 
     @Test
     void testCheckCommentLike_NotLiked() {
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(commentRepository.findById(1L)).thenReturn(Optional.of(testComment));
         when(commentLikeRepository.existsByUserIdAndCommentId(1L, 1L)).thenReturn(false);
 
-        ResponseEntity<Map<String, Boolean>> response = commentsController.checkCommentLike(authentication, 1L);
+        ResponseEntity<Map<String, Boolean>> response = commentsController.checkCommentLike(snapshot(testUser), 1L);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertFalse(response.getBody().get("liked"));
@@ -259,22 +240,10 @@ class CommentsControllerTest {
 
     @Test
     void testCommentNotFound() {
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(commentRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(ResponseStatusException.class, () -> 
-            commentsController.deleteComment(authentication, 999L)
-        );
-    }
-
-    @Test
-    void testUnauthorized() {
-        when(authentication.isAuthenticated()).thenReturn(false);
-
-        assertThrows(ResponseStatusException.class, () -> 
-            commentsController.deleteComment(authentication, 1L)
+            commentsController.deleteComment(snapshot(testUser), 999L)
         );
     }
 }
@@ -30,6 +30,7 @@ import com.team.socialnetwork.repository.PostLikeRepository;
 import com.team.socialnetwork.repository.PostRepository;
 import com.team.socialnetwork.repository.UserRepository;
 import com.team.socialnetwork.security.JwtService;
+import com.team.socialnetwork.service.feed.FeedFanoutService;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -61,6 +62,9 @@ class PostsControllerIntegrationTest {
     @Autowired
     private JwtService jwtService;
 
+    @Autowired
+    private FeedFanoutService feedFanoutService;
+
     private String token;
     private User testUser;
     private Post testPost;
@@ -209,6 +213,29 @@ class PostsControllerIntegrationTest {
                 .andExpect(jsonPath("$.count").value(1));
     }
 
+    @Test
+    void testGetPostUsesDenormalizedCounters() throws Exception {
+        mockMvc.perform(post("/posts/" + testPost.getId() + "/likes")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        // Detalle del post con contadores actualizados
+        mockMvc.perform(get("/posts/" + testPost.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.likesCount").value(1))
+                .andExpect(jsonPath("$.commentsCount").value(0));
+
+        mockMvc.perform(delete("/posts/" + testPost.getId() + "/likes")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/posts/" + testPost.getId() + "/likes/count")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(0));
+    }
+
     @Test
     void testListPostLikes() throws Exception {
         // Like el post
@@ -295,6 +322,7 @@ class PostsControllerIntegrationTest {
         // Crear post del usuario seguido
         Post followedPost = new Post("Followed user post", null, followedUser);
         postRepository.save(followedPost);
+        feedFanoutService.onPostCreated(followedPost.getId(), followedUser.getId(), followedPost.getCreatedAt());
 
         // Obtener feed
         mockMvc.perform(get("/posts/feed")
@@ -304,6 +332,75 @@ class PostsControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].description").value("Followed user post"));
     }
 
+    @Test
+    void testFeedByCursorWalksAllPages() throws Exception {
+        User followedUser = new User("followed", "followed@example.com", passwordEncoder.encode("password123"));
+        followedUser.setEmailConfirmed(true);
+        followedUser = userRepository.save(followedUser);
+
+        testUser.getFollowing().add(followedUser);
+        userRepository.save(testUser);
+
+        for (int i = 1; i <= 3; i++) {
+            Post post = postRepository.save(new Post("Post " + i, null, followedUser));
+            feedFanoutService.onPostCreated(post.getId(), followedUser.getId(), post.getCreatedAt());
+        }
+
+        // Primera página con cursor
+        String body = mockMvc.perform(get("/posts/feed/cursor").param("size", "2")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].description").value("Post 3"))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = com.jayway.jsonpath.JsonPath.read(body, "$.nextCursor");
+
+        // Segunda página: continúa donde terminó la primera
+        mockMvc.perform(get("/posts/feed/cursor").param("size", "2").param("cursor", cursor)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].description").value("Post 1"))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void testFeedSinceReturnsOnlyNewerPosts() throws Exception {
+        User followedUser = new User("followed", "followed@example.com", passwordEncoder.encode("password123"));
+        followedUser.setEmailConfirmed(true);
+        followedUser = userRepository.save(followedUser);
+
+        testUser.getFollowing().add(followedUser);
+        userRepository.save(testUser);
+
+        Post first = postRepository.save(new Post("Old post", null, followedUser));
+        feedFanoutService.onPostCreated(first.getId(), followedUser.getId(), first.getCreatedAt());
+
+        String body = mockMvc.perform(get("/posts/feed/cursor")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Number headId = com.jayway.jsonpath.JsonPath.read(body, "$.items[0].id");
+        String head = new com.team.socialnetwork.service.feed.FeedCursor(first.getCreatedAt(), headId.longValue()).encode();
+
+        // Nada nuevo todavía
+        mockMvc.perform(get("/posts/feed/since").param("cursor", head)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(0)));
+
+        Post second = postRepository.save(new Post("New post", null, followedUser));
+        feedFanoutService.onPostCreated(second.getId(), followedUser.getId(), second.getCreatedAt());
+
+        mockMvc.perform(get("/posts/feed/since").param("cursor", head)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].description").value("New post"))
+                .andExpect(jsonPath("$.truncated").value(false));
+    }
+
     @Test
     void testFeedEmptyWhenNotFollowing() throws Exception {
         mockMvc.perform(get("/posts/feed")
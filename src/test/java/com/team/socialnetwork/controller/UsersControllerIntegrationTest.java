@@ -24,9 +24,11 @@ import org.springframework.transaction.annotation.Transactional;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.team.socialnetwork.dto.UpdateProfileRequest;
 import com.team.socialnetwork.entity.FollowRequest;
+import com.team.socialnetwork.entity.FollowSuggestion;
 import com.team.socialnetwork.entity.Post;
 import com.team.socialnetwork.entity.User;
 import com.team.socialnetwork.repository.FollowRequestRepository;
+import com.team.socialnetwork.repository.FollowSuggestionRepository;
 import com.team.socialnetwork.repository.PostRepository;
 import com.team.socialnetwork.repository.UserRepository;
 import com.team.socialnetwork.security.JwtService;
@@ -52,6 +54,9 @@ class UsersControllerIntegrationTest {
     @Autowired
     private FollowRequestRepository followRequestRepository;
 
+    @Autowired
+    private FollowSuggestionRepository followSuggestionRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -120,6 +125,220 @@ class UsersControllerIntegrationTest {
                 .andExpect(jsonPath("$.message").value("Followed successfully"));
     }
 
+    @Test
+    void testFollowAndUnfollowMaintainCounters() throws Exception {
+        mockMvc.perform(post("/users/" + targetUser.getId() + "/follow")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        // Los contadores se leen de la columna desnormalizada
+        mockMvc.perform(get("/users/" + targetUser.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.followersCount").value(1))
+                .andExpect(jsonPath("$.followingCount").value(0));
+        mockMvc.perform(get("/users/" + testUser.getId() + "/following/count")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(1));
+
+        mockMvc.perform(delete("/users/" + targetUser.getId() + "/follow")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/users/" + targetUser.getId() + "/followers/count")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(0));
+    }
+
+    @Test
+    void testListFollowersPaginatesByCursor() throws Exception {
+        User third = new User("thirduser", "third@example.com", passwordEncoder.encode("password123"));
+        third.setEmailConfirmed(true);
+        third = userRepository.save(third);
+        testUser.getFollowing().add(targetUser);
+        third.getFollowing().add(targetUser);
+        userRepository.save(testUser);
+        userRepository.save(third);
+
+        String next = mockMvc.perform(get("/users/" + targetUser.getId() + "/followers").param("size", "1")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].username").value("testuser"))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andReturn().getResponse().getContentAsString();
+        next = com.jayway.jsonpath.JsonPath.read(next, "$.nextCursor");
+
+        // La segunda página empieza después del cursor y es la última
+        mockMvc.perform(get("/users/" + targetUser.getId() + "/followers").param("size", "1").param("cursor", next)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].username").value("thirduser"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void testBatchRelationships() throws Exception {
+        User privateUser = new User("privateuser", "private@example.com", passwordEncoder.encode("password123"));
+        privateUser.setPrivate(true);
+        privateUser.setEmailConfirmed(true);
+        privateUser = userRepository.save(privateUser);
+        testUser.getFollowing().add(targetUser);
+        userRepository.save(testUser);
+        followRequestRepository.save(new FollowRequest(testUser, privateUser));
+
+        String body = "{\"userIds\":[" + targetUser.getId() + "," + privateUser.getId() + "]}";
+        mockMvc.perform(post("/users/relationships")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['" + targetUser.getId() + "'].following").value(true))
+                .andExpect(jsonPath("$['" + targetUser.getId() + "'].requested").value(false))
+                .andExpect(jsonPath("$['" + privateUser.getId() + "'].following").value(false))
+                .andExpect(jsonPath("$['" + privateUser.getId() + "'].requested").value(true));
+
+        // Lista vacía
+        mockMvc.perform(post("/users/relationships")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userIds\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testFollowRequestInboxPaginatesByCursor() throws Exception {
+        testUser.setPrivate(true);
+        userRepository.save(testUser);
+        User third = new User("thirduser", "third@example.com", passwordEncoder.encode("password123"));
+        third.setEmailConfirmed(true);
+        third = userRepository.save(third);
+        User fourth = new User("fourthuser", "fourth@example.com", passwordEncoder.encode("password123"));
+        fourth.setEmailConfirmed(true);
+        fourth = userRepository.save(fourth);
+        followRequestRepository.save(new FollowRequest(targetUser, testUser));
+        followRequestRepository.save(new FollowRequest(third, testUser));
+        followRequestRepository.save(new FollowRequest(fourth, testUser));
+
+        // Primera página: las dos solicitudes más recientes y cursor para la siguiente
+        String cursor = mockMvc.perform(get("/users/me/follow-requests")
+                        .param("size", "2")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].followerUsername").value("fourthuser"))
+                .andExpect(jsonPath("$.items[1].followerUsername").value("thirduser"))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andReturn().getResponse().getContentAsString();
+        cursor = com.jayway.jsonpath.JsonPath.read(cursor, "$.nextCursor");
+
+        mockMvc.perform(get("/users/me/follow-requests")
+                        .param("size", "2")
+                        .param("cursor", cursor)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].followerUsername").value("targetuser"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void testBulkAcceptAllFollowRequests() throws Exception {
+        testUser.setPrivate(true);
+        userRepository.save(testUser);
+        User third = new User("thirduser", "third@example.com", passwordEncoder.encode("password123"));
+        third.setEmailConfirmed(true);
+        third = userRepository.save(third);
+        followRequestRepository.save(new FollowRequest(targetUser, testUser));
+        followRequestRepository.save(new FollowRequest(third, testUser));
+
+        mockMvc.perform(post("/users/me/follow-requests/bulk")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"action\":\"accept\",\"all\":true}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("2 follow requests accepted"));
+
+        // Las aristas y los contadores se escriben con sentencias por conjuntos
+        mockMvc.perform(get("/users/" + testUser.getId() + "/followers/count")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(2));
+        mockMvc.perform(get("/users/" + third.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.followingCount").value(1));
+        mockMvc.perform(get("/users/me/follow-requests")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(0)));
+    }
+
+    @Test
+    void testBulkRejectFollowRequestsById() throws Exception {
+        testUser.setPrivate(true);
+        userRepository.save(testUser);
+        User third = new User("thirduser", "third@example.com", passwordEncoder.encode("password123"));
+        third.setEmailConfirmed(true);
+        third = userRepository.save(third);
+        FollowRequest rejected = followRequestRepository.save(new FollowRequest(targetUser, testUser));
+        followRequestRepository.save(new FollowRequest(third, testUser));
+
+        mockMvc.perform(post("/users/me/follow-requests/bulk")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"action\":\"reject\",\"requestIds\":[" + rejected.getId() + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("1 follow requests rejected"));
+
+        // Solo queda la solicitud no incluida y no se crea ninguna relación
+        mockMvc.perform(get("/users/me/follow-requests")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].followerId").value(third.getId()));
+        mockMvc.perform(get("/users/" + testUser.getId() + "/followers/count")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(0));
+
+        // Sin ids ni "all"
+        mockMvc.perform(post("/users/me/follow-requests/bulk")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"action\":\"accept\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSuggestionsSkipAlreadyFollowed() throws Exception {
+        User third = new User("thirduser", "third@example.com", passwordEncoder.encode("password123"));
+        third.setEmailConfirmed(true);
+        third = userRepository.save(third);
+        followSuggestionRepository.save(new FollowSuggestion(testUser.getId(), targetUser.getId(), 3, java.time.Instant.now()));
+        followSuggestionRepository.save(new FollowSuggestion(testUser.getId(), third.getId(), 5, java.time.Instant.now()));
+
+        mockMvc.perform(get("/users/me/suggestions")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].user.username").value("thirduser"))
+                .andExpect(jsonPath("$[0].mutualCount").value(5));
+
+        // Una vez seguido, deja de sugerirse aunque la fila siga ahí
+        mockMvc.perform(post("/users/" + third.getId() + "/follow")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/users/me/suggestions")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].user.username").value("targetuser"));
+    }
+
     @Test
     void testFollowUserAlreadyFollowing() throws Exception {
         // Seguir primero
@@ -171,8 +390,8 @@ class UsersControllerIntegrationTest {
         mockMvc.perform(get("/users/" + testUser.getId() + "/followers")
                         .header("Authorization", "Bearer " + token))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].username").value("targetuser"));
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].username").value("targetuser"));
     }
 
     @Test
@@ -184,8 +403,8 @@ class UsersControllerIntegrationTest {
         mockMvc.perform(get("/users/" + testUser.getId() + "/following")
                         .header("Authorization", "Bearer " + token))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].username").value("targetuser"));
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].username").value("targetuser"));
     }
 
     @Test
@@ -1,30 +1,40 @@
 package com.team.socialnetwork.controller;
 
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.team.socialnetwork.dto.BulkFollowRequestActionRequest;
+import com.team.socialnetwork.dto.CursorPageResponse;
+import com.team.socialnetwork.dto.FollowRequestCursor;
 import com.team.socialnetwork.dto.ChangeNameRequest;
 import com.team.socialnetwork.dto.ChangePasswordRequest;
 import com.team.socialnetwork.dto.ChangeUsernameRequest;
@@ -33,19 +43,34 @@ import com.team.socialnetwork.dto.FollowRequestResponse;
 import com.team.socialnetwork.dto.MessageResponse;
 import com.team.socialnetwork.dto.PublicUserResponse;
 import com.team.socialnetwork.dto.RelationshipResponse;
+import com.team.socialnetwork.dto.RelationshipsRequest;
 import com.team.socialnetwork.dto.SafeUser;
+import com.team.socialnetwork.dto.SuggestionResponse;
 import com.team.socialnetwork.dto.UpdateProfilePictureRequest;
 import com.team.socialnetwork.dto.UpdateProfileRequest;
 import com.team.socialnetwork.dto.UpdateVisibilityRequest;
+import com.team.socialnetwork.dto.UserSnapshot;
 import com.team.socialnetwork.entity.FollowRequest;
 import com.team.socialnetwork.entity.Post;
 import com.team.socialnetwork.entity.User;
 import com.team.socialnetwork.repository.CommentLikeRepository;
 import com.team.socialnetwork.repository.CommentRepository;
+import com.team.socialnetwork.repository.FollowEdgeBatchRepository;
+import com.team.socialnetwork.repository.FollowRepository;
 import com.team.socialnetwork.repository.FollowRequestRepository;
 import com.team.socialnetwork.repository.PostRepository;
+import com.team.socialnetwork.repository.TimelineEntryRepository;
+import com.team.socialnetwork.repository.FollowSuggestionRepository;
 import com.team.socialnetwork.repository.UserRepository;
+import com.team.socialnetwork.security.AccountStatusCache;
+import com.team.socialnetwork.security.PasswordHasher;
+import com.team.socialnetwork.security.TokenRevocationList;
+import com.team.socialnetwork.service.FollowService;
 import com.team.socialnetwork.service.NotificationService;
+import com.team.socialnetwork.service.VisibilityService;
+import com.team.socialnetwork.service.feed.FeedFanoutService;
+import com.team.socialnetwork.service.graph.FollowGraph;
+import com.team.socialnetwork.service.graph.FollowSuggestionService;
 
 @ExtendWith(MockitoExtension.class)
 class UsersControllerTest {
@@ -54,7 +79,7 @@ class UsersControllerTest {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     @Mock
     private PostRepository postRepository;
@@ -72,7 +97,38 @@ class UsersControllerTest {
     private NotificationService notificationService;
 
     @Mock
-    private Authentication authentication;
+    private TimelineEntryRepository timelineEntryRepository;
+
+    @Mock
+    private FeedFanoutService feedFanoutService;
+
+
+    @Mock
+    private VisibilityService visibilityService;
+
+    @Mock
+    private FollowGraph followGraph;
+
+    @Mock
+    private FollowSuggestionService followSuggestionService;
+
+    @Mock
+    private FollowSuggestionRepository followSuggestionRepository;
+
+    @Mock
+    private FollowRepository followRepository;
+
+    @Mock
+    private FollowEdgeBatchRepository followEdgeBatchRepository;
+
+    @Mock
+    private FollowService followService;
+
+    @Mock
+    private AccountStatusCache accountStatusCache;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
 
     @InjectMocks
     private UsersController usersController;
@@ -82,6 +138,10 @@ class UsersControllerTest {
 
     @BeforeEach
     void setUp() {
+        // Mirrors VisibilityService for the fixtures here: nobody follows a private author
+        lenient().when(visibilityService.canView(anyLong(), any(User.class)))
+                .thenAnswer(inv -> !inv.<User>getArgument(1).isPrivate());
+
         testUser = new User("testuser", "test@example.com", "password123");
         testUser.setId(1L);
         testUser.setFullName("Test User");
@@ -91,13 +151,14 @@ class UsersControllerTest {
         targetUser.setFullName("Target User");
     }
 
+    private static UserSnapshot snapshot(User user) {
+        return new UserSnapshot(user.getId(), user.getEmail(), user.getUsername(), user.isPrivate());
+    }
+
     @Test
     void testGetMe_Success() {
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
 
-        ResponseEntity<PublicUserResponse> response = usersController.me(authentication);
+        ResponseEntity<PublicUserResponse> response = usersController.me(testUser);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -106,13 +167,10 @@ class UsersControllerTest {
 
     @Test
     void testUpdateVisibility_Success() {
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
 
         UpdateVisibilityRequest request = new UpdateVisibilityRequest();
         request.setIsPrivate(true);
-        ResponseEntity<MessageResponse> response = usersController.updateVisibility(authentication, request);
+        ResponseEntity<MessageResponse> response = usersController.updateVisibility(testUser, request);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Visibility updated", response.getBody().getMessage());
@@ -121,28 +179,47 @@ class UsersControllerTest {
 
     @Test
     void testFollow_PublicUser_Success() {
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(userRepository.findById(2L)).thenReturn(Optional.of(targetUser));
+        when(followService.follow(1L, 2L)).thenReturn(true);
 
-        ResponseEntity<MessageResponse> response = usersController.follow(authentication, 2L);
+        ResponseEntity<MessageResponse> response = usersController.follow(snapshot(testUser), 2L);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Followed successfully", response.getBody().getMessage());
-        verify(userRepository).save(testUser);
+        verify(userRepository, never()).save(any(User.class));
+        verify(followGraph).addEdge(1L, 2L);
+        verify(followSuggestionService).onFollowChanged(1L, 2L);
+        verify(feedFanoutService).onFollow(1L, 2L);
+    }
+
+    @Test
+    void testFollow_DefersSideEffectsUntilCommit() {
+        when(userRepository.findById(2L)).thenReturn(Optional.of(targetUser));
+        when(followService.follow(1L, 2L)).thenReturn(true);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            usersController.follow(snapshot(testUser), 2L);
+
+            verify(followGraph, never()).addEdge(anyLong(), anyLong());
+            verify(feedFanoutService, never()).onFollow(anyLong(), anyLong());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(followGraph).addEdge(1L, 2L);
+        verify(feedFanoutService).onFollow(1L, 2L);
     }
 
     @Test
     void testFollow_PrivateUser_SendsRequest() {
         targetUser.setPrivate(true);
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(userRepository.findById(2L)).thenReturn(Optional.of(targetUser));
         when(followRequestRepository.existsByFollowerIdAndTargetId(1L, 2L)).thenReturn(false);
 
-        ResponseEntity<MessageResponse> response = usersController.follow(authentication, 2L);
+        ResponseEntity<MessageResponse> response = usersController.follow(snapshot(testUser), 2L);
 
         assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
         assertEquals("Follow request sent", response.getBody().getMessage());
@@ -151,56 +228,67 @@ class UsersControllerTest {
 
     @Test
     void testFollow_AlreadyFollowing() {
-        testUser.setFollowing(new HashSet<>(Arrays.asList(targetUser)));
-        
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(userRepository.findById(2L)).thenReturn(Optional.of(targetUser));
+        when(followRepository.exists(1L, 2L)).thenReturn(true);
 
         assertThrows(ResponseStatusException.class, () -> 
-            usersController.follow(authentication, 2L)
+            usersController.follow(snapshot(testUser), 2L)
         );
     }
 
+    @Test
+    void testFollow_ConcurrentDuplicateInsertsNothing() {
+        when(userRepository.findById(2L)).thenReturn(Optional.of(targetUser));
+        when(followService.follow(1L, 2L)).thenReturn(false);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () ->
+            usersController.follow(snapshot(testUser), 2L)
+        );
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+        verify(followGraph, never()).addEdge(anyLong(), anyLong());
+        verify(feedFanoutService, never()).onFollow(anyLong(), anyLong());
+    }
+
+    @Test
+    void testFollow_AlreadyFollowingPerFollowGraph() {
+        when(userRepository.findById(2L)).thenReturn(Optional.of(targetUser));
+        when(followGraph.isReady()).thenReturn(true);
+        when(followGraph.follows(1L, 2L)).thenReturn(true);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () ->
+            usersController.follow(snapshot(testUser), 2L)
+        );
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+    }
+
     @Test
     void testFollow_CannotFollowSelf() {
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
 
         assertThrows(ResponseStatusException.class, () -> 
-            usersController.follow(authentication, 1L)
+            usersController.follow(snapshot(testUser), 1L)
         );
     }
 
     @Test
     void testUnfollow_Success() {
-        testUser.setFollowing(new HashSet<>(Arrays.asList(targetUser)));
-        
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(userRepository.findById(2L)).thenReturn(Optional.of(targetUser));
+        when(followService.unfollow(1L, 2L)).thenReturn(true);
 
-        ResponseEntity<MessageResponse> response = usersController.unfollow(authentication, 2L);
+        ResponseEntity<MessageResponse> response = usersController.unfollow(snapshot(testUser), 2L);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Unfollowed successfully", response.getBody().getMessage());
-        verify(userRepository).save(testUser);
+        verify(userRepository, never()).save(any(User.class));
+        verify(followGraph).removeEdge(1L, 2L);
     }
 
     @Test
     void testUnfollow_CancelPendingRequest() {
         FollowRequest followRequest = new FollowRequest(testUser, targetUser);
-        
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(userRepository.findById(2L)).thenReturn(Optional.of(targetUser));
         when(followRequestRepository.findByFollowerIdAndTargetId(1L, 2L)).thenReturn(Optional.of(followRequest));
 
-        ResponseEntity<MessageResponse> response = usersController.unfollow(authentication, 2L);
+        ResponseEntity<MessageResponse> response = usersController.unfollow(snapshot(testUser), 2L);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Follow request canceled", response.getBody().getMessage());
@@ -210,32 +298,25 @@ class UsersControllerTest {
     @Test
     void testApproveFollow_Success() {
         FollowRequest followRequest = new FollowRequest(targetUser, testUser);
-        
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(userRepository.findById(2L)).thenReturn(Optional.of(targetUser));
         when(followRequestRepository.findByFollowerIdAndTargetId(2L, 1L)).thenReturn(Optional.of(followRequest));
+        when(followService.acceptRequest(followRequest)).thenReturn(true);
 
-        ResponseEntity<MessageResponse> response = usersController.approveFollow(authentication, 2L);
+        ResponseEntity<MessageResponse> response = usersController.approveFollow(snapshot(testUser), 2L);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Follow request approved", response.getBody().getMessage());
-        verify(followRequestRepository).delete(followRequest);
-        verify(userRepository).save(targetUser);
+        verify(followGraph).addEdge(2L, 1L);
+        verify(feedFanoutService).onFollow(2L, 1L);
     }
 
     @Test
     void testRejectFollow_Success() {
         FollowRequest followRequest = new FollowRequest(targetUser, testUser);
-        
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(userRepository.findById(2L)).thenReturn(Optional.of(targetUser));
         when(followRequestRepository.findByFollowerIdAndTargetId(2L, 1L)).thenReturn(Optional.of(followRequest));
 
-        ResponseEntity<MessageResponse> response = usersController.rejectFollow(authentication, 2L);
+        ResponseEntity<MessageResponse> response = usersController.rejectFollow(snapshot(testUser), 2L);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Follow request rejected", response.getBody().getMessage());
@@ -244,18 +325,15 @@ class UsersControllerTest {
 
     @Test
     void testRemoveFollower_Success() {
-        targetUser.setFollowing(new HashSet<>(Arrays.asList(testUser)));
-        testUser.setFollowers(new HashSet<>(Arrays.asList(targetUser)));
-        
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(userRepository.findById(2L)).thenReturn(Optional.of(targetUser));
+        when(followService.unfollow(2L, 1L)).thenReturn(true);
 
-        ResponseEntity<MessageResponse> response = usersController.removeFollower(authentication, 2L);
+        ResponseEntity<MessageResponse> response = usersController.removeFollower(snapshot(testUser), 2L);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Follower removed successfully", response.getBody().getMessage());
+        verify(followGraph).removeEdge(2L, 1L);
+        verify(feedFanoutService).onUnfollow(2L, 1L);
     }
 
     @Test
@@ -290,45 +368,197 @@ class UsersControllerTest {
 
     @Test
     void testListFollowers_Success() {
-        testUser.setFollowers(new HashSet<>(Arrays.asList(targetUser)));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.findFollowersPage(1L, 0L, PageRequest.of(0, 51))).thenReturn(List.of(projection(targetUser)));
 
-        ResponseEntity<List<SafeUser>> response = usersController.listFollowers(1L);
+        ResponseEntity<CursorPageResponse<SafeUser>> response = usersController.listFollowers(1L, null, 50);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(1, response.getBody().size());
+        assertEquals(1, response.getBody().getItems().size());
+        assertEquals("targetuser", response.getBody().getItems().get(0).getUsername());
+        assertNull(response.getBody().getNextCursor());
+        assertFalse(response.getBody().isHasMore());
+    }
+
+    @Test
+    void testListFollowers_ReturnsNextCursorWhenMorePagesExist() {
+        User third = new User("third", "third@example.com", "pass");
+        third.setId(3L);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.findFollowersPage(1L, 0L, PageRequest.of(0, 2))).thenReturn(List.of(projection(targetUser), projection(third)));
+
+        ResponseEntity<CursorPageResponse<SafeUser>> response = usersController.listFollowers(1L, null, 1);
+
+        assertEquals(1, response.getBody().getItems().size());
+        assertEquals("2", response.getBody().getNextCursor());
+        assertTrue(response.getBody().isHasMore());
+    }
+
+    @Test
+    void testListFollowers_UserNotFound() {
+        when(userRepository.existsById(99L)).thenReturn(false);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () ->
+            usersController.listFollowers(99L, null, 50)
+        );
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
     }
 
     @Test
     void testListFollowing_Success() {
-        testUser.setFollowing(new HashSet<>(Arrays.asList(targetUser)));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.findFollowingPage(1L, 2L, PageRequest.of(0, 11))).thenReturn(List.of(projection(targetUser)));
 
-        ResponseEntity<List<SafeUser>> response = usersController.listFollowing(1L);
+        ResponseEntity<CursorPageResponse<SafeUser>> response = usersController.listFollowing(1L, 2L, 10);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(1, response.getBody().size());
+        assertEquals(1, response.getBody().getItems().size());
     }
 
     @Test
     void testRelationship_Success() {
-        testUser.setFollowing(new HashSet<>(Arrays.asList(targetUser)));
-        
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(userRepository.findById(2L)).thenReturn(Optional.of(targetUser));
+        when(followRepository.exists(1L, 2L)).thenReturn(true);
         when(followRequestRepository.existsByFollowerIdAndTargetId(1L, 2L)).thenReturn(false);
 
-        ResponseEntity<RelationshipResponse> response = usersController.relationship(authentication, 2L);
+        ResponseEntity<RelationshipResponse> response = usersController.relationship(snapshot(testUser), 2L);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(response.getBody().isFollowing());
     }
 
+    @Test
+    void testRelationships_UsesSetQueries() {
+        Set<Long> ids = new java.util.LinkedHashSet<>(List.of(2L, 3L, 4L));
+        when(userRepository.findFollowedAmong(1L, ids)).thenReturn(List.of(2L));
+        when(userRepository.findFollowersAmong(1L, ids)).thenReturn(List.of(2L, 3L));
+        when(followRequestRepository.findTargetIdsAmong(1L, ids)).thenReturn(List.of(4L));
+
+        ResponseEntity<Map<Long, RelationshipResponse>> response =
+                usersController.relationships(snapshot(testUser), new RelationshipsRequest(List.of(2L, 3L, 4L, 2L)));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3, response.getBody().size());
+        assertTrue(response.getBody().get(2L).isFollowing());
+        assertTrue(response.getBody().get(2L).isFollowsYou());
+        assertTrue(response.getBody().get(3L).isFollowsYou());
+        assertTrue(response.getBody().get(4L).isRequested());
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void testRelationships_UsesFollowGraphWhenReady() {
+        when(followGraph.isReady()).thenReturn(true);
+        when(followGraph.follows(1L, 2L)).thenReturn(true);
+        when(followRequestRepository.findTargetIdsAmong(eq(1L), any())).thenReturn(List.of());
+
+        ResponseEntity<Map<Long, RelationshipResponse>> response =
+                usersController.relationships(snapshot(testUser), new RelationshipsRequest(List.of(2L)));
+
+        assertTrue(response.getBody().get(2L).isFollowing());
+        verify(userRepository, never()).findFollowedAmong(anyLong(), any());
+    }
+
+    @Test
+    void testSuggestions_ReadsPrecomputedRows() {
+        SuggestionResponse suggestion = new SuggestionResponse(
+                new SafeUser(2L, "Target User", "targetuser", "target@example.com", null, null), 4);
+        when(followSuggestionRepository.findTopForUser(1L, PageRequest.of(0, 50))).thenReturn(List.of(suggestion));
+
+        ResponseEntity<List<SuggestionResponse>> response = usersController.suggestions(snapshot(testUser), 500);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(4, response.getBody().get(0).getMutualCount());
+    }
+
+    @Test
+    void testBulkAcceptFollowRequests_UsesSetStatements() {
+        when(followRequestRepository.findFollowerIdsByTargetIdAndIdIn(1L, List.of(10L, 11L))).thenReturn(List.of(2L, 3L));
+        // 3 already follows: the insert skips that edge and only its request is dropped
+        when(followEdgeBatchRepository.insertFromRequests(1L, List.of(2L, 3L))).thenReturn(List.of(2L));
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
+
+        ResponseEntity<MessageResponse> response = usersController.handleFollowRequestsBulk(snapshot(testUser),
+                new BulkFollowRequestActionRequest("accept", List.of(10L, 11L), false));
+
+        assertEquals("2 follow requests accepted", response.getBody().getMessage());
+        verify(userRepository).incrementFollowingCounts(List.of(2L));
+        verify(userRepository).adjustFollowersCount(1L, 1L);
+        verify(followRequestRepository).deleteByTargetAndFollowerIn(1L, List.of(2L, 3L));
+        verify(followGraph).addEdge(2L, 1L);
+        verify(feedFanoutService).onFollowedBy(List.of(2L), 1L);
+        verify(notificationService).createAndSendBulk(List.of(2L), testUser,
+                com.team.socialnetwork.entity.Notification.NotificationType.FOLLOW);
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void testBulkAcceptFollowRequests_DefersSideEffectsUntilCommit() {
+        when(followRequestRepository.findFollowerIdsByTargetIdAndIdIn(1L, List.of(10L))).thenReturn(List.of(2L));
+        when(followEdgeBatchRepository.insertFromRequests(1L, List.of(2L))).thenReturn(List.of(2L));
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            usersController.handleFollowRequestsBulk(snapshot(testUser),
+                    new BulkFollowRequestActionRequest("accept", List.of(10L), false));
+
+            verify(followGraph, never()).addEdge(anyLong(), anyLong());
+            verify(feedFanoutService, never()).onFollowedBy(any(), any());
+            verify(notificationService, never()).createAndSendBulk(any(), any(), any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(followGraph).addEdge(2L, 1L);
+        verify(feedFanoutService).onFollowedBy(List.of(2L), 1L);
+        verify(notificationService).createAndSendBulk(List.of(2L), testUser,
+                com.team.socialnetwork.entity.Notification.NotificationType.FOLLOW);
+    }
+
+    @Test
+    void testBulkAcceptFollowRequests_SkipsEdgesInsertedConcurrently() {
+        when(followRequestRepository.findFollowerIdsByTargetIdAndIdIn(1L, List.of(10L))).thenReturn(List.of(2L));
+        // The edge committed by a concurrent follow: nothing inserted, so no counters and no side effects
+        when(followEdgeBatchRepository.insertFromRequests(1L, List.of(2L))).thenReturn(List.of());
+
+        usersController.handleFollowRequestsBulk(snapshot(testUser),
+                new BulkFollowRequestActionRequest("accept", List.of(10L), false));
+
+        verify(followRequestRepository).deleteByTargetAndFollowerIn(1L, List.of(2L));
+        verify(userRepository, never()).incrementFollowingCounts(any());
+        verify(userRepository, never()).adjustFollowersCount(anyLong(), anyLong());
+        verify(followGraph, never()).addEdge(anyLong(), anyLong());
+        verify(notificationService, never()).createAndSendBulk(any(), any(), any());
+    }
+
+    @Test
+    void testBulkRejectAllFollowRequests_OnlyDeletes() {
+        when(followRequestRepository.findFollowerIdsByTargetId(1L)).thenReturn(List.of(2L, 3L));
+
+        ResponseEntity<MessageResponse> response = usersController.handleFollowRequestsBulk(snapshot(testUser),
+                new BulkFollowRequestActionRequest("reject", null, true));
+
+        assertEquals("2 follow requests rejected", response.getBody().getMessage());
+        verify(followRequestRepository).deleteByTargetAndFollowerIn(1L, List.of(2L, 3L));
+        verify(followEdgeBatchRepository, never()).insertFromRequests(anyLong(), any());
+        verify(notificationService, never()).createAndSendBulk(any(), any(), any());
+    }
+
+    @Test
+    void testBulkFollowRequests_RequiresIdsOrAll() {
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () ->
+                usersController.handleFollowRequestsBulk(snapshot(testUser),
+                        new BulkFollowRequestActionRequest("accept", List.of(), false)));
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+    }
+
     @Test
     void testCountFollowers_Success() {
-        testUser.setFollowers(new HashSet<>(Arrays.asList(targetUser)));
+        testUser.setFollowersCount(1L);
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
 
         ResponseEntity<Map<String, Long>> response = usersController.countFollowers(1L);
@@ -339,7 +569,7 @@ class UsersControllerTest {
 
     @Test
     void testCountFollowing_Success() {
-        testUser.setFollowing(new HashSet<>(Arrays.asList(targetUser)));
+        testUser.setFollowingCount(1L);
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
 
         ResponseEntity<Map<String, Long>> response = usersController.countFollowing(1L);
@@ -348,52 +578,69 @@ class UsersControllerTest {
         assertEquals(1L, response.getBody().get("count"));
     }
 
+    @Test
+    void testCountFollowers_FallsBackToCountQueryWhenNotReconciled() {
+        testUser.setFollowersCount(null);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.countFollowers(1L)).thenReturn(7L);
+
+        ResponseEntity<Map<String, Long>> response = usersController.countFollowers(1L);
+
+        assertEquals(7L, response.getBody().get("count"));
+    }
+
+    @Test
+    void testGetUserById_UsesDenormalizedCounts() {
+        testUser.setFollowersCount(100000L);
+        testUser.setFollowingCount(3L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+        ResponseEntity<PublicUserResponse> response = usersController.getUserById(1L);
+
+        assertEquals(100000L, response.getBody().getFollowersCount());
+        assertEquals(3L, response.getBody().getFollowingCount());
+        verify(userRepository, never()).countFollowers(anyLong());
+    }
+
     @Test
     void testListUserPosts_Success() {
         Post post = new Post("Test", "img.jpg", testUser);
-        
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(postRepository.findByAuthorId(1L)).thenReturn(Arrays.asList(post));
 
-        ResponseEntity<?> response = usersController.listUserPosts(authentication, 1L);
+        ResponseEntity<?> response = usersController.listUserPosts(snapshot(testUser), 1L);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
     }
 
     @Test
     void testChangePassword_Success() {
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches("oldPassword", "password123")).thenReturn(true);
-        when(passwordEncoder.matches("newPassword", "password123")).thenReturn(false);
-        when(passwordEncoder.encode("newPassword")).thenReturn("encodedNewPassword");
+        when(passwordHasher.matches("oldPassword", "password123")).thenReturn(true);
+        when(passwordHasher.matches("newPassword", "password123")).thenReturn(false);
+        when(passwordHasher.encode("newPassword")).thenReturn("encodedNewPassword");
 
         ChangePasswordRequest request = new ChangePasswordRequest();
         request.setCurrentPassword("oldPassword");
         request.setNewPassword("newPassword");
         
-        ResponseEntity<MessageResponse> response = usersController.changePassword(authentication, request);
+        ResponseEntity<MessageResponse> response = usersController.changePassword(testUser, request);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Password updated successfully", response.getBody().getMessage());
         verify(userRepository).save(testUser);
+        assertNotNull(testUser.getTokensValidAfter());
+        verify(accountStatusCache).evict(testUser.getId());
+        verify(tokenRevocationList).revokeCurrent();
     }
 
     @Test
     void testChangeUsername_Success() {
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(userRepository.existsByUsername("newusername")).thenReturn(false);
 
         ChangeUsernameRequest request = new ChangeUsernameRequest();
         request.setUsername("newusername");
         
-        ResponseEntity<MessageResponse> response = usersController.changeUsername(authentication, request);
+        ResponseEntity<MessageResponse> response = usersController.changeUsername(testUser, request);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Username updated successfully", response.getBody().getMessage());
@@ -402,29 +649,23 @@ class UsersControllerTest {
 
     @Test
     void testChangeUsername_AlreadyExists() {
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(userRepository.existsByUsername("existinguser")).thenReturn(true);
 
         ChangeUsernameRequest request = new ChangeUsernameRequest();
         request.setUsername("existinguser");
         
         assertThrows(ResponseStatusException.class, () -> 
-            usersController.changeUsername(authentication, request)
+            usersController.changeUsername(testUser, request)
         );
     }
 
     @Test
     void testChangeFullName_Success() {
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
 
         ChangeNameRequest request = new ChangeNameRequest();
         request.setName("New Full Name");
         
-        ResponseEntity<MessageResponse> response = usersController.changeFullName(authentication, request);
+        ResponseEntity<MessageResponse> response = usersController.changeFullName(testUser, request);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Full name updated successfully", response.getBody().getMessage());
@@ -433,28 +674,23 @@ class UsersControllerTest {
 
     @Test
     void testDeleteAccount_Success() {
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
 
-        ResponseEntity<MessageResponse> response = usersController.deleteAccount(authentication);
+        ResponseEntity<MessageResponse> response = usersController.deleteAccount(testUser);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Account deleted successfully", response.getBody().getMessage());
         verify(commentLikeRepository).deleteByUserId(1L);
         verify(userRepository).delete(testUser);
+        verify(tokenRevocationList).revokeCurrent();
     }
 
     @Test
     void testUpdateProfile_Success() {
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
 
         UpdateProfileRequest request = new UpdateProfileRequest();
         request.setFullName("Updated Name");
         
-        ResponseEntity<MessageResponse> response = usersController.updateProfile(authentication, request);
+        ResponseEntity<MessageResponse> response = usersController.updateProfile(testUser, request);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Profile updated successfully", response.getBody().getMessage());
@@ -464,67 +700,83 @@ class UsersControllerTest {
     @Test
     void testGetPendingFollowRequests_PrivateUser() {
         testUser.setPrivate(true);
-        FollowRequest followRequest = new FollowRequest(targetUser, testUser);
-        
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(followRequestRepository.findByTargetId(1L)).thenReturn(Arrays.asList(followRequest));
+        FollowRequestResponse row = new FollowRequestResponse(5L, 2L, "targetuser", "Target User", java.time.Instant.now());
+        when(followRequestRepository.findInboxPage(1L, PageRequest.of(0, 51))).thenReturn(Arrays.asList(row));
 
-        ResponseEntity<List<FollowRequestResponse>> response = usersController.getPendingFollowRequests(authentication);
+        ResponseEntity<CursorPageResponse<FollowRequestResponse>> response = usersController.getPendingFollowRequests(snapshot(testUser), null, 50);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(1, response.getBody().size());
+        assertEquals(1, response.getBody().getItems().size());
+        assertNull(response.getBody().getNextCursor());
+        verify(followRequestRepository, never()).findByTargetId(anyLong());
+    }
+
+    @Test
+    void testGetPendingFollowRequests_KeysetPages() {
+        testUser.setPrivate(true);
+        java.time.Instant now = java.time.Instant.parse("2026-01-01T10:00:00Z");
+        FollowRequestResponse newest = new FollowRequestResponse(7L, 3L, "c", "C", now);
+        FollowRequestResponse middle = new FollowRequestResponse(6L, 2L, "b", "B", now.minusSeconds(1));
+        FollowRequestResponse oldest = new FollowRequestResponse(5L, 4L, "a", "A", now.minusSeconds(2));
+        when(followRequestRepository.findInboxPage(1L, PageRequest.of(0, 3))).thenReturn(List.of(newest, middle, oldest));
+
+        ResponseEntity<CursorPageResponse<FollowRequestResponse>> first = usersController.getPendingFollowRequests(snapshot(testUser), null, 2);
+
+        assertEquals(2, first.getBody().getItems().size());
+        String cursor = first.getBody().getNextCursor();
+        assertNotNull(cursor);
+        assertEquals(6L, FollowRequestCursor.decode(cursor).getRequestId());
+
+        when(followRequestRepository.findInboxPageAfter(1L, middle.getCreatedAt(), 6L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(oldest));
+        ResponseEntity<CursorPageResponse<FollowRequestResponse>> second = usersController.getPendingFollowRequests(snapshot(testUser), cursor, 2);
+
+        assertEquals(1, second.getBody().getItems().size());
+        assertEquals(5L, second.getBody().getItems().get(0).getId());
+        assertNull(second.getBody().getNextCursor());
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () ->
+                usersController.getPendingFollowRequests(snapshot(testUser), "not-a-cursor", 2));
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
     }
 
     @Test
     void testGetPendingFollowRequests_PublicUser() {
         testUser.setPrivate(false);
-        
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
 
-        ResponseEntity<List<FollowRequestResponse>> response = usersController.getPendingFollowRequests(authentication);
+        ResponseEntity<CursorPageResponse<FollowRequestResponse>> response = usersController.getPendingFollowRequests(snapshot(testUser), null, 50);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertTrue(response.getBody().isEmpty());
+        assertTrue(response.getBody().getItems().isEmpty());
     }
 
     @Test
     void testHandleFollowRequest_Accept() {
         FollowRequest followRequest = new FollowRequest(targetUser, testUser);
         followRequest.setId(1L);
-        
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(followRequestRepository.findById(1L)).thenReturn(Optional.of(followRequest));
+        when(followService.acceptRequest(followRequest)).thenReturn(true);
 
         FollowRequestActionRequest actionRequest = new FollowRequestActionRequest();
         actionRequest.setAction("accept");
         
-        ResponseEntity<MessageResponse> response = usersController.handleFollowRequest(authentication, 1L, actionRequest);
+        ResponseEntity<MessageResponse> response = usersController.handleFollowRequest(snapshot(testUser), 1L, actionRequest);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Follow request accepted", response.getBody().getMessage());
-        verify(followRequestRepository).delete(followRequest);
+        verify(followGraph).addEdge(2L, 1L);
     }
 
     @Test
     void testHandleFollowRequest_Reject() {
         FollowRequest followRequest = new FollowRequest(targetUser, testUser);
         followRequest.setId(1L);
-        
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(followRequestRepository.findById(1L)).thenReturn(Optional.of(followRequest));
 
         FollowRequestActionRequest actionRequest = new FollowRequestActionRequest();
         actionRequest.setAction("reject");
         
-        ResponseEntity<MessageResponse> response = usersController.handleFollowRequest(authentication, 1L, actionRequest);
+        ResponseEntity<MessageResponse> response = usersController.handleFollowRequest(snapshot(testUser), 1L, actionRequest);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Follow request rejected", response.getBody().getMessage());
@@ -533,17 +785,19 @@ class UsersControllerTest {
 
     @Test
     void testUpdateProfilePicture_Success() {
-        when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
 
         UpdateProfilePictureRequest request = new UpdateProfilePictureRequest();
         request.setProfilePicture("data:image/png;base64,abc123");
         
-        ResponseEntity<MessageResponse> response = usersController.updateProfilePicture(authentication, request);
+        ResponseEntity<MessageResponse> response = usersController.updateProfilePicture(testUser, request);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Profile picture updated successfully", response.getBody().getMessage());
         verify(userRepository).save(testUser);
     }
+
+    private static SafeUser projection(User user) {
+        return new SafeUser(user.getId(), user.getFullName(), user.getUsername(), user.getEmail(),
+                user.getCreatedAt(), user.getProfilePicture());
+    }
 }
@@ -0,0 +1,83 @@
+package com.team.socialnetwork.security;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.team.socialnetwork.repository.UserRepository;
+import com.team.socialnetwork.repository.projection.AccountStatus;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AccountStatusCache Tests")
+class AccountStatusCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private AccountStatusCache accountStatusCache;
+
+    private static final Instant NOW = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+    @BeforeEach
+    void setUp() {
+        accountStatusCache = new AccountStatusCache(userRepository, 100, 60);
+    }
+
+    @Test
+    @DisplayName("Should probe the database once per user and cache the status")
+    void shouldCacheStatus() {
+        when(userRepository.findAccountStatus(1L)).thenReturn(Optional.of(new AccountStatus("a@example.com", true)));
+
+        assertTrue(accountStatusCache.isActive(1L, "a@example.com", NOW));
+        assertTrue(accountStatusCache.isActive(1L, "a@example.com", NOW));
+
+        verify(userRepository, times(1)).findAccountStatus(1L);
+    }
+
+    @Test
+    @DisplayName("Should reject deleted, disabled and re-emailed accounts")
+    void shouldRejectInactiveAccounts() {
+        when(userRepository.findAccountStatus(1L)).thenReturn(Optional.empty());
+        when(userRepository.findAccountStatus(2L)).thenReturn(Optional.of(new AccountStatus("b@example.com", false)));
+        when(userRepository.findAccountStatus(3L)).thenReturn(Optional.of(new AccountStatus("new@example.com", true)));
+
+        assertFalse(accountStatusCache.isActive(1L, "a@example.com", NOW));
+        assertFalse(accountStatusCache.isActive(2L, "b@example.com", NOW));
+        assertFalse(accountStatusCache.isActive(3L, "old@example.com", NOW));
+    }
+
+    @Test
+    @DisplayName("Should reload the status after eviction")
+    void shouldReloadAfterEvict() {
+        when(userRepository.findAccountStatus(1L))
+                .thenReturn(Optional.of(new AccountStatus("a@example.com", true)))
+                .thenReturn(Optional.empty());
+
+        assertTrue(accountStatusCache.isActive(1L, "a@example.com", NOW));
+        accountStatusCache.evict(1L);
+        assertFalse(accountStatusCache.isActive(1L, "a@example.com", NOW));
+    }
+
+    @Test
+    @DisplayName("Should reject tokens issued before the account's password-change cutoff")
+    void shouldRejectTokensIssuedBeforeCutoff() {
+        when(userRepository.findAccountStatus(1L)).thenReturn(Optional.of(new AccountStatus("a@example.com", true, NOW)));
+
+        assertFalse(accountStatusCache.isActive(1L, "a@example.com", NOW.minusSeconds(1)));
+        assertFalse(accountStatusCache.isCurrent(1L, null));
+        assertTrue(accountStatusCache.isActive(1L, "a@example.com", NOW));
+        assertTrue(accountStatusCache.isCurrent(1L, NOW.plusSeconds(1)));
+    }
+}
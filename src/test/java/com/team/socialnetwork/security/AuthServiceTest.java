@@ -3,6 +3,7 @@ package com.team.socialnetwork.security;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,7 +20,6 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.server.ResponseStatusException;
 
 import com.team.socialnetwork.dto.LoginRequest;
@@ -39,7 +39,7 @@ class AuthServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     @Mock
     private AuthenticationManager authenticationManager;
@@ -50,16 +50,24 @@ class AuthServiceTest {
     @Mock
     private MailService mailService;
 
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
+    @Mock
+    private AccountStatusCache accountStatusCache;
+
     private AuthService authService;
 
     @BeforeEach
     void setUp() {
         authService = new AuthService(
                 userRepository,
-                passwordEncoder,
+                passwordHasher,
                 authenticationManager,
                 jwtService,
-                mailService
+                mailService,
+                tokenRevocationList,
+                accountStatusCache
         );
     }
 
@@ -74,7 +82,7 @@ class AuthServiceTest {
 
         when(userRepository.existsByEmail(request.getEmail())).thenReturn(false);
         when(userRepository.existsByUsername(request.getUsername())).thenReturn(false);
-        when(passwordEncoder.encode(request.getPassword())).thenReturn("encoded-password");
+        when(passwordHasher.encode(request.getPassword())).thenReturn("encoded-password");
         when(jwtService.generateEmailToken(request.getEmail())).thenReturn("email-token");
         doNothing().when(mailService).sendConfirmationEmail(eq(request.getEmail()), eq("email-token"));
 
@@ -133,7 +141,7 @@ class AuthServiceTest {
 
         when(userRepository.existsByEmail(request.getEmail())).thenReturn(false);
         when(userRepository.existsByUsername(request.getUsername())).thenReturn(false);
-        when(passwordEncoder.encode(request.getPassword())).thenReturn("encoded-password");
+        when(passwordHasher.encode(request.getPassword())).thenReturn("encoded-password");
         when(jwtService.generateEmailToken(request.getEmail())).thenReturn("email-token");
         doThrow(new RuntimeException("Email service error"))
                 .when(mailService).sendConfirmationEmail(eq(request.getEmail()), eq("email-token"));
@@ -161,7 +169,7 @@ class AuthServiceTest {
         user.setEmailConfirmed(true);
 
         when(userRepository.findByEmail(request.getEmail())).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches(request.getPassword(), user.getPassword())).thenReturn(true);
+        when(passwordHasher.matches(request.getPassword(), user.getPassword())).thenReturn(true);
         when(jwtService.generateAccessToken(eq(request.getEmail()), any())).thenReturn("access-token");
 
         TokenResponse response = authService.login(request);
@@ -169,6 +177,49 @@ class AuthServiceTest {
         assertEquals("access-token", response.getAccess_token());
     }
 
+    @Test
+    @DisplayName("Should re-hash a legacy password on successful login")
+    void shouldUpgradeLegacyHashOnLogin() {
+        LoginRequest request = new LoginRequest();
+        request.setEmail("test@example.com");
+        request.setPassword("password123");
+
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("test@example.com");
+        user.setPassword("legacy-hash");
+        user.setEmailConfirmed(true);
+
+        when(userRepository.findByEmail(request.getEmail())).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("password123", "legacy-hash")).thenReturn(true);
+        when(passwordHasher.upgradeEncoding("legacy-hash")).thenReturn(true);
+        when(passwordHasher.encode("password123")).thenReturn("stronger-hash");
+        when(jwtService.generateAccessToken(eq(request.getEmail()), any())).thenReturn("access-token");
+
+        authService.login(request);
+
+        assertEquals("stronger-hash", user.getPassword());
+        verify(userRepository).save(user);
+    }
+
+    @Test
+    @DisplayName("Should revoke the current token on logout")
+    void shouldLogout() {
+        when(tokenRevocationList.revokeCurrent()).thenReturn(true);
+
+        assertEquals("Logged out", authService.logout().getMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject logout without an authenticated token")
+    void shouldRejectLogoutWithoutToken() {
+        when(tokenRevocationList.revokeCurrent()).thenReturn(false);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> authService.logout());
+
+        assertTrue(exception.getReason().contains("Missing or invalid token"));
+    }
+
     @Test
     @DisplayName("Should throw exception when user not found")
     void shouldThrowExceptionWhenUserNotFound() {
@@ -198,7 +249,7 @@ class AuthServiceTest {
         user.setPassword("encoded-password");
 
         when(userRepository.findByEmail(request.getEmail())).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches(request.getPassword(), user.getPassword())).thenReturn(false);
+        when(passwordHasher.matches(request.getPassword(), user.getPassword())).thenReturn(false);
 
         ResponseStatusException exception = assertThrows(
                 ResponseStatusException.class,
@@ -221,7 +272,7 @@ class AuthServiceTest {
         user.setEmailConfirmed(false);
 
         when(userRepository.findByEmail(request.getEmail())).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches(request.getPassword(), user.getPassword())).thenReturn(true);
+        when(passwordHasher.matches(request.getPassword(), user.getPassword())).thenReturn(true);
 
         ResponseStatusException exception = assertThrows(
                 ResponseStatusException.class,
@@ -292,17 +343,21 @@ class AuthServiceTest {
         String newPassword = "newpassword123";
 
         User user = new User();
+        user.setId(1L);
         user.setEmail(email);
 
         when(jwtService.isPasswordResetToken(token)).thenReturn(true);
         when(jwtService.extractSubject(token)).thenReturn(email);
         when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
-        when(passwordEncoder.encode(newPassword)).thenReturn("encoded-new-password");
+        when(passwordHasher.encode(newPassword)).thenReturn("encoded-new-password");
 
         MessageResponse response = authService.resetPassword(token, newPassword);
 
         assertEquals("Password reset successfully", response.getMessage());
         verify(userRepository).save(user);
-        verify(passwordEncoder).encode(newPassword);
+        verify(passwordHasher).encode(newPassword);
+        // Tokens issued under the old password stop authenticating
+        assertNotNull(user.getTokensValidAfter());
+        verify(accountStatusCache).evict(1L);
     }
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+package com.team.socialnetwork.security;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.team.socialnetwork.dto.UserSnapshot;
+import com.team.socialnetwork.entity.User;
+import com.team.socialnetwork.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CurrentUserArgumentResolver Tests")
+class CurrentUserArgumentResolverTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private CurrentUserArgumentResolver resolver;
+    private NativeWebRequest webRequest;
+    private MethodParameter snapshotParameter;
+    private MethodParameter entityParameter;
+    private MethodParameter plainParameter;
+
+    @SuppressWarnings("unused")
+    private void handler(@CurrentUser UserSnapshot me, @CurrentUser User user, UserSnapshot plain) {
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        SecurityContextHolder.clearContext();
+        resolver = new CurrentUserArgumentResolver(userRepository);
+        webRequest = new ServletWebRequest(new MockHttpServletRequest());
+        Method method = CurrentUserArgumentResolverTest.class.getDeclaredMethod(
+                "handler", UserSnapshot.class, User.class, UserSnapshot.class);
+        snapshotParameter = new MethodParameter(method, 0);
+        entityParameter = new MethodParameter(method, 1);
+        plainParameter = new MethodParameter(method, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void authenticate(Object principal) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                principal, null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    @Test
+    @DisplayName("Should only support annotated snapshot and user parameters")
+    void shouldSupportAnnotatedParameters() {
+        assertTrue(resolver.supportsParameter(snapshotParameter));
+        assertTrue(resolver.supportsParameter(entityParameter));
+        assertFalse(resolver.supportsParameter(plainParameter));
+    }
+
+    @Test
+    @DisplayName("Should reject requests without authentication")
+    void shouldRejectUnauthenticated() {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> resolver.resolveArgument(snapshotParameter, null, webRequest, null));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, ex.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should load the snapshot by id once per request for stateless principals")
+    void shouldResolveSnapshotById() throws Exception {
+        UserSnapshot snapshot = new UserSnapshot(1L, "a@example.com", "alice", false);
+        authenticate(new AuthenticatedUser(1L, "a@example.com"));
+        when(userRepository.findSnapshotById(1L)).thenReturn(Optional.of(snapshot));
+
+        Object first = resolver.resolveArgument(snapshotParameter, null, webRequest, null);
+        Object second = resolver.resolveArgument(snapshotParameter, null, webRequest, null);
+
+        assertSame(snapshot, first);
+        assertSame(snapshot, second);
+        verify(userRepository, times(1)).findSnapshotById(1L);
+        verify(userRepository, never()).findSnapshotByEmail("a@example.com");
+    }
+
+    @Test
+    @DisplayName("Should load the snapshot by email for username principals")
+    void shouldResolveSnapshotByEmail() throws Exception {
+        UserSnapshot snapshot = new UserSnapshot(1L, "a@example.com", "alice", false);
+        authenticate("a@example.com");
+        when(userRepository.findSnapshotByEmail("a@example.com")).thenReturn(Optional.of(snapshot));
+
+        assertSame(snapshot, resolver.resolveArgument(snapshotParameter, null, webRequest, null));
+    }
+
+    @Test
+    @DisplayName("Should load the full user when the handler asks for the entity")
+    void shouldResolveEntity() throws Exception {
+        User user = new User();
+        user.setId(1L);
+        authenticate(new AuthenticatedUser(1L, "a@example.com"));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        assertSame(user, resolver.resolveArgument(entityParameter, null, webRequest, null));
+        assertSame(user, resolver.resolveArgument(entityParameter, null, webRequest, null));
+        verify(userRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should return 404 when the authenticated user no longer exists")
+    void shouldRejectMissingUser() {
+        authenticate(new AuthenticatedUser(9L, "gone@example.com"));
+        when(userRepository.findSnapshotById(9L)).thenReturn(Optional.empty());
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> resolver.resolveArgument(snapshotParameter, null, webRequest, null));
+
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+    }
+}
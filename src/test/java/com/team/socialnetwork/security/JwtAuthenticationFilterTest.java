@@ -1,6 +1,7 @@
 package com.team.socialnetwork.security;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -35,6 +37,12 @@ class JwtAuthenticationFilterTest {
     @Mock
     private UserDetailsService userDetailsService;
 
+    @Mock
+    private AccountStatusCache accountStatusCache;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
     @Mock
     private HttpServletRequest request;
 
@@ -46,10 +54,16 @@ class JwtAuthenticationFilterTest {
 
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    private static final Instant ISSUED_AT = Instant.now();
+
+    private static VerifiedToken verified(String subject) {
+        return new VerifiedToken("token-id", subject, 1L, ISSUED_AT, ISSUED_AT.plusSeconds(600), null);
+    }
+
     @BeforeEach
     void setUp() {
         SecurityContextHolder.clearContext();
-        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtService, userDetailsService);
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtService, userDetailsService, accountStatusCache, tokenRevocationList, false);
     }
 
     @Test
@@ -80,12 +94,12 @@ class JwtAuthenticationFilterTest {
     @DisplayName("Should continue filter chain when token extraction fails")
     void shouldContinueFilterChainWhenTokenExtractionFails() throws ServletException, IOException {
         when(request.getHeader("Authorization")).thenReturn("Bearer invalid-token");
-        when(jwtService.extractSubject("invalid-token")).thenThrow(new RuntimeException("Invalid token"));
+        when(jwtService.verify("invalid-token")).thenThrow(new RuntimeException("Invalid token"));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtService).extractSubject("invalid-token");
+        verify(jwtService).verify("invalid-token");
         verifyNoInteractions(userDetailsService);
     }
 
@@ -102,48 +116,69 @@ class JwtAuthenticationFilterTest {
                 .build();
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractSubject(token)).thenReturn(email);
+        when(jwtService.verify(token)).thenReturn(verified(email));
         when(userDetailsService.loadUserByUsername(email)).thenReturn(userDetails);
-        when(jwtService.isTokenValid(token, email)).thenReturn(true);
+        when(accountStatusCache.isCurrent(1L, ISSUED_AT)).thenReturn(true);
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtService).extractSubject(token);
+        verify(jwtService).verify(token);
         verify(userDetailsService).loadUserByUsername(email);
-        verify(jwtService).isTokenValid(token, email);
+        verifyNoMoreInteractions(jwtService);
         
         assertNotNull(SecurityContextHolder.getContext().getAuthentication());
         assertEquals(email, SecurityContextHolder.getContext().getAuthentication().getName());
     }
 
     @Test
-    @DisplayName("Should not authenticate when token is invalid")
+    @DisplayName("Should not authenticate when token subject does not match the loaded user")
     void shouldNotAuthenticateWhenTokenInvalid() throws ServletException, IOException {
         String token = "invalid-jwt-token";
         String email = "test@example.com";
         
         UserDetails userDetails = User.builder()
-                .username(email)
+                .username("other@example.com")
                 .password("password")
                 .authorities(Collections.emptyList())
                 .build();
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractSubject(token)).thenReturn(email);
+        when(jwtService.verify(token)).thenReturn(verified(email));
         when(userDetailsService.loadUserByUsername(email)).thenReturn(userDetails);
-        when(jwtService.isTokenValid(token, email)).thenReturn(false);
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtService).extractSubject(token);
+        verify(jwtService).verify(token);
         verify(userDetailsService).loadUserByUsername(email);
-        verify(jwtService).isTokenValid(token, email);
         
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
 
+    @Test
+    @DisplayName("Should not authenticate a token issued before the last password change")
+    void shouldNotAuthenticateTokenIssuedBeforePasswordChange() throws ServletException, IOException {
+        String token = "stale-jwt-token";
+        String email = "test@example.com";
+
+        UserDetails userDetails = User.builder()
+                .username(email)
+                .password("password")
+                .authorities(Collections.emptyList())
+                .build();
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.verify(token)).thenReturn(verified(email));
+        when(userDetailsService.loadUserByUsername(email)).thenReturn(userDetails);
+        when(accountStatusCache.isCurrent(1L, ISSUED_AT)).thenReturn(false);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
     @Test
     @DisplayName("Should not authenticate when user already authenticated")
     void shouldNotAuthenticateWhenUserAlreadyAuthenticated() throws ServletException, IOException {
@@ -162,12 +197,12 @@ class JwtAuthenticationFilterTest {
                         existingUser, null, existingUser.getAuthorities()));
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractSubject(token)).thenReturn(email);
+        when(jwtService.verify(token)).thenReturn(verified(email));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtService).extractSubject(token);
+        verify(jwtService).verify(token);
         verifyNoInteractions(userDetailsService);
         
         // Authentication should remain unchanged
@@ -180,14 +215,95 @@ class JwtAuthenticationFilterTest {
         String token = "token-without-subject";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractSubject(token)).thenReturn(null);
+        when(jwtService.verify(token)).thenReturn(verified(null));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtService).extractSubject(token);
+        verify(jwtService).verify(token);
         verifyNoInteractions(userDetailsService);
         
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should authenticate from token claims without loading the user in stateless mode")
+    void shouldAuthenticateFromClaimsInStatelessMode() throws ServletException, IOException {
+        JwtAuthenticationFilter statelessFilter = new JwtAuthenticationFilter(jwtService, userDetailsService, accountStatusCache, tokenRevocationList, true);
+        String token = "valid-jwt-token";
+        String email = "test@example.com";
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.verify(token)).thenReturn(verified(email));
+        when(accountStatusCache.isActive(1L, email, ISSUED_AT)).thenReturn(true);
+
+        statelessFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(userDetailsService);
+
+        assertEquals(email, SecurityContextHolder.getContext().getAuthentication().getName());
+        AuthenticatedUser principal = (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        assertEquals(1L, principal.getUserId());
+    }
+
+    @Test
+    @DisplayName("Should not authenticate a revoked token")
+    void shouldNotAuthenticateRevokedToken() throws ServletException, IOException {
+        JwtAuthenticationFilter statelessFilter = new JwtAuthenticationFilter(jwtService, userDetailsService, accountStatusCache, tokenRevocationList, true);
+        String token = "revoked-jwt-token";
+        VerifiedToken verified = verified("test@example.com");
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.verify(token)).thenReturn(verified);
+        when(tokenRevocationList.isRevoked(verified)).thenReturn(true);
+
+        statelessFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(accountStatusCache, userDetailsService);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("Should not authenticate deleted or disabled account in stateless mode")
+    void shouldNotAuthenticateInactiveAccountInStatelessMode() throws ServletException, IOException {
+        JwtAuthenticationFilter statelessFilter = new JwtAuthenticationFilter(jwtService, userDetailsService, accountStatusCache, tokenRevocationList, true);
+        String token = "valid-jwt-token";
+        String email = "test@example.com";
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.verify(token)).thenReturn(verified(email));
+        when(accountStatusCache.isActive(1L, email, ISSUED_AT)).thenReturn(false);
+
+        statelessFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(userDetailsService);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("Should fall back to user lookup for tokens without userId in stateless mode")
+    void shouldFallBackToUserLookupWithoutUserIdClaim() throws ServletException, IOException {
+        JwtAuthenticationFilter statelessFilter = new JwtAuthenticationFilter(jwtService, userDetailsService, accountStatusCache, tokenRevocationList, true);
+        String token = "legacy-jwt-token";
+        String email = "test@example.com";
+
+        UserDetails userDetails = User.builder()
+                .username(email)
+                .password("password")
+                .authorities(Collections.emptyList())
+                .build();
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.verify(token)).thenReturn(new VerifiedToken("token-id", email, null, ISSUED_AT, ISSUED_AT.plusSeconds(600), null));
+        when(userDetailsService.loadUserByUsername(email)).thenReturn(userDetails);
+
+        statelessFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(accountStatusCache);
+        assertEquals(email, SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+}
@@ -6,13 +6,16 @@ import java.util.Map;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
 
 @DisplayName("JWT Service Tests")
 class JwtServiceTest {
@@ -183,4 +186,41 @@ class JwtServiceTest {
         assertEquals(123L, userId);
         assertEquals("Test User", name);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should verify token in one pass and reuse cached claims")
+    void shouldVerifyTokenAndReuseCachedClaims() {
+        String subject = "test@example.com";
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("userId", 42L);
+
+        String token = jwtService.generateAccessToken(subject, claims);
+
+        VerifiedToken first = jwtService.verify(token);
+        VerifiedToken second = jwtService.verify(token);
+
+        assertEquals(subject, first.getSubject());
+        assertEquals(42L, first.getUserId());
+        assertNotNull(first.getExpiresAt());
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("Should reject expired token and not cache it")
+    void shouldRejectExpiredToken() {
+        JwtService expiring = new JwtService(testSecret, 0, emailTokenMinutes, passwordResetMinutes);
+        String token = expiring.generateAccessToken("test@example.com", new HashMap<>());
+
+        assertThrows(ExpiredJwtException.class, () -> expiring.verify(token));
+        assertThrows(ExpiredJwtException.class, () -> expiring.verify(token));
+    }
+
+    @Test
+    @DisplayName("Should reject token signed with another key")
+    void shouldRejectTokenSignedWithAnotherKey() {
+        JwtService other = new JwtService(testSecret + "-other", accessMinutes, emailTokenMinutes, passwordResetMinutes);
+        String token = other.generateAccessToken("test@example.com", new HashMap<>());
+
+        assertThrows(SignatureException.class, () -> jwtService.verify(token));
+    }
+}
@@ -0,0 +1,101 @@
+package com.team.socialnetwork.security;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("LoginThrottle Tests")
+class LoginThrottleTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoginThrottle loginThrottle;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // 3 attempts per IP, 2 per email and IP, 4 per email overall, refilling far slower than the test runs
+        loginThrottle = new LoginThrottle(3, 1, 2, 1, 4, 1, 1000, meterRegistry);
+    }
+
+    private double count(String key, String result) {
+        return meterRegistry.get("auth.login.throttle").tag("key", key).tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("Should reject an email from one IP once its bucket is empty, case-insensitively")
+    void shouldThrottleByEmail() {
+        loginThrottle.checkLogin("a@example.com", "10.0.0.1");
+        loginThrottle.checkLogin("A@Example.com ", "10.0.0.1");
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> loginThrottle.checkLogin("a@example.com", "10.0.0.1"));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getStatusCode());
+        assertDoesNotThrow(() -> loginThrottle.checkLogin("b@example.com", "10.0.0.2"));
+        assertEquals(1.0, count("email", "rejected"));
+    }
+
+    @Test
+    @DisplayName("Should not lock the owner out when their email is guessed from another IP")
+    void shouldKeyEmailByIp() {
+        loginThrottle.checkLogin("a@example.com", "10.0.0.1");
+        loginThrottle.checkLogin("a@example.com", "10.0.0.1");
+        assertThrows(ResponseStatusException.class, () -> loginThrottle.checkLogin("a@example.com", "10.0.0.1"));
+
+        assertDoesNotThrow(() -> loginThrottle.checkLogin("a@example.com", "10.0.0.9"));
+    }
+
+    @Test
+    @DisplayName("Should reject an IP spraying many emails")
+    void shouldThrottleByIp() {
+        loginThrottle.checkLogin("a@example.com", "10.0.0.1");
+        loginThrottle.checkLogin("b@example.com", "10.0.0.1");
+        loginThrottle.checkLogin("c@example.com", "10.0.0.1");
+
+        assertThrows(ResponseStatusException.class, () -> loginThrottle.checkLogin("d@example.com", "10.0.0.1"));
+        assertEquals(3.0, count("ip", "allowed"));
+        assertEquals(1.0, count("ip", "rejected"));
+    }
+
+    @Test
+    @DisplayName("Should give the email its allowance back after a successful login")
+    void shouldResetOnSuccess() {
+        loginThrottle.checkLogin("a@example.com", "10.0.0.1");
+        loginThrottle.checkLogin("a@example.com", "10.0.0.1");
+        loginThrottle.onSuccess("a@example.com", "10.0.0.1");
+
+        assertDoesNotThrow(() -> loginThrottle.checkLogin("a@example.com", "10.0.0.1"));
+    }
+
+    @Test
+    @DisplayName("Should cap an email guessed from many IPs, and keep the cap after a success elsewhere")
+    void shouldThrottleByAccount() {
+        loginThrottle.checkLogin("a@example.com", "10.0.0.1");
+        loginThrottle.checkLogin("a@example.com", "10.0.0.2");
+        loginThrottle.checkLogin("a@example.com", "10.0.0.3");
+        loginThrottle.checkLogin("A@example.com", "10.0.0.4");
+        loginThrottle.onSuccess("a@example.com", "10.0.0.4");
+
+        assertThrows(ResponseStatusException.class, () -> loginThrottle.checkLogin("a@example.com", "10.0.0.5"));
+        assertEquals(1.0, count("account", "rejected"));
+        assertDoesNotThrow(() -> loginThrottle.checkLogin("b@example.com", "10.0.0.5"));
+    }
+
+    @Test
+    @DisplayName("Should skip the per-account bucket when its capacity is 0")
+    void shouldDisableAccountBucket() {
+        loginThrottle = new LoginThrottle(10, 1, 2, 1, 0, 1, 1000, new SimpleMeterRegistry());
+
+        for (int i = 1; i <= 6; i++) {
+            String ip = "10.0.0." + i;
+            assertDoesNotThrow(() -> loginThrottle.checkLogin("a@example.com", ip));
+        }
+    }
+}
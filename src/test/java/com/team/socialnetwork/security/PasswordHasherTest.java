@@ -0,0 +1,99 @@
+package com.team.socialnetwork.security;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("PasswordHasher Tests")
+class PasswordHasherTest {
+
+    private ThreadPoolTaskExecutor executor;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.initialize();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should hash and verify on the executor and record the time")
+    void shouldHashOnExecutor() {
+        PasswordHasher hasher = new PasswordHasher(new BCryptPasswordEncoder(4), executor, meterRegistry);
+
+        String hash = hasher.encode("secret");
+
+        assertTrue(hasher.matches("secret", hash));
+        assertFalse(hasher.matches("other", hash));
+        assertEquals(3, meterRegistry.get("password.hash").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should reject with 429 when the pool and queue are full")
+    void shouldRejectWhenSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BCryptPasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        PasswordHasher hasher = new PasswordHasher(blocking, executor, meterRegistry);
+        new Thread(() -> hasher.encode("running")).start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.submit(() -> "queued");
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> hasher.encode("rejected"));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getStatusCode());
+        assertEquals(1.0, meterRegistry.get("password.hash.rejected").counter().count());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Should upgrade hashes below the configured strength and never downgrade stronger ones")
+    void shouldUpgradeWeakerHashes() {
+        PasswordHasher hasher = new PasswordHasher(new BCryptPasswordEncoder(5), executor, meterRegistry);
+
+        assertTrue(hasher.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+        assertFalse(hasher.upgradeEncoding(new BCryptPasswordEncoder(5).encode("secret")));
+        assertFalse(hasher.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret")));
+    }
+
+    @Test
+    @DisplayName("Should keep the calibrated strength within bounds")
+    void shouldCalibrateWithinBounds() {
+        assertEquals(4, BCryptCalibrator.calibrate(0, 4, 6));
+        assertEquals(6, BCryptCalibrator.calibrate(60_000, 4, 6));
+    }
+}
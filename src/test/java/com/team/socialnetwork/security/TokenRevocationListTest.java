@@ -0,0 +1,123 @@
+package com.team.socialnetwork.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.team.socialnetwork.entity.RevokedToken;
+import com.team.socialnetwork.repository.RevokedTokenRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenRevocationList Tests")
+class TokenRevocationListTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.clearContext();
+        revocationList = new TokenRevocationList(revokedTokenRepository, 4, 30000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static VerifiedToken token(String raw) throws Exception {
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(raw.getBytes(StandardCharsets.UTF_8));
+        return new VerifiedToken(Base64.getEncoder().encodeToString(hash), "a@example.com", 1L,
+                Instant.now(), Instant.now().plusSeconds(600), null);
+    }
+
+    @Test
+    @DisplayName("Should persist a revocation once and reject the token afterwards")
+    void shouldRevokeToken() throws Exception {
+        VerifiedToken revoked = token("revoked");
+
+        revocationList.revoke(revoked);
+        revocationList.revoke(revoked);
+
+        assertTrue(revocationList.isRevoked(revoked));
+        assertFalse(revocationList.isRevoked(token("other")));
+        verify(revokedTokenRepository, times(1)).save(any(RevokedToken.class));
+    }
+
+    @Test
+    @DisplayName("Should keep every revocation after outgrowing the filter's sizing")
+    void shouldGrowPastExpectedTokens() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            revocationList.revoke(token("t" + i));
+        }
+
+        for (int i = 0; i < 20; i++) {
+            assertTrue(revocationList.isRevoked(token("t" + i)));
+        }
+        assertFalse(revocationList.isRevoked(token("never-revoked")));
+    }
+
+    @Test
+    @DisplayName("Should load stored revocations and pick up those made by other instances")
+    void shouldLoadAndRefreshFromDatabase() throws Exception {
+        VerifiedToken stored = token("stored");
+        VerifiedToken elsewhere = token("elsewhere");
+        when(revokedTokenRepository.findActiveTokenIds(any(Instant.class))).thenReturn(List.of(stored.getTokenId()));
+        when(revokedTokenRepository.findTokenIdsRevokedSince(any(Instant.class), any(Instant.class)))
+                .thenReturn(List.of(elsewhere.getTokenId()));
+
+        revocationList.load();
+        assertTrue(revocationList.isRevoked(stored));
+        assertFalse(revocationList.isRevoked(elsewhere));
+
+        revocationList.refresh();
+        assertTrue(revocationList.isRevoked(elsewhere));
+    }
+
+    @Test
+    @DisplayName("Should drop expired revocations when purging")
+    void shouldRebuildOnPurge() throws Exception {
+        VerifiedToken expired = token("expired");
+        revocationList.revoke(expired);
+        when(revokedTokenRepository.deleteExpired(any(Instant.class))).thenReturn(1);
+        when(revokedTokenRepository.findActiveTokenIds(any(Instant.class))).thenReturn(List.of());
+
+        revocationList.purge();
+
+        assertFalse(revocationList.isRevoked(expired));
+    }
+
+    @Test
+    @DisplayName("Should revoke the token that authenticated the current request")
+    void shouldRevokeCurrentToken() throws Exception {
+        VerifiedToken current = token("current");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new AuthenticatedUser(1L, "a@example.com"), current, List.of()));
+
+        assertTrue(revocationList.revokeCurrent());
+        assertTrue(revocationList.isRevoked(current));
+
+        SecurityContextHolder.clearContext();
+        assertFalse(revocationList.revokeCurrent());
+    }
+}
@@ -0,0 +1,86 @@
+package com.team.socialnetwork.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.anyLong;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.team.socialnetwork.entity.FollowRequest;
+import com.team.socialnetwork.entity.User;
+import com.team.socialnetwork.repository.FollowEdgeBatchRepository;
+import com.team.socialnetwork.repository.FollowRepository;
+import com.team.socialnetwork.repository.FollowRequestRepository;
+import com.team.socialnetwork.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FollowService Tests")
+class FollowServiceTest {
+
+    @Mock
+    private FollowEdgeBatchRepository followEdgeBatchRepository;
+
+    @Mock
+    private FollowRepository followRepository;
+
+    @Mock
+    private FollowRequestRepository followRequestRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private FollowService followService;
+
+    @BeforeEach
+    void setUp() {
+        followService = new FollowService(followEdgeBatchRepository, followRepository, followRequestRepository, userRepository);
+    }
+
+    @Test
+    @DisplayName("Should move both counters only when the edge was created or removed")
+    void shouldAdjustCountersWithEdge() {
+        when(followEdgeBatchRepository.insert(1L, 2L)).thenReturn(true);
+        when(followRepository.unfollow(1L, 2L)).thenReturn(true);
+
+        assertTrue(followService.follow(1L, 2L));
+        assertTrue(followService.unfollow(1L, 2L));
+
+        verify(userRepository).adjustFollowCounts(1L, 2L, 1);
+        verify(userRepository).adjustFollowCounts(1L, 2L, -1);
+    }
+
+    @Test
+    @DisplayName("Should leave the counters alone when the edge already existed or was already gone")
+    void shouldSkipCountersWithoutEdgeChange() {
+        when(followEdgeBatchRepository.insert(1L, 2L)).thenReturn(false);
+        when(followRepository.unfollow(3L, 2L)).thenReturn(false);
+
+        assertFalse(followService.follow(1L, 2L));
+        assertFalse(followService.unfollow(3L, 2L));
+
+        verify(userRepository, never()).adjustFollowCounts(anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should delete the request together with creating its edge")
+    void shouldAcceptRequest() {
+        User follower = new User("follower", "follower@example.com", "pass");
+        follower.setId(2L);
+        User target = new User("target", "target@example.com", "pass");
+        target.setId(1L);
+        FollowRequest request = new FollowRequest(follower, target);
+        when(followEdgeBatchRepository.insert(2L, 1L)).thenReturn(true);
+
+        assertTrue(followService.acceptRequest(request));
+
+        verify(followRequestRepository).delete(request);
+        verify(userRepository).adjustFollowCounts(2L, 1L, 1);
+    }
+}
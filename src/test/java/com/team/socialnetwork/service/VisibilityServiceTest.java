@@ -0,0 +1,117 @@
+package com.team.socialnetwork.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.anyLong;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.team.socialnetwork.entity.User;
+import com.team.socialnetwork.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VisibilityService Tests")
+class VisibilityServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private VisibilityService visibilityService;
+
+    @BeforeEach
+    void setUp() {
+        visibilityService = new VisibilityService(userRepository, 100, 60);
+    }
+
+    @Test
+    @DisplayName("Should not probe the database for public authors or for the author themselves")
+    void shouldSkipProbeForPublicAndSelf() {
+        User author = new User("author", "author@example.com", "pass");
+        author.setId(2L);
+
+        assertTrue(visibilityService.canView(1L, author));
+        assertTrue(visibilityService.canView(2L, 2L));
+        verify(userRepository, never()).canViewAuthor(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should cache the answer per viewer and author")
+    void shouldCacheProbe() {
+        when(userRepository.canViewAuthor(1L, 2L)).thenReturn(false);
+
+        assertFalse(visibilityService.canView(1L, 2L));
+        assertFalse(visibilityService.canView(1L, 2L));
+
+        verify(userRepository, times(1)).canViewAuthor(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should probe again after the follow edge changes")
+    void shouldInvalidateOnFollowChange() {
+        when(userRepository.canViewAuthor(1L, 2L)).thenReturn(false, true);
+
+        assertFalse(visibilityService.canView(1L, 2L));
+        visibilityService.onFollowChanged(1L, 2L);
+
+        assertTrue(visibilityService.canView(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Should drop every cached answer for an author whose visibility changed")
+    void shouldInvalidateOnVisibilityChange() {
+        when(userRepository.canViewAuthor(1L, 2L)).thenReturn(true, false);
+        when(userRepository.canViewAuthor(3L, 2L)).thenReturn(true, false);
+
+        assertTrue(visibilityService.canView(1L, 2L));
+        assertTrue(visibilityService.canView(3L, 2L));
+        visibilityService.onVisibilityChanged(2L);
+
+        assertFalse(visibilityService.canView(1L, 2L));
+        assertFalse(visibilityService.canView(3L, 2L));
+    }
+
+    @Test
+    @DisplayName("Should drop every cached answer after a follow graph import")
+    void shouldInvalidateOnFollowGraphImport() {
+        when(userRepository.canViewAuthor(1L, 2L)).thenReturn(false, true);
+
+        assertFalse(visibilityService.canView(1L, 2L));
+        visibilityService.onFollowGraphImported();
+
+        assertTrue(visibilityService.canView(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Should answer private authors from the cached database probe")
+    void shouldProbePrivateAuthors() {
+        User author = new User("author", "author@example.com", "pass");
+        author.setId(2L);
+        author.setPrivate(true);
+        when(userRepository.canViewAuthor(1L, 2L)).thenReturn(true, false);
+        when(userRepository.canViewAuthor(3L, 2L)).thenReturn(false);
+
+        assertTrue(visibilityService.canView(1L, author));
+        assertTrue(visibilityService.canView(1L, author));
+        assertFalse(visibilityService.canView(3L, author));
+        visibilityService.onFollowChanged(1L, 2L);
+
+        assertFalse(visibilityService.canView(1L, author));
+        verify(userRepository, times(2)).canViewAuthor(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should deny unknown authors")
+    void shouldDenyUnknownAuthor() {
+        when(userRepository.canViewAuthor(1L, 99L)).thenReturn(null);
+
+        assertFalse(visibilityService.canView(1L, 99L));
+    }
+}
@@ -0,0 +1,129 @@
+package com.team.socialnetwork.service.counter;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.anyMap;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.team.socialnetwork.repository.PostCounterBatchRepository;
+import com.team.socialnetwork.repository.projection.PostIdCountProjection;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LikeCountBuffer Tests")
+class LikeCountBufferTest {
+
+    @Mock
+    private PostCounterBatchRepository postCounterBatchRepository;
+
+    private LikeCountBuffer likeCountBuffer;
+
+    @BeforeEach
+    void setUp() {
+        likeCountBuffer = new LikeCountBuffer(postCounterBatchRepository);
+    }
+
+    @Test
+    @DisplayName("Should accumulate pending deltas per post")
+    void shouldAccumulatePendingDeltas() {
+        likeCountBuffer.add(1L, 1);
+        likeCountBuffer.add(1L, 1);
+        likeCountBuffer.add(1L, -1);
+        likeCountBuffer.add(2L, 1);
+
+        assertEquals(1L, likeCountBuffer.pending(1L));
+        assertEquals(1L, likeCountBuffer.pending(2L));
+        assertEquals(0L, likeCountBuffer.pending(3L));
+    }
+
+    @Test
+    @DisplayName("Should write all non-zero deltas in one batch and reset them")
+    void shouldFlushInOneBatch() {
+        likeCountBuffer.add(1L, 1);
+        likeCountBuffer.add(1L, 1);
+        likeCountBuffer.add(2L, 1);
+        likeCountBuffer.add(2L, -1);
+
+        likeCountBuffer.flush();
+
+        verify(postCounterBatchRepository).addLikeDeltas(Map.of(1L, 2L));
+        assertEquals(0L, likeCountBuffer.pending(1L));
+    }
+
+    @Test
+    @DisplayName("Should not touch the database when nothing is pending")
+    void shouldSkipEmptyFlush() {
+        likeCountBuffer.flush();
+
+        verify(postCounterBatchRepository, never()).addLikeDeltas(anyMap());
+    }
+
+    @Test
+    @DisplayName("Should keep deltas pending when the flush fails")
+    void shouldKeepDeltasOnFailure() {
+        likeCountBuffer.add(1L, 3);
+        doThrow(new RuntimeException("db down")).when(postCounterBatchRepository).addLikeDeltas(anyMap());
+
+        likeCountBuffer.flush();
+
+        assertEquals(3L, likeCountBuffer.pending(1L));
+    }
+
+    private static PostIdCountProjection drift(long postId, long cnt) {
+        return new PostIdCountProjection() {
+            @Override
+            public Long getPostId() {
+                return postId;
+            }
+
+            @Override
+            public Long getCnt() {
+                return cnt;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Should flush before recounting and skip posts liked during the recount")
+    void shouldSkipPostsBufferedDuringRepair() {
+        likeCountBuffer.add(1L, 1);
+
+        int repaired = likeCountBuffer.repair(() -> {
+            likeCountBuffer.add(2L, 1);
+            return List.of(drift(1L, 5L), drift(2L, 7L));
+        });
+
+        assertEquals(1, repaired);
+        verify(postCounterBatchRepository).addLikeDeltas(Map.of(1L, 1L));
+        verify(postCounterBatchRepository).setLikeCounts(Map.of(1L, 5L));
+        assertEquals(1L, likeCountBuffer.pending(2L));
+    }
+
+    @Test
+    @DisplayName("Should keep deltas added while a flush is writing for the next flush")
+    void shouldKeepDeltasAddedDuringFlush() {
+        likeCountBuffer.add(1L, 1);
+        doAnswer(invocation -> {
+            likeCountBuffer.add(1L, 1);
+            assertEquals(2L, likeCountBuffer.pending(1L));
+            return null;
+        }).when(postCounterBatchRepository).addLikeDeltas(Map.of(1L, 1L));
+
+        likeCountBuffer.flush();
+        assertEquals(1L, likeCountBuffer.pending(1L));
+
+        likeCountBuffer.flush();
+        verify(postCounterBatchRepository, times(2)).addLikeDeltas(Map.of(1L, 1L));
+    }
+}
@@ -0,0 +1,203 @@
+package com.team.socialnetwork.service.export;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.team.socialnetwork.repository.GraphDataRepository;
+import com.team.socialnetwork.repository.PostRepository;
+import com.team.socialnetwork.repository.UserRepository;
+import com.team.socialnetwork.service.VisibilityService;
+import com.team.socialnetwork.service.counter.LikeCountBuffer;
+import com.team.socialnetwork.service.counter.PostCounterCache;
+import com.team.socialnetwork.service.feed.FeedFanoutService;
+import com.team.socialnetwork.service.feed.FeedPageCache;
+import com.team.socialnetwork.service.graph.FollowGraph;
+import com.team.socialnetwork.service.graph.FollowSuggestionService;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GraphDataService Tests")
+class GraphDataServiceTest {
+
+    @Mock
+    private GraphDataRepository graphDataRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private FollowGraph followGraph;
+
+    @Mock
+    private LikeCountBuffer likeCountBuffer;
+
+    @Mock
+    private PostCounterCache postCounterCache;
+
+    @Mock
+    private FeedFanoutService feedFanoutService;
+
+    @Mock
+    private FeedPageCache feedPageCache;
+
+    @Mock
+    private VisibilityService visibilityService;
+
+    @Mock
+    private FollowSuggestionService followSuggestionService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private GraphDataService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new GraphDataService(graphDataRepository, userRepository, postRepository, followGraph, likeCountBuffer,
+                postCounterCache, feedFanoutService, feedPageCache, visibilityService, followSuggestionService,
+                new ObjectMapper(), transactionManager, 100, 2);
+    }
+
+    private void streamRows(GraphTable table, Object[]... rows) {
+        doAnswer(inv -> {
+            GraphDataRepository.RowHandler handler = inv.getArgument(2);
+            for (Object[] row : rows) {
+                handler.row(row);
+            }
+            return null;
+        }).when(graphDataRepository).forEachRow(eq(table), anyInt(), any());
+    }
+
+    private String export(GraphTable table, DataFormat format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.export(table, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line")
+    void shouldExportNdjson() throws Exception {
+        Timestamp createdAt = Timestamp.from(Instant.parse("2026-01-02T03:04:05Z"));
+        streamRows(GraphTable.POSTS,
+                new Object[]{1L, createdAt, "hola", null, 7L},
+                new Object[]{2L, createdAt, "line\nbreak", null, 7L});
+
+        String[] lines = export(GraphTable.POSTS, DataFormat.NDJSON).split("\n");
+
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":1,\"created_at\":\"2026-01-02T03:04:05Z\",\"description\":\"hola\",\"image\":null,\"author_id\":7}",
+                lines[0]);
+        assertEquals(2L, new ObjectMapper().readTree(lines[1]).get("id").asLong());
+    }
+
+    @Test
+    @DisplayName("Should write a header and quote ambiguous CSV values")
+    void shouldExportCsv() throws Exception {
+        Timestamp createdAt = Timestamp.from(Instant.parse("2026-01-02T03:04:05Z"));
+        streamRows(GraphTable.POSTS, new Object[]{1L, createdAt, "a, \"b\"", "", 7L});
+
+        String csv = export(GraphTable.POSTS, DataFormat.CSV);
+
+        assertEquals("id,created_at,description,image,author_id\n"
+                + "1,2026-01-02T03:04:05Z,\"a, \"\"b\"\"\",\"\",7\n", csv);
+    }
+
+    @Test
+    @DisplayName("Should import CSV in batches and rebuild follow counters, timelines and caches")
+    void shouldImportCsvInBatches() throws Exception {
+        List<Object[]> written = new ArrayList<>();
+        when(graphDataRepository.insertBatch(eq(GraphTable.USER_FOLLOWING), any())).thenAnswer(inv -> {
+            List<Object[]> batch = inv.getArgument(1);
+            written.addAll(batch);
+            return batch.size();
+        });
+        String csv = "followed_id,follower_id\r\n2,1\r\n3,1\r\n\r\n1,2\r\n";
+
+        long imported = service.importRows(GraphTable.USER_FOLLOWING, DataFormat.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(3, imported);
+        // Columns are mapped by header name, not position
+        assertArrayEquals(new Object[]{1L, 2L}, written.get(0));
+        assertArrayEquals(new Object[]{2L, 1L}, written.get(2));
+        verify(userRepository).reconcileFollowersCounts();
+        verify(followGraph).reload();
+        verify(graphDataRepository).resetIdentity(GraphTable.USER_FOLLOWING);
+        verify(visibilityService).onFollowGraphImported();
+        verify(followSuggestionService).onFollowersChanged(Set.of(1L, 2L));
+        verify(feedFanoutService).onGraphImported();
+    }
+
+    @Test
+    @DisplayName("Should read what the NDJSON export writes")
+    void shouldImportNdjson() throws Exception {
+        List<Object[]> written = new ArrayList<>();
+        when(graphDataRepository.insertBatch(eq(GraphTable.POST_LIKES), any())).thenAnswer(inv -> {
+            List<Object[]> batch = inv.getArgument(1);
+            written.addAll(batch);
+            return batch.size();
+        });
+        String ndjson = "{\"id\":5,\"created_at\":\"2026-01-02T03:04:05Z\",\"user_id\":1,\"post_id\":9}\n";
+
+        long imported = service.importRows(GraphTable.POST_LIKES, DataFormat.NDJSON,
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1, imported);
+        assertArrayEquals(new Object[]{5L, Timestamp.from(Instant.parse("2026-01-02T03:04:05Z")), 1L, 9L}, written.get(0));
+        verify(likeCountBuffer).repair(any());
+        verify(postCounterCache).clear();
+        verify(feedPageCache).invalidateAll();
+        verify(feedFanoutService, never()).onGraphImported();
+    }
+
+    @Test
+    @DisplayName("Should backfill timelines with imported posts")
+    void shouldBackfillTimelinesAfterPostImport() throws Exception {
+        when(graphDataRepository.insertBatch(eq(GraphTable.POSTS), any())).thenAnswer(inv -> ((List<?>) inv.getArgument(1)).size());
+        String csv = "id,created_at,description,image,author_id\n3,2026-01-02T03:04:05Z,hola,,7\n";
+
+        service.importRows(GraphTable.POSTS, DataFormat.CSV, new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        verify(feedFanoutService).onGraphImported();
+        verify(followGraph, never()).reload();
+    }
+
+    @Test
+    @DisplayName("Should reject rows with malformed values")
+    void shouldRejectInvalidValues() {
+        String csv = "follower_id,followed_id\nabc,2\n";
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () ->
+                service.importRows(GraphTable.USER_FOLLOWING, DataFormat.CSV,
+                        new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))));
+        assertEquals("Invalid follower_id in record 1: abc", ex.getMessage());
+        verify(graphDataRepository, never()).insertBatch(any(), any());
+    }
+}
@@ -0,0 +1,247 @@
+package com.team.socialnetwork.service.feed;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.team.socialnetwork.dto.FeedDeltaResponse;
+import com.team.socialnetwork.dto.FeedPageResponse;
+import com.team.socialnetwork.dto.PostDetailResponse;
+import com.team.socialnetwork.repository.FeedReadRepository;
+import com.team.socialnetwork.repository.projection.PostRankRef;
+import com.team.socialnetwork.repository.projection.PostRef;
+import com.team.socialnetwork.service.counter.LikeCountBuffer;
+import com.team.socialnetwork.service.counter.PostCounterCache;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FeedService Tests")
+class FeedServiceTest {
+
+    @Mock
+    private FeedReadRepository feedReadRepository;
+
+    @Mock
+    private HighFollowerAuthors highFollowerAuthors;
+
+    @Mock
+    private RecentPostsCache recentPostsCache;
+
+    @Mock
+    private LikeCountBuffer likeCountBuffer;
+
+    @Mock
+    private FeedUpdatePublisher feedUpdatePublisher;
+
+    private PostCounterCache postCounterCache;
+
+    private final FeedRanker mostLikedFirst = (post, now) -> post.getLikesCount();
+
+    private FeedService feedService;
+
+    private final Instant base = Instant.parse("2025-01-01T00:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        postCounterCache = new PostCounterCache(100, 600);
+        feedService = new FeedService(feedReadRepository, highFollowerAuthors, recentPostsCache, likeCountBuffer,
+                mostLikedFirst, new FeedPageCache(100, 60), postCounterCache, feedUpdatePublisher, 3);
+    }
+
+    @Test
+    @DisplayName("Should not pull anything when no high-follower author is followed")
+    void shouldNotPullWithoutHighFollowerAuthors() {
+        when(highFollowerAuthors.followedBy(1L)).thenReturn(Collections.emptyList());
+
+        assertTrue(feedService.pulledPostIds(1L, null, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should pull the newest cached posts of followed high-follower authors, up to the limit")
+    void shouldPullNewestCachedPosts() {
+        when(highFollowerAuthors.followedBy(1L)).thenReturn(Arrays.asList(8L, 9L));
+        when(recentPostsCache.recent(8L)).thenReturn(Arrays.asList(ref(5L, 50), ref(1L, 10)));
+        when(recentPostsCache.recent(9L)).thenReturn(Arrays.asList(ref(4L, 40), ref(2L, 20)));
+
+        Set<Long> ids = feedService.pulledPostIds(1L, null, 3);
+
+        assertEquals(Arrays.asList(5L, 4L, 2L), List.copyOf(ids));
+    }
+
+    @Test
+    @DisplayName("Should only pull cached posts older than the cursor")
+    void shouldPullOlderThanCursor() {
+        when(highFollowerAuthors.followedBy(1L)).thenReturn(List.of(9L));
+        when(recentPostsCache.recent(9L)).thenReturn(Arrays.asList(ref(5L, 50), ref(4L, 40), ref(2L, 20)));
+
+        Set<Long> ids = feedService.pulledPostIds(1L, FeedCursor.of(ref(4L, 40)), 10);
+
+        assertEquals(List.of(2L), List.copyOf(ids));
+    }
+
+    @Test
+    @DisplayName("Should read an offset page through the feed read repository")
+    void shouldReadOffsetPage() {
+        when(highFollowerAuthors.followedBy(1L)).thenReturn(Collections.emptyList());
+        when(feedReadRepository.findFeedPage(eq(1L), isNull(), isNull(), anyCollection(), eq(10), eq(10)))
+                .thenReturn(List.of(row(3L, 30)));
+
+        List<PostDetailResponse> page = feedService.chronologicalPage(1L, 1, 10);
+
+        assertEquals(1, page.size());
+    }
+
+    @Test
+    @DisplayName("Should return a cursor to the last item when there are more rows")
+    void shouldReturnCursorWhenMore() {
+        FeedCursor cursor = FeedCursor.of(ref(4L, 40));
+        when(highFollowerAuthors.followedBy(1L)).thenReturn(Collections.emptyList());
+        when(feedReadRepository.findFeedPage(eq(1L), eq(base.plusSeconds(40)), eq(4L), anyCollection(), eq(0), eq(3)))
+                .thenReturn(Arrays.asList(row(3L, 30), row(2L, 20), row(1L, 10)));
+
+        FeedPageResponse page = feedService.cursorPage(1L, cursor, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.isHasMore());
+        FeedCursor next = FeedCursor.decode(page.getNextCursor());
+        assertEquals(base.plusSeconds(20), next.getCreatedAt());
+        assertEquals(2L, next.getPostId());
+    }
+
+    @Test
+    @DisplayName("Should return no cursor on the last page")
+    void shouldEndWithoutCursor() {
+        when(highFollowerAuthors.followedBy(1L)).thenReturn(Collections.emptyList());
+        when(feedReadRepository.findFeedPage(eq(1L), isNull(), isNull(), anyCollection(), eq(0), eq(51)))
+                .thenReturn(new ArrayList<>(List.of(row(1L, 10))));
+
+        when(likeCountBuffer.pending(1L)).thenReturn(2L);
+
+        FeedPageResponse page = feedService.cursorPage(1L, null, 10);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals(2L, page.getItems().get(0).getLikesCount());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should serve the first page from cache with live counters")
+    void shouldServeFirstPageFromCache() {
+        when(highFollowerAuthors.followedBy(1L)).thenReturn(Collections.emptyList());
+        when(feedReadRepository.findFeedPage(eq(1L), isNull(), isNull(), anyCollection(), eq(0), eq(51)))
+                .thenReturn(Arrays.asList(row(2L, 20), row(1L, 10)));
+
+        feedService.chronologicalPage(1L, 0, 10);
+        postCounterCache.addLikes(2L, 4);
+        postCounterCache.addComments(1L, 1);
+        List<PostDetailResponse> page = feedService.chronologicalPage(1L, 0, 1);
+
+        assertEquals(1, page.size());
+        assertEquals(4L, page.get(0).getLikesCount());
+        FeedPageResponse cursorPage = feedService.cursorPage(1L, null, 5);
+        assertEquals(1L, cursorPage.getItems().get(1).getCommentsCount());
+        verify(feedReadRepository, times(1)).findFeedPage(eq(1L), isNull(), isNull(), anyCollection(), eq(0), eq(51));
+    }
+
+    @Test
+    @DisplayName("Should rank the candidate set and page through it")
+    void shouldRankCandidates() {
+        when(highFollowerAuthors.followedBy(1L)).thenReturn(Collections.emptyList());
+        when(feedReadRepository.findRankCandidates(eq(1L), anyCollection(), eq(3)))
+                .thenReturn(Arrays.asList(rankRef(3L, 30, 1), rankRef(2L, 20, 5), rankRef(1L, 10, 3)));
+        when(likeCountBuffer.pending(3L)).thenReturn(3L);
+        when(feedReadRepository.findFeedRows(1L, List.of(2L, 3L)))
+                .thenReturn(Arrays.asList(row(3L, 30, 1), row(2L, 20, 5)));
+        when(feedReadRepository.findFeedRows(1L, List.of(1L)))
+                .thenReturn(List.of(row(1L, 10, 3)));
+
+        List<PostDetailResponse> first = feedService.rankedPage(1L, 0, 2);
+        List<PostDetailResponse> second = feedService.rankedPage(1L, 1, 2);
+
+        assertEquals(Arrays.asList(2L, 3L), first.stream().map(PostDetailResponse::getId).toList());
+        assertEquals(4L, first.get(1).getLikesCount());
+        assertEquals(List.of(1L), second.stream().map(PostDetailResponse::getId).toList());
+        verify(feedReadRepository, never()).findFeedPage(eq(1L), isNull(), isNull(), anyCollection(), eq(0), eq(3));
+    }
+
+    @Test
+    @DisplayName("Should return an empty ranked page beyond the candidate set")
+    void shouldStopRankingBeyondCandidates() {
+        assertTrue(feedService.rankedPage(1L, 2, 2).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return posts newer than the head and move the head forward")
+    void shouldReturnPostsSinceHead() {
+        FeedCursor head = FeedCursor.of(ref(2L, 20));
+        when(highFollowerAuthors.followedBy(1L)).thenReturn(List.of(9L));
+        when(recentPostsCache.recent(9L)).thenReturn(Arrays.asList(ref(5L, 50), ref(1L, 10)));
+        when(feedReadRepository.findFeedSince(eq(1L), eq(base.plusSeconds(20)), eq(2L), eq(Set.of(5L)), eq(11)))
+                .thenReturn(new ArrayList<>(Arrays.asList(row(5L, 50), row(4L, 40))));
+
+        FeedDeltaResponse delta = feedService.since(1L, head, 10);
+
+        assertEquals(2, delta.getItems().size());
+        assertFalse(delta.isTruncated());
+        assertEquals(5L, FeedCursor.decode(delta.getHeadCursor()).getPostId());
+        verify(feedUpdatePublisher).markSeen(1L);
+    }
+
+    @Test
+    @DisplayName("Should keep the head when nothing new arrived")
+    void shouldKeepHeadWhenNothingNew() {
+        FeedCursor head = FeedCursor.of(ref(2L, 20));
+        when(highFollowerAuthors.followedBy(1L)).thenReturn(Collections.emptyList());
+        when(feedReadRepository.findFeedSince(eq(1L), eq(base.plusSeconds(20)), eq(2L), anyCollection(), eq(11)))
+                .thenReturn(new ArrayList<>());
+
+        FeedDeltaResponse delta = feedService.since(1L, head, 10);
+
+        assertTrue(delta.getItems().isEmpty());
+        assertEquals(head.encode(), delta.getHeadCursor());
+    }
+
+    @Test
+    @DisplayName("Should reject tampered cursors")
+    void shouldRejectInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode("garbage!"));
+    }
+
+    private PostRef ref(Long postId, long secondsAfterBase) {
+        return new PostRef(postId, base.plusSeconds(secondsAfterBase));
+    }
+
+    private PostRankRef rankRef(Long id, long secondsAfterBase, long likes) {
+        return new PostRankRef(id, base.plusSeconds(secondsAfterBase), 9L, likes, 0L);
+    }
+
+    private PostDetailResponse row(Long id, long secondsAfterBase) {
+        return row(id, secondsAfterBase, 0L);
+    }
+
+    private PostDetailResponse row(Long id, long secondsAfterBase, long likes) {
+        return new PostDetailResponse(id, base.plusSeconds(secondsAfterBase), "Post " + id, null, null, likes, 0L, false);
+    }
+}
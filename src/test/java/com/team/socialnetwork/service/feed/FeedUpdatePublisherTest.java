@@ -0,0 +1,131 @@
+package com.team.socialnetwork.service.feed;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import com.team.socialnetwork.entity.User;
+import com.team.socialnetwork.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FeedUpdatePublisher Tests")
+class FeedUpdatePublisherTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private FeedUpdatePublisher publisher;
+
+    private final Principal principal = new UsernamePasswordAuthenticationToken("viewer@example.com", null);
+
+    @BeforeEach
+    void setUp() {
+        publisher = new FeedUpdatePublisher(messagingTemplate, userRepository);
+    }
+
+    @Test
+    @DisplayName("Should push the running count of unseen posts to a subscribed viewer")
+    void shouldPushUnseenCount() {
+        subscribeAs(1L, "/topic/feed/1");
+
+        publisher.onNewPost(9L, List.of(1L, 2L));
+        publisher.onNewPost(9L, List.of(1L));
+
+        verify(messagingTemplate).convertAndSend(eq("/topic/feed/1"),
+                argThat((FeedUpdatePublisher.FeedUpdateMessage m) -> m.getCount() == 1));
+        verify(messagingTemplate).convertAndSend(eq("/topic/feed/1"),
+                argThat((FeedUpdatePublisher.FeedUpdateMessage m) -> m.getCount() == 2));
+        verify(messagingTemplate, never()).convertAndSend(eq("/topic/feed/2"), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Should restart the count after the viewer reads the feed head")
+    void shouldResetOnSeen() {
+        subscribeAs(1L, "/topic/feed/1");
+
+        publisher.onNewPost(9L, List.of(1L));
+        publisher.markSeen(1L);
+        publisher.onNewPost(9L, List.of(1L));
+
+        verify(messagingTemplate, org.mockito.Mockito.times(2)).convertAndSend(eq("/topic/feed/1"),
+                argThat((FeedUpdatePublisher.FeedUpdateMessage m) -> m.getCount() == 1));
+    }
+
+    @Test
+    @DisplayName("Should ignore subscriptions to another user's feed")
+    void shouldIgnoreForeignSubscription() {
+        subscribeAs(1L, "/topic/feed/2");
+
+        assertFalse(publisher.isSubscribed(2L));
+    }
+
+    @Test
+    @DisplayName("Should stop tracking a viewer once the session disconnects")
+    void shouldForgetOnDisconnect() {
+        subscribeAs(1L, "/topic/feed/1");
+        assertTrue(publisher.isSubscribed(1L));
+
+        publisher.onDisconnect(new SessionDisconnectEvent(this, message(StompCommand.DISCONNECT, null), "s1",
+                CloseStatus.NORMAL));
+
+        assertFalse(publisher.isSubscribed(1L));
+        publisher.onNewPost(9L, List.of(1L));
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Should look up subscribed followers for pulled authors")
+    void shouldLookUpFollowersForPulledAuthors() {
+        subscribeAs(1L, "/topic/feed/1");
+        when(userRepository.findFollowersAmong(eq(9L), any())).thenReturn(List.of(1L));
+
+        publisher.onNewPost(9L, null);
+
+        verify(messagingTemplate).convertAndSend(eq("/topic/feed/1"), any(Object.class));
+    }
+
+    private void subscribeAs(Long userId, String destination) {
+        User user = new User("viewer", "viewer@example.com", "pass");
+        user.setId(userId);
+        when(userRepository.findByEmail("viewer@example.com")).thenReturn(Optional.of(user));
+        publisher.onSubscribe(new SessionSubscribeEvent(this, message(StompCommand.SUBSCRIBE, destination), principal));
+    }
+
+    private Message<byte[]> message(StompCommand command, String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setSessionId("s1");
+        accessor.setSubscriptionId("sub-1");
+        if (destination != null) {
+            accessor.setDestination(destination);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,73 @@
+package com.team.socialnetwork.service.feed;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.team.socialnetwork.repository.TimelineEntryRepository;
+import com.team.socialnetwork.repository.UserRepository;
+import com.team.socialnetwork.service.graph.FollowGraph;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HighFollowerAuthors Tests")
+class HighFollowerAuthorsTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private FollowGraph followGraph;
+
+    @Mock
+    private TimelineEntryRepository timelineEntryRepository;
+
+    @Mock
+    private FeedPageCache feedPageCache;
+
+    private HighFollowerAuthors highFollowerAuthors;
+
+    @BeforeEach
+    void setUp() {
+        highFollowerAuthors = new HighFollowerAuthors(userRepository, followGraph, timelineEntryRepository, feedPageCache, 100, 200);
+    }
+
+    @Test
+    @DisplayName("Should decide push vs pull from the denormalized follower count")
+    void shouldPullFromFollowersCount() {
+        when(userRepository.findFollowersCount(1L)).thenReturn(101L);
+        when(userRepository.findFollowersCount(2L)).thenReturn(100L);
+        when(userRepository.findFollowersCount(3L)).thenReturn(null);
+
+        assertTrue(highFollowerAuthors.shouldPull(1L));
+        assertTrue(highFollowerAuthors.shouldPull(1L));
+        assertFalse(highFollowerAuthors.shouldPull(2L));
+        assertFalse(highFollowerAuthors.shouldPull(3L));
+        verify(userRepository, never()).countFollowers(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should backfill follower timelines for authors that leave the pull set")
+    void shouldBackfillDemotedAuthors() {
+        when(userRepository.findIdsWithFollowersAbove(100)).thenReturn(List.of(1L, 2L)).thenReturn(List.of(2L));
+
+        highFollowerAuthors.refresh();
+        highFollowerAuthors.refresh();
+
+        assertFalse(highFollowerAuthors.contains(1L));
+        assertTrue(highFollowerAuthors.contains(2L));
+        verify(timelineEntryRepository).fanOutRecent(1L, 200);
+        verify(timelineEntryRepository, never()).fanOutRecent(2L, 200);
+        verify(feedPageCache).onPulledAuthorChanged(1L);
+    }
+}
@@ -0,0 +1,62 @@
+package com.team.socialnetwork.service.feed;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.team.socialnetwork.repository.projection.PostRankRef;
+
+@DisplayName("TimeDecayFeedRanker Tests")
+class TimeDecayFeedRankerTest {
+
+    private final Instant now = Instant.parse("2025-01-01T12:00:00Z");
+    private final TimeDecayFeedRanker ranker = new TimeDecayFeedRanker(1.0, 2.0, 6.0);
+
+    @Test
+    @DisplayName("Should halve the score every half-life")
+    void shouldDecayByHalfLife() {
+        double fresh = ranker.score(post(1L, 0, 3, 0), now);
+        double older = ranker.score(post(2L, 6, 3, 0), now);
+
+        assertEquals(4.0, fresh, 1e-9);
+        assertEquals(fresh / 2, older, 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should weight comments over likes")
+    void shouldWeightComments() {
+        assertTrue(ranker.score(post(1L, 1, 0, 2), now) > ranker.score(post(2L, 1, 3, 0), now));
+    }
+
+    @Test
+    @DisplayName("Should return the best k, highest score first")
+    void shouldReturnTopK() {
+        List<PostRankRef> candidates = Arrays.asList(
+                post(1L, 0, 0, 0),
+                post(2L, 2, 50, 0),
+                post(3L, 48, 100, 0),
+                post(4L, 1, 10, 1));
+
+        List<PostRankRef> top = ranker.topK(candidates, 2, now);
+
+        assertEquals(Arrays.asList(2L, 4L), top.stream().map(PostRankRef::getPostId).toList());
+    }
+
+    @Test
+    @DisplayName("Should keep candidate order on ties and cap k at the candidate count")
+    void shouldBreakTiesByPosition() {
+        assertArrayEquals(new int[]{1, 3, 0, 2}, TopK.select(new double[]{1, 2, 1, 2}, 10));
+        assertArrayEquals(new int[0], TopK.select(new double[]{1, 2}, 0));
+    }
+
+    private PostRankRef post(Long id, long hoursAgo, long likes, long comments) {
+        return new PostRankRef(id, now.minus(hoursAgo, ChronoUnit.HOURS), 9L, likes, comments);
+    }
+}
@@ -0,0 +1,130 @@
+package com.team.socialnetwork.service.graph;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.team.socialnetwork.repository.FollowEdgeRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FollowGraph Tests")
+class FollowGraphTest {
+
+    @Mock
+    private FollowEdgeRepository followEdgeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FollowGraph followGraph;
+
+    @BeforeEach
+    void setUp() {
+        followGraph = new FollowGraph(followEdgeRepository, transactionManager, true, 100);
+    }
+
+    @Test
+    @DisplayName("Should load sorted adjacency from the streamed edge list")
+    void shouldLoadFromEdges() {
+        streamEdges(new long[][]{{1, 3}, {1, 2}, {2, 1}, {3, 1}});
+
+        followGraph.reload();
+
+        assertTrue(followGraph.isReady());
+        assertTrue(followGraph.follows(1, 2));
+        assertFalse(followGraph.follows(2, 3));
+        assertArrayEquals(new long[]{2, 3}, followGraph.following(1));
+        assertArrayEquals(new long[]{2, 3}, followGraph.followers(1));
+        assertArrayEquals(new long[0], followGraph.following(99));
+    }
+
+    @Test
+    @DisplayName("Should keep adjacency sorted across follow and unfollow")
+    void shouldApplyEdgeChanges() {
+        followGraph.addEdge(1, 5);
+        followGraph.addEdge(1, 2);
+        followGraph.addEdge(1, 9);
+        followGraph.addEdge(1, 2);
+        followGraph.removeEdge(1, 5);
+
+        assertArrayEquals(new long[]{2, 9}, followGraph.following(1));
+        assertArrayEquals(new long[]{1}, followGraph.followers(9));
+        assertArrayEquals(new long[0], followGraph.followers(5));
+    }
+
+    @Test
+    @DisplayName("Should intersect following and followers into mutuals")
+    void shouldComputeMutuals() {
+        followGraph.addEdge(1, 2);
+        followGraph.addEdge(2, 1);
+        followGraph.addEdge(1, 3);
+        followGraph.addEdge(4, 1);
+        followGraph.addEdge(1, 4);
+
+        assertArrayEquals(new long[]{2, 4}, followGraph.mutuals(1));
+    }
+
+    @Test
+    @DisplayName("Should drop every edge of a deleted user")
+    void shouldRemoveUser() {
+        followGraph.addEdge(1, 2);
+        followGraph.addEdge(3, 1);
+        followGraph.addEdge(3, 2);
+
+        followGraph.removeUser(1);
+
+        assertArrayEquals(new long[0], followGraph.following(1));
+        assertArrayEquals(new long[]{3}, followGraph.followers(2));
+        assertArrayEquals(new long[]{2}, followGraph.following(3));
+    }
+
+    @Test
+    @DisplayName("Should replay edge changes made while the load was streaming")
+    void shouldReplayChangesDuringLoad() {
+        doAnswer(inv -> {
+            FollowEdgeRepository.EdgeHandler handler = inv.getArgument(1);
+            handler.edge(1, 2);
+            // A follow and an unfollow land while the stream is still open
+            followGraph.addEdge(1, 3);
+            followGraph.removeEdge(1, 2);
+            return null;
+        }).when(followEdgeRepository).forEachEdge(anyInt(), any());
+
+        followGraph.reload();
+
+        assertArrayEquals(new long[]{3}, followGraph.following(1));
+    }
+
+    @Test
+    @DisplayName("Should stay unloaded when disabled")
+    void shouldNotLoadWhenDisabled() {
+        FollowGraph disabled = new FollowGraph(followEdgeRepository, transactionManager, false, 100);
+
+        disabled.reload();
+
+        assertFalse(disabled.isReady());
+        verify(followEdgeRepository, never()).forEachEdge(anyInt(), any());
+    }
+
+    private void streamEdges(long[][] edges) {
+        doAnswer(inv -> {
+            FollowEdgeRepository.EdgeHandler handler = inv.getArgument(1);
+            for (long[] edge : edges) {
+                handler.edge(edge[0], edge[1]);
+            }
+            return null;
+        }).when(followEdgeRepository).forEachEdge(anyInt(), any());
+    }
+}
@@ -0,0 +1,146 @@
+package com.team.socialnetwork.service.graph;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.team.socialnetwork.repository.FollowEdgeRepository;
+import com.team.socialnetwork.repository.FollowSuggestionBatchRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FollowSuggestionService Tests")
+class FollowSuggestionServiceTest {
+
+    @Mock
+    private FollowEdgeRepository followEdgeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private FollowSuggestionBatchRepository batchRepository;
+
+    private FollowGraph followGraph;
+    private FollowSuggestionService service;
+    private final Map<Long, long[][]> written = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        followGraph = new FollowGraph(followEdgeRepository, transactionManager, true, 100);
+        // Empty load just to mark the index ready; edges are added below
+        doAnswer(inv -> null).when(followEdgeRepository).forEachEdge(anyInt(), any());
+        followGraph.reload();
+        lenient().doAnswer(inv -> {
+            Map<Long, long[][]> rows = inv.getArgument(0);
+            synchronized (written) {
+                written.putAll(rows);
+            }
+            return null;
+        }).when(batchRepository).replace(any(), any(Instant.class));
+        service = new FollowSuggestionService(followGraph, batchRepository, 2, 1, 100, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should rank second-degree accounts by mutual follows, excluding self and followees")
+    void shouldRankFriendsOfFriends() {
+        // 1 follows 2, 3 and 4; they follow 5 (x3), 6 (x1), 7 (x2), back to 1, and 4 (already followed)
+        follow(1, 2, 3, 4);
+        follow(2, 5, 7, 1);
+        follow(3, 5, 7, 4);
+        follow(4, 5, 6);
+
+        long[][] top = service.candidatesFor(1);
+
+        assertArrayEquals(new long[]{5, 7}, top[0]);
+        assertArrayEquals(new long[]{3, 2}, top[1]);
+    }
+
+    @Test
+    @DisplayName("Should refresh the follower and the users following it after a follow change")
+    void shouldRefreshDirtyUsersInParallelPartitions() {
+        follow(1, 2);
+        follow(3, 1);
+        follow(2, 9);
+
+        service.onFollowChanged(1, 2);
+        assertEquals(2, service.pendingUsers());
+
+        assertEquals(2, service.refreshDirty());
+
+        assertEquals(0, service.pendingUsers());
+        assertArrayEquals(new long[]{9}, written.get(1L)[0]);
+        // 3 follows 1, who follows 2; 1 itself is a followee of 3 and is skipped
+        assertArrayEquals(new long[]{2}, written.get(3L)[0]);
+    }
+
+    @Test
+    @DisplayName("Should mark every imported follower and its own followers dirty")
+    void shouldMarkImportedFollowersDirty() {
+        follow(1, 2);
+        follow(4, 5);
+        follow(3, 1);
+
+        service.onFollowersChanged(List.of(1L, 4L));
+
+        // 1 and 4 themselves, plus 3 who follows 1
+        assertEquals(3, service.pendingUsers());
+    }
+
+    @Test
+    @DisplayName("Should seed every user that follows someone")
+    void shouldRecomputeAll() {
+        follow(1, 2);
+        follow(2, 3);
+        follow(4, 1);
+
+        assertEquals(3, service.recomputeAll());
+
+        assertTrue(written.keySet().containsAll(java.util.List.of(1L, 2L, 4L)));
+        assertArrayEquals(new long[]{3}, written.get(1L)[0]);
+    }
+
+    @Test
+    @DisplayName("Should count beyond the initial table capacity")
+    void shouldGrowCounter() {
+        MutualCounter counter = new MutualCounter(1);
+        for (long id = 1; id <= 1000; id++) {
+            counter.increment(id);
+            if (id % 10 == 0) {
+                counter.increment(id);
+            }
+        }
+
+        assertEquals(1000, counter.size());
+        long[][] top = counter.topK(3);
+        assertArrayEquals(new long[]{10, 20, 30}, top[0]);
+        assertArrayEquals(new long[]{2, 2, 2}, top[1]);
+    }
+
+    private void follow(long follower, long... followed) {
+        for (long id : followed) {
+            followGraph.addEdge(follower, id);
+        }
+    }
+}